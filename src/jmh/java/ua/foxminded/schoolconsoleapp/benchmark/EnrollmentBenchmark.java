@@ -0,0 +1,32 @@
+package ua.foxminded.schoolconsoleapp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnrollmentBenchmark {
+
+  @Benchmark
+  public void enrollAndUnenroll(SchoolDatabaseState state) {
+    int studentId = state.randomStudentId();
+    state.courseService.enrollStudentToCourse(studentId, SchoolDatabaseState.BENCHMARK_COURSE);
+    state.courseService.removeStudentFromCourse(studentId, SchoolDatabaseState.BENCHMARK_COURSE);
+  }
+
+  @Benchmark
+  public boolean checkEnrollment(SchoolDatabaseState state) {
+    return state.courseService.checkStudentEnrolledInCourse(state.randomStudentId(),
+        state.rosterCourseId);
+  }
+
+}
@@ -0,0 +1,111 @@
+package ua.foxminded.schoolconsoleapp.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.foxminded.schoolconsoleapp.entitу.Course;
+import ua.foxminded.schoolconsoleapp.entitу.Student;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityCollectionBenchmark {
+
+  @Param({"1000", "100000", "1000000"})
+  int rosterSize;
+
+  private Collection<LegacyStudent> legacyRoster;
+  private LegacyStudent legacyStudent;
+  private Collection<Student> listRoster;
+  private Collection<Student> setRoster;
+  private Student student;
+
+  @Setup
+  public void setUp() {
+    LegacyCourse legacyCourse = new LegacyCourse(1, "Mathematics", new ArrayList<>());
+    legacyRoster = legacyCourse.students;
+    Course course = Course.builder().withId(1).withCourseName("Mathematics").build();
+    listRoster = new ArrayList<>(rosterSize + 1);
+    setRoster = new HashSet<>(rosterSize * 2);
+    for (int id = 1; id <= rosterSize; id++) {
+      legacyRoster.add(legacyStudent(id, legacyCourse));
+      Student enrolled = Student.builder().withId(id).withFirstName("First" + id)
+          .withLastName("Last" + id).withCourses(new HashSet<>()).build();
+      enrolled.getCourses().add(course);
+      listRoster.add(enrolled);
+      setRoster.add(enrolled);
+    }
+    legacyStudent = legacyStudent(rosterSize + 1, legacyCourse);
+    student = Student.builder().withId(rosterSize + 1).build();
+  }
+
+  // The model before id-based equality: Lombok equality over every field and List-backed
+  // associations that point back at the course.
+  @Benchmark
+  public boolean enrollAndRemoveWithLegacyEntities() {
+    return enrollAndRemove(legacyRoster, legacyStudent);
+  }
+
+  @Benchmark
+  public boolean enrollAndRemoveWithList() {
+    return enrollAndRemove(listRoster, student);
+  }
+
+  @Benchmark
+  public boolean enrollAndRemoveWithSet() {
+    return enrollAndRemove(setRoster, student);
+  }
+
+  private static <T> boolean enrollAndRemove(Collection<T> roster, T student) {
+    if (!roster.contains(student)) {
+      roster.add(student);
+    }
+    return roster.remove(student);
+  }
+
+  private static LegacyStudent legacyStudent(int id, LegacyCourse course) {
+    List<LegacyCourse> courses = new ArrayList<>();
+    courses.add(course);
+    return new LegacyStudent(id, "First" + id, "Last" + id, courses);
+  }
+
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  private static final class LegacyStudent {
+
+    private final Integer id;
+    private final String firstName;
+    private final String lastName;
+    private final List<LegacyCourse> courses;
+
+  }
+
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  private static final class LegacyCourse {
+
+    private final Integer id;
+    private final String courseName;
+    private final List<LegacyStudent> students;
+
+  }
+
+}
@@ -0,0 +1,31 @@
+package ua.foxminded.schoolconsoleapp.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupBenchmark {
+
+  @Benchmark
+  public List<Group> findGroupsWithLessOrEqualStudent(SchoolDatabaseState state) {
+    return state.groupService.findGroupsWithLessOrEqualStudent(30);
+  }
+
+  @Benchmark
+  public boolean checkGroupSizeIndexAgainstDatabase(SchoolDatabaseState state) {
+    return state.groupService.checkGroupSizeIndex();
+  }
+
+}
@@ -0,0 +1,42 @@
+package ua.foxminded.schoolconsoleapp.benchmark;
+
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.foxminded.schoolconsoleapp.consolemanager.ConsoleManager;
+import ua.foxminded.schoolconsoleapp.consolemanager.SystemOutSink;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseInputBenchmark {
+
+  @Param({"42", "1000000", "", "abc"})
+  String input;
+
+  private ConsoleManager consoleManager;
+
+  @Setup
+  public void setUp() {
+    consoleManager = new ConsoleManager(new Scanner(""), new SystemOutSink());
+  }
+
+  @Benchmark
+  public int parseInput() {
+    return consoleManager.parseInput(input);
+  }
+
+}
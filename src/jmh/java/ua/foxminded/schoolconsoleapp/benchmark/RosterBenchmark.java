@@ -0,0 +1,32 @@
+package ua.foxminded.schoolconsoleapp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RosterBenchmark {
+
+  @Benchmark
+  public String rosterFirstPage(SchoolDatabaseState state, Blackhole blackhole) {
+    return state.studentService.forEachStudentByCourseName(SchoolDatabaseState.ROSTER_COURSE,
+        null, blackhole::consume);
+  }
+
+  @Benchmark
+  public long rosterAllPages(SchoolDatabaseState state, Blackhole blackhole) {
+    return state.studentService.forEachStudentByCourseName(SchoolDatabaseState.ROSTER_COURSE,
+        blackhole::consume);
+  }
+
+}
@@ -0,0 +1,120 @@
+package ua.foxminded.schoolconsoleapp.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import ua.foxminded.schoolconsoleapp.SchoolConsoleApplication;
+import ua.foxminded.schoolconsoleapp.cache.ReferenceDataCache;
+import ua.foxminded.schoolconsoleapp.service.dao.CourseService;
+import ua.foxminded.schoolconsoleapp.service.dao.GroupService;
+import ua.foxminded.schoolconsoleapp.service.dao.StudentService;
+
+@State(Scope.Benchmark)
+@Slf4j
+public class SchoolDatabaseState {
+
+  static final String BENCHMARK_COURSE = "Benchmark Course";
+  static final String ROSTER_COURSE = "Mathematics";
+
+  private static final int STUDENTS_PER_GROUP = 30;
+
+  @Param({"1000", "100000", "1000000"})
+  int students;
+
+  private PostgreSQLContainer<?> postgresqlContainer;
+  private ConfigurableApplicationContext context;
+
+  CourseService courseService;
+  StudentService studentService;
+  GroupService groupService;
+  int rosterCourseId;
+
+  private int firstStudentId;
+  private int lastStudentId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    postgresqlContainer = new PostgreSQLContainer<>("postgres:15")
+        .withDatabaseName("school")
+        .withUsername("benchmark")
+        .withPassword("benchmark");
+    postgresqlContainer.start();
+
+    context = new SpringApplicationBuilder(SchoolConsoleApplication.class)
+        .properties(
+            "spring.datasource.url=" + postgresqlContainer.getJdbcUrl(),
+            "spring.datasource.username=" + postgresqlContainer.getUsername(),
+            "spring.datasource.password=" + postgresqlContainer.getPassword(),
+            "logging.level.ua.foxminded.schoolconsoleapp=WARN",
+            "logging.file.name=./target/benchmark.log")
+        .run();
+
+    courseService = context.getBean(CourseService.class);
+    studentService = context.getBean(StudentService.class);
+    groupService = context.getBean(GroupService.class);
+
+    seed(context.getBean(JdbcTemplate.class));
+
+    context.getBean(ReferenceDataCache.class).invalidateCourses();
+    groupService.rebuildGroupSizeIndex();
+    courseService.rebuildCourseNameIndex();
+    courseService.rebuildEnrollmentIndex();
+    rosterCourseId = courseService.getCourseIdByName(ROSTER_COURSE)
+        .orElseThrow(IllegalStateException::new).getId();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (context != null) {
+      context.close();
+    }
+    if (postgresqlContainer != null) {
+      postgresqlContainer.stop();
+    }
+  }
+
+  int randomStudentId() {
+    return ThreadLocalRandom.current().nextInt(firstStudentId, lastStudentId + 1);
+  }
+
+  private void seed(JdbcTemplate jdbcTemplate) {
+    long start = System.currentTimeMillis();
+    int groups = Math.max(1, students / STUDENTS_PER_GROUP);
+
+    jdbcTemplate.update("INSERT INTO groups (group_name) "
+        + "SELECT 'BG-' || g FROM generate_series(1, ?) g", groups);
+    int groupCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM groups", Integer.class);
+    firstStudentId = jdbcTemplate.queryForObject(
+        "SELECT COALESCE(MAX(student_id), 0) + 1 FROM students", Integer.class);
+
+    jdbcTemplate.update("INSERT INTO students (group_id, first_name, last_name) "
+        + "SELECT 1 + s % ?, 'First' || s, 'Last' || (s % 5000) "
+        + "FROM generate_series(1, ?) s", groupCount, students);
+    lastStudentId = jdbcTemplate.queryForObject("SELECT MAX(student_id) FROM students",
+        Integer.class);
+
+    int courseCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM courses",
+        Integer.class);
+    jdbcTemplate.update("INSERT INTO student_courses (student_id, course_id) "
+        + "SELECT student_id, 1 + student_id % ? FROM students WHERE student_id >= ? "
+        + "UNION SELECT student_id, 1 + (student_id / 7) % ? FROM students "
+        + "WHERE student_id >= ? ON CONFLICT DO NOTHING",
+        courseCount, firstStudentId, courseCount, firstStudentId);
+
+    jdbcTemplate.update("INSERT INTO courses (course_name) VALUES (?)", BENCHMARK_COURSE);
+    jdbcTemplate.execute("ANALYZE");
+
+    log.warn("Seeded {} students in {} groups in {} ms", students, groups,
+        System.currentTimeMillis() - start);
+  }
+
+}
@@ -0,0 +1,32 @@
+package ua.foxminded.schoolconsoleapp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.entitу.Student;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentBenchmark {
+
+  @Benchmark
+  public boolean addAndDeleteStudent(SchoolDatabaseState state) {
+    Student student = Student.builder()
+        .withFirstName("Bench")
+        .withLastName("Mark")
+        .withOwnerGroup(Group.builder().withId(1).build())
+        .build();
+    state.studentService.addStudent(student);
+    return state.studentService.deleteStudent(student.getId());
+  }
+
+}
@@ -3,19 +3,36 @@ package ua.foxminded.schoolconsoleapp;
 import java.util.Scanner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class SchoolConsoleApplication {
 
+  private static final String SCRIPT_PROPERTY = "script";
+  private static final int STARTUP_STEP_CAPACITY = 10000;
+
   public static void main(String[] args) {
-    ConfigurableApplicationContext context = SpringApplication.run(
-        SchoolConsoleApplication.class, args);
+    SpringApplication application = new SpringApplication(SchoolConsoleApplication.class);
+    application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+    ConfigurableApplicationContext context = application.run(args);
 
     SchoolFrontController frontController = context.getBean(SchoolFrontController.class);
 
+    String script = context.getEnvironment().getProperty(SCRIPT_PROPERTY);
+    if (script != null) {
+      int exitCode = frontController.runScript(script);
+      System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
     frontController.run();
+
+    System.exit(SpringApplication.exit(context));
   }
 
   @Bean
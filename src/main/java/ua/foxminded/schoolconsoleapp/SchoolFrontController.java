@@ -1,17 +1,33 @@
 package ua.foxminded.schoolconsoleapp;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import ua.foxminded.schoolconsoleapp.consolemanager.ConsoleManager;
 import ua.foxminded.schoolconsoleapp.consolemenu.ConsoleMenu;
+import ua.foxminded.schoolconsoleapp.service.script.ScriptProperties;
+import ua.foxminded.schoolconsoleapp.service.script.ScriptReport;
+import ua.foxminded.schoolconsoleapp.service.script.ScriptRunner;
 
 @Component
 @RequiredArgsConstructor
 public class SchoolFrontController {
 
+  private static final String STDIN = "-";
+
   private final ConsoleMenu consoleMenu;
   private final ConsoleManager consoleManager;
   private final SchoolOperations operations;
+  private final ScriptRunner scriptRunner;
+  private final ScriptProperties scriptProperties;
 
   public void run() {
     boolean exit = false;
@@ -38,6 +54,36 @@ public class SchoolFrontController {
         case "6":
           operations.removeStudentFromCourse();
           break;
+        case "7":
+          operations.importStudents();
+          break;
+        case "8":
+          operations.searchStudentsByName();
+          break;
+        case "9":
+          operations.printSchoolReport();
+          break;
+        case "browse":
+          operations.browseStudents();
+          break;
+        case "export":
+          operations.exportData();
+          break;
+        case "generate":
+          operations.generateData();
+          break;
+        case "load":
+          operations.runLoadTest();
+          break;
+        case "cache":
+          operations.printCacheStatistics();
+          break;
+        case "index":
+          operations.printEnrollmentIndex();
+          break;
+        case "stats":
+          operations.printStatistics();
+          break;
         case "exit":
           exit = true;
           break;
@@ -49,4 +95,28 @@ public class SchoolFrontController {
     consoleManager.print("Exiting the School Application.");
   }
 
+  public int runScript(String script) {
+    try (BufferedReader reader = openScript(script)) {
+      Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
+          scriptProperties.getOutputBufferSize());
+      ScriptReport report = scriptRunner.run(reader, out);
+
+      consoleManager.print(String.format(
+          "Executed %d commands in %d ms (%.1f commands/sec), %d failed.",
+          report.getExecutedCommands(), report.getElapsedMillis(),
+          report.getCommandsPerSecond(), report.getFailedCommands()));
+      return report.getFailedCommands() == 0 ? 0 : 1;
+    } catch (IOException e) {
+      consoleManager.print("Failed to read script '" + script + "': " + e.getMessage());
+      return 1;
+    }
+  }
+
+  private BufferedReader openScript(String script) throws IOException {
+    if (STDIN.equals(script)) {
+      return new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+    }
+    return Files.newBufferedReader(Paths.get(script), StandardCharsets.UTF_8);
+  }
+
 }
@@ -1,18 +1,45 @@
 package ua.foxminded.schoolconsoleapp;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javax.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import ua.foxminded.schoolconsoleapp.cache.ReferenceDataCache;
 import ua.foxminded.schoolconsoleapp.consolemanager.ConsoleManager;
 import ua.foxminded.schoolconsoleapp.entitу.Course;
 import ua.foxminded.schoolconsoleapp.entitу.Group;
 import ua.foxminded.schoolconsoleapp.entitу.Student;
+import ua.foxminded.schoolconsoleapp.index.CourseBitmapStats;
+import ua.foxminded.schoolconsoleapp.metrics.MetricsReporter;
+import ua.foxminded.schoolconsoleapp.repository.EnrollmentResult;
 import ua.foxminded.schoolconsoleapp.repository.exception.DataBaseSqlRuntimeException;
+import ua.foxminded.schoolconsoleapp.repository.projection.StudentName;
 import ua.foxminded.schoolconsoleapp.service.dao.CourseService;
 import ua.foxminded.schoolconsoleapp.service.dao.GroupService;
 import ua.foxminded.schoolconsoleapp.service.dao.StudentService;
+import ua.foxminded.schoolconsoleapp.service.export.ExportFormat;
+import ua.foxminded.schoolconsoleapp.service.export.ExportReport;
+import ua.foxminded.schoolconsoleapp.service.export.ExportService;
+import ua.foxminded.schoolconsoleapp.service.export.exception.ExportException;
+import ua.foxminded.schoolconsoleapp.service.generator.GenerationReport;
+import ua.foxminded.schoolconsoleapp.service.generator.SchoolDataGenerator;
+import ua.foxminded.schoolconsoleapp.service.importer.ImportReport;
+import ua.foxminded.schoolconsoleapp.service.importer.StudentImportService;
+import ua.foxminded.schoolconsoleapp.service.importer.exception.StudentImportException;
+import ua.foxminded.schoolconsoleapp.service.load.LoadDriver;
+import ua.foxminded.schoolconsoleapp.service.load.LoadReport;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetSlice;
+import ua.foxminded.schoolconsoleapp.service.report.ReportService;
+import ua.foxminded.schoolconsoleapp.service.report.SchoolReport;
 import ua.foxminded.schoolconsoleapp.validator.Validator;
 import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
 
@@ -20,11 +47,24 @@ import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
 @RequiredArgsConstructor
 public class SchoolOperations {
 
+  private static final int COURSE_NAME_COMPLETIONS = 10;
+  private static final int STUDENT_SEARCH_LIMIT = 20;
+  private static final int BROWSE_PAGE_SIZE = 20;
+  private static final String STOP_BROWSING = "q";
+  private static final String GZIP_SUFFIX = ".gz";
+
   private final ConsoleManager consoleManager;
   private final Validator validator;
   private final StudentService studentService;
   private final GroupService groupService;
   private final CourseService courseService;
+  private final StudentImportService studentImportService;
+  private final ReferenceDataCache referenceDataCache;
+  private final MetricsReporter metricsReporter;
+  private final ReportService reportService;
+  private final ExportService exportService;
+  private final SchoolDataGenerator schoolDataGenerator;
+  private final LoadDriver loadDriver;
 
   public void findGroupsWithLessOrEqualStudent() {
     consoleManager.print("Insert maximum amount of students.");
@@ -62,16 +102,57 @@ public class SchoolOperations {
       return;
     }
 
-    List<Student> enrolledStudents = studentService.findStudentsByCourseName(
-        courseName);
+    long enrolledStudents = studentService.forEachStudentByCourseName(courseName,
+        student -> consoleManager.print(student.getFirstName() + " " + student.getLastName()));
 
-    if (enrolledStudents.isEmpty()) {
+    if (enrolledStudents == 0) {
       consoleManager.print("No student is enrolled in this course.");
+    }
+  }
+
+  public void searchStudentsByName() {
+    consoleManager.print("Enter a student name to search.");
+    String query = consoleManager.readLine();
+
+    if (query.trim().isEmpty()) {
+      consoleManager.print("Invalid input. You have entered an empty string.");
       return;
     }
 
-    enrolledStudents.forEach(
-        student -> consoleManager.print(student.getFirstName() + " " + student.getLastName()));
+    List<StudentName> students = studentService.searchByName(query, STUDENT_SEARCH_LIMIT);
+
+    if (students.isEmpty()) {
+      consoleManager.print("No students found matching '" + query.trim() + "'.");
+      return;
+    }
+
+    students.forEach(student -> consoleManager.print(
+        student.getId() + ": " + student.getFirstName() + " " + student.getLastName()));
+  }
+
+  public void browseStudents() {
+    String continuationToken = null;
+    int page = 1;
+    do {
+      KeysetSlice<Student> students =
+          studentService.getStudentsAfter(continuationToken, BROWSE_PAGE_SIZE);
+      if (students.getContent().isEmpty()) {
+        consoleManager.print("There are no students.");
+        return;
+      }
+
+      consoleManager.print("Page " + page++ + ":");
+      students.getContent().forEach(student -> consoleManager.print(
+          student.getId() + ": " + student.getFirstName() + " " + student.getLastName()));
+
+      continuationToken = students.getContinuationToken();
+      if (continuationToken == null) {
+        consoleManager.print("End of the student list.");
+        return;
+      }
+      consoleManager.print("Press Enter for the next page or type '" + STOP_BROWSING
+          + "' to stop.");
+    } while (!STOP_BROWSING.equalsIgnoreCase(consoleManager.readLine().trim()));
   }
 
   public void addNewStudent() {
@@ -162,10 +243,13 @@ public class SchoolOperations {
       enrolledCourses.forEach(course -> result.append(course.getCourseName()).append("\n"));
       consoleManager.print(result.toString());
 
-      consoleManager.print("Enter a course name");
-      String courseName = consoleManager.readLine();
+      String courseName = readCourseName();
 
-      courseService.enrollStudentToCourse(studentId, courseName);
+      if (courseService.enrollStudentToCourse(studentId, courseName)
+          == EnrollmentResult.ALREADY_ENROLLED) {
+        consoleManager.print("Student is already enrolled in the course '" + courseName + "'.");
+        return;
+      }
       consoleManager.print("Student successfully added to the course '" + courseName + "'.");
 
     } catch (ValidationException | EntityNotFoundException | DataBaseSqlRuntimeException e) {
@@ -192,8 +276,7 @@ public class SchoolOperations {
       enrolledCourses.forEach(course -> result.append(course.getCourseName()).append("\n"));
       consoleManager.print(result.toString());
 
-      consoleManager.print("Enter a course name");
-      String courseName = consoleManager.readLine();
+      String courseName = readCourseName();
 
       courseService.removeStudentFromCourse(studentId, courseName);
       consoleManager.print("Student successfully removed from the course '" + courseName + "'.");
@@ -203,4 +286,178 @@ public class SchoolOperations {
     }
   }
 
+  public void importStudents() {
+    consoleManager.print(
+        "Enter the path to the file with students (first_name, last_name, group_id).");
+    String fileName = consoleManager.readLine().trim();
+
+    Path file = Paths.get(fileName);
+    if (!Files.isRegularFile(file)) {
+      consoleManager.print("File '" + fileName + "' does not exist.");
+      return;
+    }
+
+    try {
+      ImportReport report = studentImportService.importStudents(file);
+      consoleManager.print(
+          String.format("Imported %d students, rejected %d rows in %d ms (%.1f rows/sec).",
+              report.getImportedRows(), report.getRejectedRows(), report.getElapsedMillis(),
+              report.getRowsPerSecond()));
+
+    } catch (StudentImportException | DataAccessException e) {
+      consoleManager.print(e.getMessage());
+    }
+  }
+
+  public void printCacheStatistics() {
+    Map<String, Long> sizes = referenceDataCache.getSizes();
+    referenceDataCache.getStatistics().forEach((cacheName, stats) -> consoleManager.print(
+        String.format("%s: size=%d, hits=%d, misses=%d, evictions=%d, hit ratio=%.2f",
+            cacheName, sizes.get(cacheName), stats.hitCount(), stats.missCount(),
+            stats.evictionCount(), stats.hitRate())));
+  }
+
+  public void printEnrollmentIndex() {
+    Map<Integer, String> courseNames = courseService.getAllCourses().stream()
+        .collect(Collectors.toMap(Course::getId, Course::getCourseName));
+    List<CourseBitmapStats> statistics = courseService.getEnrollmentIndexStatistics();
+    if (statistics.isEmpty()) {
+      consoleManager.print("There are no enrollments.");
+      return;
+    }
+
+    long enrollments = 0;
+    long bytes = 0;
+    for (CourseBitmapStats stats : statistics) {
+      consoleManager.print(String.format("%s: %d students, %d bytes",
+          courseNames.getOrDefault(stats.getCourseId(), "Course " + stats.getCourseId()),
+          stats.getStudents(), stats.getSizeInBytes()));
+      enrollments += stats.getStudents();
+      bytes += stats.getSizeInBytes();
+    }
+    consoleManager.print(String.format("Total: %d enrollments in %d courses, %d bytes",
+        enrollments, statistics.size(), bytes));
+  }
+
+  public void printStatistics() {
+    List<String> lines = metricsReporter.report();
+    if (lines.isEmpty()) {
+      consoleManager.print("No metrics recorded yet.");
+      return;
+    }
+    lines.forEach(consoleManager::print);
+  }
+
+  public void printSchoolReport() {
+    SchoolReport report = reportService.buildSchoolReport();
+
+    consoleManager.print(String.format("Students: %d (without a group: %d, without courses: %d)",
+        report.getTotalStudents(), report.getStudentsWithoutGroup(),
+        report.getStudentsWithoutCourses()));
+
+    consoleManager.print("Students per group:");
+    report.getStudentsPerGroup().forEach((groupId, students) -> consoleManager.print(
+        "  " + report.getGroupNames().get(groupId) + " (" + groupId + "): " + students));
+
+    consoleManager.print("Students per course:");
+    report.getStudentsPerCourse().forEach((courseName, students) ->
+        consoleManager.print("  " + courseName + ": " + students));
+
+    consoleManager.print("Students sharing courses:");
+    Set<String> printed = new HashSet<>();
+    report.getCourseOverlap().forEach((courseName, overlap) -> {
+      printed.add(courseName);
+      overlap.forEach((otherCourseName, students) -> {
+        if (students > 0 && !printed.contains(otherCourseName)) {
+          consoleManager.print("  " + courseName + " & " + otherCourseName + ": " + students);
+        }
+      });
+    });
+
+    consoleManager.print("Report built in " + report.getElapsedMillis() + " ms.");
+  }
+
+  public void exportData() {
+    consoleManager.print("Enter the directory to export the tables to.");
+    Path directory = Paths.get(consoleManager.readLine().trim());
+
+    consoleManager.print("Enter the format (csv, jsonl, csv.gz or jsonl.gz).");
+    String formatName = consoleManager.readLine().trim();
+    boolean gzip = formatName.endsWith(GZIP_SUFFIX);
+    Optional<ExportFormat> format = ExportFormat.fromExtension(gzip
+        ? formatName.substring(0, formatName.length() - GZIP_SUFFIX.length())
+        : formatName);
+    if (!format.isPresent()) {
+      consoleManager.print("Unknown export format '" + formatName + "'.");
+      return;
+    }
+
+    try {
+      ExportReport report = exportService.export(directory, format.get(), gzip);
+      consoleManager.print(String.format(
+          "Exported %d rows (%.1f MB) in %d ms (%.1f rows/sec, %.1f MB/sec).",
+          report.getExportedRows(), report.getWrittenBytes() / (1024.0 * 1024.0),
+          report.getElapsedMillis(), report.getRowsPerSecond(),
+          report.getMegabytesPerSecond()));
+
+    } catch (ExportException | DataAccessException e) {
+      consoleManager.print(e.getMessage());
+    }
+  }
+
+  public void generateData() {
+    try {
+      GenerationReport report = schoolDataGenerator.generate();
+      consoleManager.print(String.format(
+          "Generated %d groups, %d courses, %d students and %d enrollments in %d ms "
+              + "(%.1f rows/sec).",
+          report.getGroups(), report.getCourses(), report.getStudents(),
+          report.getEnrollments(), report.getElapsedMillis(), report.getRowsPerSecond()));
+
+    } catch (ValidationException | DataAccessException e) {
+      consoleManager.print(e.getMessage());
+    }
+  }
+
+  public void runLoadTest() {
+    try {
+      LoadReport report = loadDriver.run();
+      report.getOperations().forEach(stats -> consoleManager.print(String.format(
+          "%-14s %8d ops %6d errors  p50=%d us  p99=%d us  p99.9=%d us  max=%d us",
+          stats.getOperation(), stats.getCount(), stats.getErrors(), stats.getP50Micros(),
+          stats.getP99Micros(), stats.getP999Micros(), stats.getMaxMicros())));
+      consoleManager.print(String.format(
+          "Ran %d operations on %d threads in %d ms (%.1f ops/sec), %d errors.",
+          report.getTotalOperations(), report.getThreads(), report.getElapsedMillis(),
+          report.getOperationsPerSecond(), report.getErrors()));
+
+    } catch (ValidationException | DataAccessException e) {
+      consoleManager.print(e.getMessage());
+    }
+  }
+
+  private String readCourseName() {
+    consoleManager.print("Enter a course name");
+    String courseName = consoleManager.readLine();
+
+    Optional<String> resolved = courseService.resolveCourseName(courseName);
+    if (resolved.isPresent()) {
+      return resolved.get();
+    }
+
+    List<String> completions = courseService.completeCourseName(courseName,
+        COURSE_NAME_COMPLETIONS);
+    if (completions.size() == 1) {
+      return completions.get(0);
+    }
+    if (completions.isEmpty()) {
+      return courseName;
+    }
+
+    consoleManager.print("Did you mean: " + String.join(", ", completions) + "?");
+    consoleManager.print("Enter a course name");
+    courseName = consoleManager.readLine();
+    return courseService.resolveCourseName(courseName).orElse(courseName);
+  }
+
 }
@@ -0,0 +1,16 @@
+package ua.foxminded.schoolconsoleapp.cache;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.cache")
+@Getter
+@Setter
+public class CacheProperties {
+
+  private long maximumSize = 1000;
+  private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+}
@@ -0,0 +1,122 @@
+package ua.foxminded.schoolconsoleapp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ua.foxminded.schoolconsoleapp.entitу.Course;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
+
+@Component
+public class ReferenceDataCache {
+
+  // Only ids and names are cached. Every caller gets its own detached copy, so no entity with a
+  // lazy students collection is shared between callers and threads.
+  private final Cache<Integer, CachedCourse> coursesById;
+  private final Cache<String, CachedCourse> coursesByName;
+  private final Cache<Integer, CachedGroup> groupsById;
+
+  public ReferenceDataCache(CacheProperties cacheProperties) {
+    coursesById = newCache(cacheProperties);
+    coursesByName = newCache(cacheProperties);
+    groupsById = newCache(cacheProperties);
+  }
+
+  public Optional<Course> getCourseById(Integer id,
+      Function<Integer, Optional<Course>> loader) {
+    Optional<CachedCourse> course = Optional.ofNullable(
+        coursesById.get(id, key -> loader.apply(key).map(CachedCourse::of).orElse(null)));
+    course.ifPresent(value -> coursesByName.put(nameKey(value.courseName), value));
+    return course.map(CachedCourse::toCourse);
+  }
+
+  public Optional<Course> getCourseByName(String courseName,
+      Function<String, Optional<Course>> loader) {
+    Optional<CachedCourse> course = Optional.ofNullable(coursesByName.get(nameKey(courseName),
+        key -> loader.apply(courseName).map(CachedCourse::of).orElse(null)));
+    course.ifPresent(value -> coursesById.put(value.id, value));
+    return course.map(CachedCourse::toCourse);
+  }
+
+  public Optional<Group> getGroupById(Integer id, Function<Integer, Optional<Group>> loader) {
+    return Optional.ofNullable(groupsById.get(id,
+            key -> loader.apply(key).map(CachedGroup::of).orElse(null)))
+        .map(CachedGroup::toGroup);
+  }
+
+  public void invalidateCourses() {
+    coursesById.invalidateAll();
+    coursesByName.invalidateAll();
+  }
+
+  public void invalidateGroups() {
+    groupsById.invalidateAll();
+  }
+
+  public Map<String, CacheStats> getStatistics() {
+    Map<String, CacheStats> statistics = new LinkedHashMap<>();
+    statistics.put("coursesById", coursesById.stats());
+    statistics.put("coursesByName", coursesByName.stats());
+    statistics.put("groupsById", groupsById.stats());
+    return statistics;
+  }
+
+  public Map<String, Long> getSizes() {
+    Map<String, Long> sizes = new LinkedHashMap<>();
+    sizes.put("coursesById", coursesById.estimatedSize());
+    sizes.put("coursesByName", coursesByName.estimatedSize());
+    sizes.put("groupsById", groupsById.estimatedSize());
+    return sizes;
+  }
+
+  private static String nameKey(String courseName) {
+    return courseName.toLowerCase(Locale.ROOT);
+  }
+
+  private static <K, V> Cache<K, V> newCache(CacheProperties cacheProperties) {
+    return Caffeine.newBuilder()
+        .maximumSize(cacheProperties.getMaximumSize())
+        .expireAfterWrite(cacheProperties.getExpireAfterWrite())
+        .recordStats()
+        .build();
+  }
+
+  @RequiredArgsConstructor
+  private static final class CachedCourse {
+
+    private final Integer id;
+    private final String courseName;
+
+    private static CachedCourse of(Course course) {
+      return new CachedCourse(course.getId(), course.getCourseName());
+    }
+
+    private Course toCourse() {
+      return Course.builder().withId(id).withCourseName(courseName).build();
+    }
+
+  }
+
+  @RequiredArgsConstructor
+  private static final class CachedGroup {
+
+    private final Integer id;
+    private final String groupName;
+
+    private static CachedGroup of(Group group) {
+      return new CachedGroup(group.getId(), group.getGroupName());
+    }
+
+    private Group toGroup() {
+      return Group.builder().withId(id).withGroupName(groupName).build();
+    }
+
+  }
+
+}
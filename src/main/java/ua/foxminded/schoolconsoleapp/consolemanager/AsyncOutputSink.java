@@ -0,0 +1,137 @@
+package ua.foxminded.schoolconsoleapp.consolemanager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "school.console", name = "output", havingValue = "async")
+@Slf4j
+public class AsyncOutputSink implements OutputSink {
+
+  private final BlockingQueue<Object> queue;
+  private final int queueCapacity;
+  private final Writer writer;
+  private final Thread writerThread;
+  private volatile boolean closed;
+
+  @Autowired
+  public AsyncOutputSink(ConsoleProperties consoleProperties) {
+    this(System.out, consoleProperties.getQueueCapacity(), consoleProperties.getBufferSize());
+  }
+
+  public AsyncOutputSink(OutputStream out, int queueCapacity, int bufferSize) {
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.queueCapacity = queueCapacity;
+    this.writer = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()),
+        bufferSize);
+    this.writerThread = new Thread(this::drain, "console-writer");
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  @Override
+  public void write(String line) {
+    if (closed) {
+      throw new IllegalStateException("Output sink is closed.");
+    }
+    enqueue(line);
+  }
+
+  @Override
+  public void flush() {
+    if (closed) {
+      return;
+    }
+    FlushRequest request = new FlushRequest();
+    enqueue(request);
+    request.await();
+  }
+
+  @PreDestroy
+  public void close() {
+    if (closed) {
+      return;
+    }
+    flush();
+    closed = true;
+    writerThread.interrupt();
+  }
+
+  private void enqueue(Object item) {
+    try {
+      queue.put(item);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while writing console output.", e);
+    }
+  }
+
+  private void drain() {
+    List<Object> batch = new ArrayList<>(queueCapacity);
+    try {
+      while (!closed) {
+        batch.add(queue.take());
+        queue.drainTo(batch);
+        writeBatch(batch, batch.size() >= queueCapacity);
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void writeBatch(List<Object> batch, boolean queueWasFull) {
+    try {
+      for (Object item : batch) {
+        if (item instanceof FlushRequest) {
+          writer.flush();
+          ((FlushRequest) item).complete();
+        } else {
+          writer.write((String) item);
+          writer.write(System.lineSeparator());
+        }
+      }
+      if (queueWasFull) {
+        writer.flush();
+      }
+    } catch (IOException e) {
+      log.error("Failed to write console output: {}", e.getMessage());
+      batch.stream()
+          .filter(FlushRequest.class::isInstance)
+          .forEach(item -> ((FlushRequest) item).complete());
+    }
+  }
+
+  private static class FlushRequest {
+
+    private final CountDownLatch written = new CountDownLatch(1);
+
+    private void complete() {
+      written.countDown();
+    }
+
+    private void await() {
+      try {
+        written.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+  }
+
+}
@@ -11,13 +11,19 @@ public class ConsoleManager {
   private static final String ONLY_POSITIVE_DIGITS = "\\d+";
 
   private final Scanner scanner;
+  private final OutputSink outputSink;
 
   public String readLine() {
+    outputSink.flush();
     return scanner.nextLine();
   }
 
   public void print(String input) {
-    System.out.println(input);
+    outputSink.write(input);
+  }
+
+  public void flush() {
+    outputSink.flush();
   }
 
   public int parseInput(String input) {
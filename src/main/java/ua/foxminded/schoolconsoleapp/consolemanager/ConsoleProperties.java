@@ -0,0 +1,15 @@
+package ua.foxminded.schoolconsoleapp.consolemanager;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.console")
+@Getter
+@Setter
+public class ConsoleProperties {
+
+  private int queueCapacity = 4096;
+  private int bufferSize = 65536;
+
+}
@@ -0,0 +1,9 @@
+package ua.foxminded.schoolconsoleapp.consolemanager;
+
+public interface OutputSink {
+
+  void write(String line);
+
+  void flush();
+
+}
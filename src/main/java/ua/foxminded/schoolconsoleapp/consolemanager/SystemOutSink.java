@@ -0,0 +1,21 @@
+package ua.foxminded.schoolconsoleapp.consolemanager;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "school.console", name = "output", havingValue = "sync",
+    matchIfMissing = true)
+public class SystemOutSink implements OutputSink {
+
+  @Override
+  public void write(String line) {
+    System.out.println(line);
+  }
+
+  @Override
+  public void flush() {
+    System.out.flush();
+  }
+
+}
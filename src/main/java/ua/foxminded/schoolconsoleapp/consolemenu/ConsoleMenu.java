@@ -1,10 +1,15 @@
 package ua.foxminded.schoolconsoleapp.consolemenu;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import ua.foxminded.schoolconsoleapp.consolemanager.OutputSink;
 
 @Component
+@RequiredArgsConstructor
 public class ConsoleMenu {
 
+  private final OutputSink outputSink;
+
   public void drawMenu() {
     String menu =
         "\r\n**************************************************************************\r\n"
@@ -17,8 +22,18 @@ public class ConsoleMenu {
             + "* type '4' to delete a student by the student id\r\n"
             + "* type '5' to add a student to the course (from a list)\r\n"
             + "* type '6' to remove the student from one of their courses.\r\n"
+            + "* type '7' to import students from a CSV/TSV file (plain or gzip)\r\n"
+            + "* type '8' to search students by first or last name\r\n"
+            + "* type '9' to show the school statistics report\r\n"
+            + "* type 'browse' to page through all students\r\n"
+            + "* type 'export' to export all tables to CSV or JSON Lines files\r\n"
+            + "* type 'generate' to add generated groups, courses and students for load tests\r\n"
+            + "* type 'load' to run the configured load test and show latency percentiles\r\n"
+            + "* type 'cache' to show reference data and query cache statistics\r\n"
+            + "* type 'index' to show the enrollment index memory usage per course\r\n"
+            + "* type 'stats' to show operation latency, error and connection pool metrics\r\n"
             + "* type 'exit' to quit\r\n".replaceAll("\r\n", System.lineSeparator());
 
-    System.out.println(menu);
+    outputSink.write(menu);
   }
 }
@@ -0,0 +1,5 @@
+package ua.foxminded.schoolconsoleapp.datasource;
+
+public enum DataSourceRoute {
+  PRIMARY, REPLICA
+}
@@ -0,0 +1,61 @@
+package ua.foxminded.schoolconsoleapp.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@Configuration
+@ConditionalOnProperty(prefix = "school.datasource.replica", name = "url")
+public class DataSourceRoutingConfiguration {
+
+  @Bean
+  @ConfigurationProperties(prefix = "spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+    HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean
+  public HikariDataSource replicaDataSource(DataSourceProperties dataSourceProperties,
+      ReplicaProperties replicaProperties) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setPoolName("replica");
+    dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+    dataSource.setJdbcUrl(replicaProperties.getUrl());
+    dataSource.setUsername(replicaProperties.getUsername());
+    dataSource.setPassword(replicaProperties.getPassword());
+    dataSource.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  @Bean
+  public ReplicaLagMonitor replicaLagMonitor(HikariDataSource replicaDataSource,
+      ReplicaProperties replicaProperties) {
+    return new ReplicaLagMonitor(new JdbcTemplate(replicaDataSource),
+        replicaProperties.getMaxLag());
+  }
+
+  @Bean
+  public RoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+      HikariDataSource replicaDataSource, ReplicaLagMonitor replicaLagMonitor) {
+    return new RoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(RoutingDataSource routingDataSource) {
+    return new LazyConnectionDataSourceProxy(routingDataSource);
+  }
+
+}
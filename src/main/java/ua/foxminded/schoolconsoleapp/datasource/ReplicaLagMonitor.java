@@ -0,0 +1,53 @@
+package ua.foxminded.schoolconsoleapp.datasource;
+
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Slf4j
+public class ReplicaLagMonitor {
+
+  private static final String LAG_QUERY = "SELECT CASE WHEN pg_is_in_recovery() "
+      + "THEN COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) "
+      + "ELSE 0 END";
+
+  private final JdbcTemplate replicaJdbcTemplate;
+  private final Duration maxLag;
+  private volatile boolean replicaAvailable = true;
+  private volatile double lagSeconds;
+
+  public ReplicaLagMonitor(JdbcTemplate replicaJdbcTemplate, Duration maxLag) {
+    this.replicaJdbcTemplate = replicaJdbcTemplate;
+    this.maxLag = maxLag;
+  }
+
+  @Scheduled(fixedDelayString = "${school.datasource.replica.lag-check-interval:PT10S}")
+  public void checkLag() {
+    boolean available;
+    try {
+      Double lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+      lagSeconds = lag == null ? 0 : lag;
+      available = lagSeconds * 1000 <= maxLag.toMillis();
+    } catch (DataAccessException e) {
+      log.warn("Replica lag check failed: {}", e.getMessage());
+      available = false;
+    }
+
+    if (available != replicaAvailable) {
+      log.warn(available ? "Replica is back within {} lag, routing reads to it"
+          : "Replica lag exceeds {}, routing reads to the primary", maxLag);
+    }
+    replicaAvailable = available;
+  }
+
+  public boolean isReplicaAvailable() {
+    return replicaAvailable;
+  }
+
+  public double getLagSeconds() {
+    return lagSeconds;
+  }
+
+}
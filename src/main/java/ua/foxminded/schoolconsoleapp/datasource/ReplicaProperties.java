@@ -0,0 +1,19 @@
+package ua.foxminded.schoolconsoleapp.datasource;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.datasource.replica")
+@Getter
+@Setter
+public class ReplicaProperties {
+
+  private String url;
+  private String username;
+  private String password;
+  private int maximumPoolSize = 10;
+  private Duration maxLag = Duration.ofSeconds(5);
+
+}
@@ -0,0 +1,63 @@
+package ua.foxminded.schoolconsoleapp.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class RoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+
+  public static final String ROUTE_COUNTER = "school.datasource.route";
+  public static final String FALLBACK_COUNTER = "school.datasource.replica.fallback";
+
+  private final ReplicaLagMonitor replicaLagMonitor;
+  private final Map<DataSourceRoute, LongAdder> routeCounts = new EnumMap<>(DataSourceRoute.class);
+  private final LongAdder fallbackCount = new LongAdder();
+
+  public RoutingDataSource(DataSource primary, DataSource replica,
+      ReplicaLagMonitor replicaLagMonitor) {
+    this.replicaLagMonitor = replicaLagMonitor;
+
+    Map<Object, Object> targetDataSources = new HashMap<>();
+    targetDataSources.put(DataSourceRoute.PRIMARY, primary);
+    targetDataSources.put(DataSourceRoute.REPLICA, replica);
+    setTargetDataSources(targetDataSources);
+    setDefaultTargetDataSource(primary);
+
+    for (DataSourceRoute route : DataSourceRoute.values()) {
+      routeCounts.put(route, new LongAdder());
+    }
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    DataSourceRoute route = DataSourceRoute.PRIMARY;
+    if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      if (replicaLagMonitor.isReplicaAvailable()) {
+        route = DataSourceRoute.REPLICA;
+      } else {
+        fallbackCount.increment();
+      }
+    }
+    routeCounts.get(route).increment();
+    return route;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    routeCounts.forEach((route, count) -> FunctionCounter.builder(ROUTE_COUNTER, count,
+            LongAdder::doubleValue)
+        .tag("route", route.name().toLowerCase(Locale.ROOT))
+        .register(registry));
+    FunctionCounter.builder(FALLBACK_COUNTER, fallbackCount, LongAdder::doubleValue)
+        .register(registry);
+  }
+
+}
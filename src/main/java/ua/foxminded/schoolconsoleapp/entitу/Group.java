@@ -1,16 +1,17 @@
 package ua.foxminded.schoolconsoleapp.entitу;
 
-import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -22,20 +23,39 @@ import lombok.ToString;
 @AllArgsConstructor
 @Getter
 @Setter
-@EqualsAndHashCode
 @ToString(exclude = "students")
 @Builder(setterPrefix = "with")
 public class Group {
 
   @Id
   @Column(name = "group_id")
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "groups_id")
+  @SequenceGenerator(name = "groups_id",
+      sequenceName = "groups_group_id_seq", allocationSize = 1)
   private Integer id;
 
   @Column(name = "group_name")
   private String groupName;
 
   @OneToMany(mappedBy = "ownerGroup")
-  private List<Student> students;
+  private Set<Student> students;
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Group)) {
+      return false;
+    }
+    return id != null && id.equals(((Group) o).getId());
+  }
+
+  // The id comes from the sequence when the entity is persisted, before it is inserted, so an
+  // entity should be persisted before it is added to a hash-based collection.
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(id);
+  }
 
 }
@@ -1,8 +1,10 @@
 package ua.foxminded.schoolconsoleapp.entitу;
 
-import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -10,10 +12,10 @@ import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -25,17 +27,18 @@ import lombok.ToString;
 @AllArgsConstructor
 @Getter
 @Setter
-@EqualsAndHashCode
-@ToString(exclude = "courses")
+@ToString(exclude = {"ownerGroup", "courses"})
 @Builder(setterPrefix = "with")
 public class Student {
 
   @Id
   @Column(name = "student_id")
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_id")
+  @SequenceGenerator(name = "students_id",
+      sequenceName = "students_student_id_seq", allocationSize = 1)
   private Integer id;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "group_id", referencedColumnName = "group_id")
   private Group ownerGroup;
 
@@ -51,6 +54,24 @@ public class Student {
       joinColumns = @JoinColumn(name = "student_id"),
       inverseJoinColumns = @JoinColumn(name = "course_id")
   )
-  private List<Course> courses;
+  private Set<Course> courses;
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Student)) {
+      return false;
+    }
+    return id != null && id.equals(((Student) o).getId());
+  }
+
+  // The id comes from the sequence when the entity is persisted, before it is inserted, so an
+  // entity should be persisted before it is added to a hash-based collection.
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(id);
+  }
 
 }
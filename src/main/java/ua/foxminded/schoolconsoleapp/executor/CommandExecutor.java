@@ -0,0 +1,100 @@
+package ua.foxminded.schoolconsoleapp.executor;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class CommandExecutor {
+
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+  private final ThreadPoolExecutor executor;
+  private final Semaphore permits;
+  private final int capacity;
+
+  @Autowired
+  public CommandExecutor(DataSource dataSource, ExecutorProperties executorProperties) {
+    this(executorProperties.getThreads() > 0 ? executorProperties.getThreads()
+        : connectionPoolSize(dataSource), executorProperties.getQueueCapacity());
+  }
+
+  // The work queue itself is unbounded: the permits bound the number of queued and running
+  // commands, so a worker finishing a command never races a producer for a queue slot.
+  public CommandExecutor(int threads, int queueCapacity) {
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), runnable -> {
+          Thread thread = new Thread(runnable, "command-worker-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    this.capacity = threads + queueCapacity;
+    this.permits = new Semaphore(capacity);
+    log.info("Command executor started with {} threads and queue capacity {}", threads,
+        queueCapacity);
+  }
+
+  public <T> CompletableFuture<T> submit(Supplier<T> command) {
+    return submitAfter(CompletableFuture.completedFuture(null), command);
+  }
+
+  // The command holds its permit while it waits, so commands blocked on earlier ones still count
+  // against the capacity. It runs whether the dependencies succeed or fail.
+  public <T> CompletableFuture<T> submitAfter(CompletableFuture<?> dependencies,
+      Supplier<T> command) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a free worker.", e);
+    }
+
+    CompletableFuture<T> future = dependencies
+        .handle((result, error) -> null)
+        .thenApplyAsync(ignored -> command.get(), executor);
+    future.whenComplete((result, error) -> permits.release());
+    return future;
+  }
+
+  public int getThreads() {
+    return executor.getMaximumPoolSize();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      log.warn("Command executor did not finish within {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+      executor.shutdownNow();
+    }
+  }
+
+  private static int connectionPoolSize(DataSource dataSource) {
+    try {
+      if (dataSource.isWrapperFor(HikariDataSource.class)) {
+        return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+      }
+    } catch (SQLException e) {
+      log.warn("Could not read the connection pool size: {}", e.getMessage());
+    }
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+}
@@ -0,0 +1,15 @@
+package ua.foxminded.schoolconsoleapp.executor;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.executor")
+@Getter
+@Setter
+public class ExecutorProperties {
+
+  private int threads;
+  private int queueCapacity = 100;
+
+}
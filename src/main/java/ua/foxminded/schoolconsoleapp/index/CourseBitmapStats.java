@@ -0,0 +1,16 @@
+package ua.foxminded.schoolconsoleapp.index;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class CourseBitmapStats {
+
+  private final int courseId;
+  private final int students;
+  private final long sizeInBytes;
+
+}
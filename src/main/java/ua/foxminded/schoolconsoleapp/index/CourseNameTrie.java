@@ -0,0 +1,116 @@
+package ua.foxminded.schoolconsoleapp.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.springframework.stereotype.Component;
+import ua.foxminded.schoolconsoleapp.entitу.Course;
+
+@Component
+public class CourseNameTrie {
+
+  private final Map<Integer, String> namesById = new HashMap<>();
+  private Node root = new Node();
+  private boolean loaded;
+
+  public synchronized void rebuild(Collection<Course> courses) {
+    namesById.clear();
+    root = new Node();
+    courses.forEach(course -> put(course.getId(), course.getCourseName()));
+    loaded = true;
+  }
+
+  public synchronized boolean isLoaded() {
+    return loaded;
+  }
+
+  public synchronized void put(Integer courseId, String courseName) {
+    remove(courseId);
+    namesById.put(courseId, courseName);
+
+    Node node = root;
+    for (char c : normalize(courseName).toCharArray()) {
+      node = node.children.computeIfAbsent(c, key -> new Node());
+    }
+    node.courseName = courseName;
+  }
+
+  public synchronized void remove(Integer courseId) {
+    String courseName = namesById.remove(courseId);
+    if (courseName == null) {
+      return;
+    }
+
+    Deque<Node> path = new ArrayDeque<>();
+    Node node = root;
+    String key = normalize(courseName);
+    for (char c : key.toCharArray()) {
+      path.push(node);
+      node = node.children.get(c);
+    }
+    node.courseName = null;
+
+    for (int i = key.length() - 1; i >= 0 && node.isEmpty(); i--) {
+      Node parent = path.pop();
+      parent.children.remove(key.charAt(i));
+      node = parent;
+    }
+  }
+
+  public synchronized Optional<String> resolve(String courseName) {
+    Node node = find(normalize(courseName));
+    return node == null ? Optional.empty() : Optional.ofNullable(node.courseName);
+  }
+
+  public synchronized List<String> complete(String prefix, int limit) {
+    List<String> completions = new ArrayList<>();
+    Node node = find(normalize(prefix));
+    if (node != null) {
+      collect(node, completions, limit);
+    }
+    return completions;
+  }
+
+  private Node find(String key) {
+    Node node = root;
+    for (int i = 0; i < key.length() && node != null; i++) {
+      node = node.children.get(key.charAt(i));
+    }
+    return node;
+  }
+
+  private void collect(Node node, List<String> completions, int limit) {
+    if (completions.size() >= limit) {
+      return;
+    }
+    if (node.courseName != null) {
+      completions.add(node.courseName);
+    }
+    for (Node child : node.children.values()) {
+      collect(child, completions, limit);
+    }
+  }
+
+  private static String normalize(String courseName) {
+    return courseName.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static class Node {
+
+    private final TreeMap<Character, Node> children = new TreeMap<>();
+    private String courseName;
+
+    private boolean isEmpty() {
+      return courseName == null && children.isEmpty();
+    }
+
+  }
+
+}
@@ -0,0 +1,169 @@
+package ua.foxminded.schoolconsoleapp.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+import ua.foxminded.schoolconsoleapp.repository.EnrollmentJdbcRepository.EnrollmentHandler;
+
+@Component
+public class EnrollmentIndex {
+
+  private final Object rebuildLock = new Object();
+  private Map<Integer, RoaringBitmap> studentsByCourse = new HashMap<>();
+  private List<Consumer<Map<Integer, RoaringBitmap>>> changesDuringRebuild;
+  private long invalidations;
+  private boolean loaded;
+
+  public void rebuild(Consumer<EnrollmentHandler> enrollments) {
+    synchronized (rebuildLock) {
+      long invalidationsAtStart;
+      synchronized (this) {
+        changesDuringRebuild = new ArrayList<>();
+        invalidationsAtStart = invalidations;
+      }
+
+      Map<Integer, RoaringBitmap> rebuilt = new HashMap<>();
+      try {
+        enrollments.accept((studentId, courseId) -> getOrCreate(rebuilt, courseId).add(studentId));
+        rebuilt.values().forEach(RoaringBitmap::runOptimize);
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          changesDuringRebuild = null;
+        }
+        throw e;
+      }
+
+      synchronized (this) {
+        // Changes committed while the enrollments were being read may be missing from the
+        // snapshot; replaying them is safe because every change is idempotent.
+        changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+        changesDuringRebuild = null;
+        studentsByCourse = rebuilt;
+        loaded = invalidations == invalidationsAtStart;
+      }
+    }
+  }
+
+  public synchronized boolean isLoaded() {
+    return loaded;
+  }
+
+  public synchronized void invalidate() {
+    invalidations++;
+    loaded = false;
+  }
+
+  public synchronized boolean isEnrolled(int studentId, int courseId) {
+    RoaringBitmap students = studentsByCourse.get(courseId);
+    return students != null && students.contains(studentId);
+  }
+
+  public synchronized int[] getStudentIds(int courseId) {
+    RoaringBitmap students = studentsByCourse.get(courseId);
+    return students == null ? new int[0] : students.toArray();
+  }
+
+  public synchronized int[] getStudentIds(int courseId, int afterStudentId, int limit) {
+    RoaringBitmap students = studentsByCourse.get(courseId);
+    if (students == null || limit <= 0) {
+      return new int[0];
+    }
+    int[] page = new int[(int) Math.min(limit, students.getLongCardinality())];
+    int size = 0;
+    PeekableIntIterator iterator = students.getIntIterator();
+    iterator.advanceIfNeeded(afterStudentId + 1);
+    while (size < page.length && iterator.hasNext()) {
+      page[size++] = iterator.next();
+    }
+    return size == page.length ? page : Arrays.copyOf(page, size);
+  }
+
+  public synchronized List<Integer> getCourseIds(int studentId) {
+    List<Integer> courseIds = new ArrayList<>();
+    studentsByCourse.forEach((courseId, students) -> {
+      if (students.contains(studentId)) {
+        courseIds.add(courseId);
+      }
+    });
+    Collections.sort(courseIds);
+    return courseIds;
+  }
+
+  public synchronized List<CourseBitmapStats> getStatistics() {
+    List<CourseBitmapStats> statistics = new ArrayList<>();
+    new TreeMap<>(studentsByCourse).forEach((courseId, students) -> statistics.add(
+        new CourseBitmapStats(courseId, students.getCardinality(),
+            students.getLongSizeInBytes())));
+    return statistics;
+  }
+
+  public void enroll(int studentId, int courseId) {
+    apply(bitmaps -> getOrCreate(bitmaps, courseId).add(studentId));
+  }
+
+  public void unenroll(int studentId, int courseId) {
+    apply(bitmaps -> {
+      RoaringBitmap students = bitmaps.get(courseId);
+      if (students != null) {
+        students.remove(studentId);
+      }
+    });
+  }
+
+  public void enrollAll(int courseId, Collection<Integer> studentIds) {
+    RoaringBitmap enrolled = toBitmap(studentIds);
+    apply(bitmaps -> getOrCreate(bitmaps, courseId).or(enrolled));
+  }
+
+  public void unenrollAll(int courseId, Collection<Integer> studentIds) {
+    RoaringBitmap removed = toBitmap(studentIds);
+    apply(bitmaps -> {
+      RoaringBitmap students = bitmaps.get(courseId);
+      if (students != null) {
+        students.andNot(removed);
+      }
+    });
+  }
+
+  public void setStudentCourses(int studentId, Collection<Integer> courseIds) {
+    List<Integer> enrolledCourseIds = new ArrayList<>(courseIds);
+    apply(bitmaps -> {
+      bitmaps.values().forEach(students -> students.remove(studentId));
+      enrolledCourseIds.forEach(courseId -> getOrCreate(bitmaps, courseId).add(studentId));
+    });
+  }
+
+  public void removeStudents(Collection<Integer> studentIds) {
+    RoaringBitmap removed = toBitmap(studentIds);
+    apply(bitmaps -> bitmaps.values().forEach(students -> students.andNot(removed)));
+  }
+
+  public void removeCourse(int courseId) {
+    apply(bitmaps -> bitmaps.remove(courseId));
+  }
+
+  private synchronized void apply(Consumer<Map<Integer, RoaringBitmap>> change) {
+    change.accept(studentsByCourse);
+    if (changesDuringRebuild != null) {
+      changesDuringRebuild.add(change);
+    }
+  }
+
+  private static RoaringBitmap getOrCreate(Map<Integer, RoaringBitmap> bitmaps, int courseId) {
+    return bitmaps.computeIfAbsent(courseId, key -> new RoaringBitmap());
+  }
+
+  private static RoaringBitmap toBitmap(Collection<Integer> ids) {
+    return RoaringBitmap.bitmapOf(ids.stream().mapToInt(Integer::intValue).toArray());
+  }
+
+}
@@ -0,0 +1,150 @@
+package ua.foxminded.schoolconsoleapp.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.repository.projection.GroupSize;
+
+@Component
+public class GroupSizeIndex {
+
+  private final Object rebuildLock = new Object();
+  private GroupSizes state = new GroupSizes();
+  private List<Consumer<GroupSizes>> changesDuringRebuild;
+  private boolean loaded;
+
+  public int rebuild(Supplier<Collection<GroupSize>> groupSizes) {
+    synchronized (rebuildLock) {
+      synchronized (this) {
+        changesDuringRebuild = new ArrayList<>();
+      }
+
+      GroupSizes rebuilt = new GroupSizes();
+      Collection<GroupSize> snapshot;
+      try {
+        snapshot = groupSizes.get();
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          changesDuringRebuild = null;
+        }
+        throw e;
+      }
+      snapshot.forEach(groupSize -> {
+        rebuilt.storeGroup(groupSize.getGroupId(), groupSize.getGroupName());
+        rebuilt.place(groupSize.getGroupId(), groupSize.getStudentCount().intValue());
+      });
+
+      synchronized (this) {
+        // Changes committed while the sizes were being read are missing from the snapshot, so
+        // they are replayed onto it. A change committed just before the read may be counted
+        // twice; checkGroupSizeIndex in GroupService detects and repairs such drift.
+        changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+        changesDuringRebuild = null;
+        state = rebuilt;
+        loaded = true;
+      }
+      return snapshot.size();
+    }
+  }
+
+  public synchronized boolean isLoaded() {
+    return loaded;
+  }
+
+  public synchronized List<Group> findGroupsWithLessOrEqualStudent(int maxStudents) {
+    List<Group> result = new ArrayList<>();
+    state.groupsBySize.headMap(maxStudents, true).values()
+        .forEach(ids -> ids.forEach(id -> result.add(state.groups.get(id))));
+    return result;
+  }
+
+  public void putGroup(Integer groupId, String groupName) {
+    apply(sizes -> {
+      sizes.storeGroup(groupId, groupName);
+      if (!sizes.sizes.containsKey(groupId)) {
+        sizes.place(groupId, 0);
+      }
+    });
+  }
+
+  public void removeGroup(Integer groupId) {
+    apply(sizes -> {
+      sizes.groups.remove(groupId);
+      Integer size = sizes.sizes.remove(groupId);
+      if (size != null) {
+        sizes.unplace(groupId, size);
+      }
+    });
+  }
+
+  public void addStudent(Integer groupId) {
+    resize(groupId, 1);
+  }
+
+  public void removeStudent(Integer groupId) {
+    resize(groupId, -1);
+  }
+
+  public void removeStudents(Integer groupId, int count) {
+    resize(groupId, -count);
+  }
+
+  public synchronized Map<Integer, Integer> getSizes() {
+    return new HashMap<>(state.sizes);
+  }
+
+  private void resize(Integer groupId, int delta) {
+    if (groupId == null) {
+      return;
+    }
+    apply(sizes -> {
+      Integer size = sizes.sizes.get(groupId);
+      if (size != null) {
+        sizes.unplace(groupId, size);
+        sizes.place(groupId, Math.max(0, size + delta));
+      }
+    });
+  }
+
+  private synchronized void apply(Consumer<GroupSizes> change) {
+    change.accept(state);
+    if (changesDuringRebuild != null) {
+      changesDuringRebuild.add(change);
+    }
+  }
+
+  private static class GroupSizes {
+
+    private final Map<Integer, Group> groups = new HashMap<>();
+    private final Map<Integer, Integer> sizes = new HashMap<>();
+    private final TreeMap<Integer, NavigableSet<Integer>> groupsBySize = new TreeMap<>();
+
+    private void storeGroup(Integer groupId, String groupName) {
+      groups.put(groupId, Group.builder().withId(groupId).withGroupName(groupName).build());
+    }
+
+    private void place(Integer groupId, int size) {
+      sizes.put(groupId, size);
+      groupsBySize.computeIfAbsent(size, key -> new TreeSet<>()).add(groupId);
+    }
+
+    private void unplace(Integer groupId, int size) {
+      NavigableSet<Integer> ids = groupsBySize.get(size);
+      ids.remove(groupId);
+      if (ids.isEmpty()) {
+        groupsBySize.remove(size);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,43 @@
+package ua.foxminded.schoolconsoleapp.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricsAspect {
+
+  public static final String OPERATION_TIMER = "school.operation";
+  public static final String OPERATION_ERRORS = "school.operation.errors";
+
+  private final MeterRegistry meterRegistry;
+
+  @Around("@within(org.springframework.stereotype.Service) && "
+      + "(within(ua.foxminded.schoolconsoleapp.service.dao..*) || "
+      + "within(ua.foxminded.schoolconsoleapp.SchoolOperations))")
+  public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+    String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+    String methodName = joinPoint.getSignature().getName();
+
+    Timer.Sample sample = Timer.start(meterRegistry);
+    try {
+      return joinPoint.proceed();
+    } catch (Throwable e) {
+      meterRegistry.counter(OPERATION_ERRORS, "class", className, "method", methodName,
+          "exception", e.getClass().getSimpleName()).increment();
+      throw e;
+    } finally {
+      sample.stop(Timer.builder(OPERATION_TIMER)
+          .tags("class", className, "method", methodName)
+          .publishPercentiles(0.5, 0.95, 0.99)
+          .register(meterRegistry));
+    }
+  }
+
+}
@@ -0,0 +1,17 @@
+package ua.foxminded.schoolconsoleapp.metrics;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.metrics.export")
+@Getter
+@Setter
+public class MetricsExportProperties {
+
+  private boolean enabled;
+  private Path file = Paths.get("./logs/metrics.log");
+
+}
@@ -0,0 +1,56 @@
+package ua.foxminded.schoolconsoleapp.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Eager even with lazy initialization, as in the fast profile: nothing else references it, so a
+// lazy exporter would never be created and its schedule never registered. Spring Boot's own
+// exclusion of scheduled beans depends on the task scheduling auto-configuration.
+@Component
+@ConditionalOnProperty(prefix = "school.metrics.export", name = "enabled", havingValue = "true")
+@Lazy(false)
+@RequiredArgsConstructor
+@Slf4j
+public class MetricsFileExporter {
+
+  private final MetricsReporter metricsReporter;
+  private final MetricsExportProperties metricsExportProperties;
+
+  @Scheduled(fixedDelayString = "${school.metrics.export.interval:PT1M}",
+      initialDelayString = "${school.metrics.export.interval:PT1M}")
+  public void export() {
+    Path file = metricsExportProperties.getFile();
+    List<String> lines = new ArrayList<>();
+    lines.add("# " + LocalDateTime.now());
+    lines.addAll(metricsReporter.report());
+
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      log.warn("Failed to export metrics to {}: {}", file, e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  public void exportOnShutdown() {
+    export();
+  }
+
+}
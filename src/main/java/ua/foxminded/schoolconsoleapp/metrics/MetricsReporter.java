@@ -0,0 +1,77 @@
+package ua.foxminded.schoolconsoleapp.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ua.foxminded.schoolconsoleapp.datasource.RoutingDataSource;
+
+@Component
+@RequiredArgsConstructor
+public class MetricsReporter {
+
+  private static final String HIKARI_PREFIX = "hikaricp.connections";
+
+  private final MeterRegistry meterRegistry;
+
+  public List<String> report() {
+    List<String> lines = new ArrayList<>();
+
+    meterRegistry.find(MetricsAspect.OPERATION_TIMER).timers().stream()
+        .sorted(Comparator.comparing(this::operationName))
+        .forEach(timer -> lines.add(formatTimer(timer)));
+
+    meterRegistry.find(MetricsAspect.OPERATION_ERRORS).counters().stream()
+        .sorted(Comparator.comparing(this::operationName))
+        .forEach(counter -> lines.add(formatErrors(counter)));
+
+    meterRegistry.find(RoutingDataSource.ROUTE_COUNTER).functionCounters().stream()
+        .sorted(Comparator.comparing(counter -> counter.getId().getTag("route")))
+        .forEach(counter -> lines.add(String.format("%s{route=%s}: %.0f",
+            RoutingDataSource.ROUTE_COUNTER, counter.getId().getTag("route"), counter.count())));
+
+    meterRegistry.find(RoutingDataSource.FALLBACK_COUNTER).functionCounters()
+        .forEach(counter -> lines.add(String.format("%s: %.0f",
+            RoutingDataSource.FALLBACK_COUNTER, counter.count())));
+
+    meterRegistry.getMeters().stream()
+        .filter(meter -> meter instanceof Gauge)
+        .filter(meter -> meter.getId().getName().startsWith(HIKARI_PREFIX))
+        .sorted(Comparator.comparing(meter -> meter.getId().getName()))
+        .forEach(meter -> lines.add(String.format("%s{pool=%s}: %.0f", meter.getId().getName(),
+            meter.getId().getTag("pool"), ((Gauge) meter).value())));
+
+    return lines;
+  }
+
+  private String formatTimer(Timer timer) {
+    HistogramSnapshot snapshot = timer.takeSnapshot();
+    StringBuilder line = new StringBuilder(String.format("%s: count=%d, mean=%.3fms, max=%.3fms",
+        operationName(timer), snapshot.count(), snapshot.mean(TimeUnit.MILLISECONDS),
+        snapshot.max(TimeUnit.MILLISECONDS)));
+    for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+      line.append(String.format(", p%.0f=%.3fms", percentile.percentile() * 100,
+          percentile.value(TimeUnit.MILLISECONDS)));
+    }
+    return line.toString();
+  }
+
+  private String formatErrors(Counter counter) {
+    return String.format("%s errors: %s=%.0f", operationName(counter),
+        counter.getId().getTag("exception"), counter.count());
+  }
+
+  private String operationName(Meter meter) {
+    return meter.getId().getTag("class") + "." + meter.getId().getTag("method");
+  }
+
+}
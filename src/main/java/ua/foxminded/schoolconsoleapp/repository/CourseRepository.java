@@ -2,7 +2,10 @@ package ua.foxminded.schoolconsoleapp.repository;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import ua.foxminded.schoolconsoleapp.entitу.Course;
 
@@ -11,9 +14,17 @@ public interface CourseRepository extends JpaRepository<Course, Integer> {
   @Query("SELECT COUNT(c) FROM Course c JOIN c.students s WHERE s.id = :studentId AND c.id = :courseId")
   Long checkStudentEnrolledInCourse(int studentId, int courseId);
 
+  @Query(value = "SELECT * FROM courses WHERE LOWER(course_name) = LOWER(:courseName)",
+      nativeQuery = true)
   Optional<Course> findByCourseName(String courseName);
 
+  Slice<Course> findByIdGreaterThanOrderByIdAsc(int afterId, Pageable pageable);
+
   @Query("SELECT c FROM Course c JOIN c.students s WHERE s.id = :studentId")
   List<Course> getEnrolledCoursesForStudent(int studentId);
 
+  @Modifying
+  @Query(value = "DELETE FROM courses WHERE course_id = :courseId", nativeQuery = true)
+  int deleteCourseById(int courseId);
+
 }
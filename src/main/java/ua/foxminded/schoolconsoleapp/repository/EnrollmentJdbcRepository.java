@@ -0,0 +1,94 @@
+package ua.foxminded.schoolconsoleapp.repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class EnrollmentJdbcRepository {
+
+  // Locking the student and course rows keeps a concurrent delete from turning the insert into
+  // a foreign key violation, and ON CONFLICT makes a concurrent duplicate a no-op.
+  private static final String ENROLL =
+      "WITH student AS (SELECT student_id FROM students WHERE student_id = ? FOR KEY SHARE), "
+          + "course AS (SELECT course_id FROM courses WHERE course_id = ? FOR KEY SHARE), "
+          + "inserted AS (INSERT INTO student_courses (student_id, course_id) "
+          + "SELECT student.student_id, course.course_id FROM student, course "
+          + "ON CONFLICT DO NOTHING RETURNING student_id) "
+          + "SELECT EXISTS (SELECT 1 FROM student) AS student_found, "
+          + "EXISTS (SELECT 1 FROM course) AS course_found, "
+          + "EXISTS (SELECT 1 FROM inserted) AS enrolled";
+  private static final String UNENROLL =
+      "DELETE FROM student_courses WHERE student_id = ? AND course_id = ?";
+  private static final String ENROLL_ALL =
+      "INSERT INTO student_courses (student_id, course_id) "
+          + "SELECT s.student_id, ? FROM students s WHERE s.student_id = ANY (?) "
+          + "ON CONFLICT DO NOTHING RETURNING student_id";
+  private static final String UNENROLL_ALL =
+      "DELETE FROM student_courses WHERE course_id = ? AND student_id = ANY (?) "
+          + "RETURNING student_id";
+  private static final String SELECT_ENROLLMENTS =
+      "SELECT student_id, course_id FROM student_courses";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public EnrollmentResult enroll(int studentId, int courseId) {
+    return jdbcTemplate.queryForObject(ENROLL, (resultSet, rowNum) -> {
+      if (!resultSet.getBoolean("student_found")) {
+        return EnrollmentResult.STUDENT_NOT_FOUND;
+      }
+      if (!resultSet.getBoolean("course_found")) {
+        return EnrollmentResult.COURSE_NOT_FOUND;
+      }
+      return resultSet.getBoolean("enrolled") ? EnrollmentResult.ENROLLED
+          : EnrollmentResult.ALREADY_ENROLLED;
+    }, studentId, courseId);
+  }
+
+  public boolean unenroll(int studentId, int courseId) {
+    return jdbcTemplate.update(UNENROLL, studentId, courseId) == 1;
+  }
+
+  public List<Integer> enrollAll(int courseId, Collection<Integer> studentIds) {
+    return updateForStudents(ENROLL_ALL, courseId, studentIds);
+  }
+
+  public List<Integer> unenrollAll(int courseId, Collection<Integer> studentIds) {
+    return updateForStudents(UNENROLL_ALL, courseId, studentIds);
+  }
+
+  public void forEachEnrollment(int fetchSize, EnrollmentHandler handler) {
+    jdbcTemplate.query(connection -> {
+      PreparedStatement statement = connection.prepareStatement(SELECT_ENROLLMENTS);
+      statement.setFetchSize(fetchSize);
+      return statement;
+    }, (RowCallbackHandler) resultSet -> handler.accept(resultSet.getInt("student_id"),
+        resultSet.getInt("course_id")));
+  }
+
+  private List<Integer> updateForStudents(String sql, int courseId,
+      Collection<Integer> studentIds) {
+    if (studentIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return jdbcTemplate.query(sql, statement -> {
+      statement.setInt(1, courseId);
+      statement.setArray(2,
+          statement.getConnection().createArrayOf("integer", studentIds.toArray()));
+    }, (resultSet, rowNum) -> resultSet.getInt("student_id"));
+  }
+
+  @FunctionalInterface
+  public interface EnrollmentHandler {
+
+    void accept(int studentId, int courseId);
+
+  }
+
+}
@@ -0,0 +1,10 @@
+package ua.foxminded.schoolconsoleapp.repository;
+
+public enum EnrollmentResult {
+
+  ENROLLED,
+  ALREADY_ENROLLED,
+  STUDENT_NOT_FOUND,
+  COURSE_NOT_FOUND
+
+}
@@ -0,0 +1,36 @@
+package ua.foxminded.schoolconsoleapp.repository;
+
+import java.sql.PreparedStatement;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class ExportJdbcRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public long forEachRow(ExportTable table, int fetchSize, Consumer<Object[]> action) {
+    String sql = "SELECT " + String.join(", ", table.getColumns()) + " FROM "
+        + table.getTableName() + " ORDER BY " + table.getOrderBy();
+    Object[] values = new Object[table.getColumns().length];
+    long[] rows = {0};
+
+    jdbcTemplate.query(connection -> {
+      PreparedStatement statement = connection.prepareStatement(sql);
+      statement.setFetchSize(fetchSize);
+      return statement;
+    }, (RowCallbackHandler) resultSet -> {
+      for (int i = 0; i < values.length; i++) {
+        values[i] = resultSet.getObject(i + 1);
+      }
+      action.accept(values);
+      rows[0]++;
+    });
+    return rows[0];
+  }
+
+}
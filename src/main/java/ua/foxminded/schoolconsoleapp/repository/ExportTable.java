@@ -0,0 +1,23 @@
+package ua.foxminded.schoolconsoleapp.repository;
+
+import lombok.Getter;
+
+@Getter
+public enum ExportTable {
+
+  GROUPS("groups", "group_id", "group_id", "group_name"),
+  COURSES("courses", "course_id", "course_id", "course_name", "course_description"),
+  STUDENTS("students", "student_id", "student_id", "group_id", "first_name", "last_name"),
+  STUDENT_COURSES("student_courses", "student_id, course_id", "student_id", "course_id");
+
+  private final String tableName;
+  private final String orderBy;
+  private final String[] columns;
+
+  ExportTable(String tableName, String orderBy, String... columns) {
+    this.tableName = tableName;
+    this.orderBy = orderBy;
+    this.columns = columns;
+  }
+
+}
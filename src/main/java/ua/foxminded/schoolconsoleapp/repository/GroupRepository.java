@@ -1,13 +1,32 @@
 package ua.foxminded.schoolconsoleapp.repository;
 
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.repository.projection.GroupSize;
 
 public interface GroupRepository extends JpaRepository<Group, Integer> {
 
   @Query("SELECT g FROM Group g JOIN g.students s GROUP BY g HAVING COUNT(s) <= :maxStudents")
   List<Group> findGroupsWithLessOrEqualStudent(long maxStudents);
 
+  @Query("SELECT new ua.foxminded.schoolconsoleapp.repository.projection.GroupSize("
+      + "g.id, g.groupName, COUNT(s)) FROM Group g LEFT JOIN g.students s "
+      + "GROUP BY g.id, g.groupName")
+  List<GroupSize> findGroupSizes();
+
+  Slice<Group> findByIdGreaterThanOrderByIdAsc(int afterId, Pageable pageable);
+
+  @Query("SELECT g.id FROM Group g")
+  Set<Integer> findAllGroupIds();
+
+  @Modifying
+  @Query(value = "DELETE FROM groups WHERE group_id = :groupId", nativeQuery = true)
+  int deleteGroupById(int groupId);
+
 }
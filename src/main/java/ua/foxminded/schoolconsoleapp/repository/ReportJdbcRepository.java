@@ -0,0 +1,43 @@
+package ua.foxminded.schoolconsoleapp.repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class ReportJdbcRepository {
+
+  private static final String SELECT_STUDENT_ENROLLMENTS =
+      "SELECT s.student_id, s.group_id, "
+          + "ARRAY_AGG(sc.course_id) FILTER (WHERE sc.course_id IS NOT NULL) AS course_ids "
+          + "FROM students s LEFT JOIN student_courses sc ON sc.student_id = s.student_id "
+          + "GROUP BY s.student_id, s.group_id";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public void forEachStudentEnrollment(int fetchSize, StudentEnrollmentHandler handler) {
+    jdbcTemplate.query(connection -> {
+      PreparedStatement statement = connection.prepareStatement(SELECT_STUDENT_ENROLLMENTS);
+      statement.setFetchSize(fetchSize);
+      return statement;
+    }, (RowCallbackHandler) resultSet -> {
+      int groupId = resultSet.getInt("group_id");
+      Integer ownerGroupId = resultSet.wasNull() ? null : groupId;
+      Array courseIds = resultSet.getArray("course_ids");
+      handler.accept(resultSet.getInt("student_id"), ownerGroupId,
+          courseIds == null ? new Integer[0] : (Integer[]) courseIds.getArray());
+    });
+  }
+
+  @FunctionalInterface
+  public interface StudentEnrollmentHandler {
+
+    void accept(int studentId, Integer groupId, Integer[] courseIds);
+
+  }
+
+}
@@ -0,0 +1,120 @@
+package ua.foxminded.schoolconsoleapp.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class SeedJdbcRepository {
+
+  private static final String LOCK_TABLES =
+      "LOCK TABLE groups, courses, students, student_courses IN EXCLUSIVE MODE";
+
+  private static final String SELECT_MAX_GROUP_ID = "SELECT COALESCE(MAX(group_id), 0) FROM groups";
+  private static final String SELECT_MAX_COURSE_ID =
+      "SELECT COALESCE(MAX(course_id), 0) FROM courses";
+  private static final String SELECT_MAX_STUDENT_ID =
+      "SELECT COALESCE(MAX(student_id), 0) FROM students";
+
+  private static final String COPY_GROUPS =
+      "COPY groups (group_id, group_name) FROM STDIN WITH (FORMAT csv)";
+  private static final String COPY_COURSES =
+      "COPY courses (course_id, course_name, course_description) FROM STDIN WITH (FORMAT csv)";
+  private static final String COPY_STUDENTS =
+      "COPY students (student_id, group_id, first_name, last_name) FROM STDIN WITH (FORMAT csv)";
+  private static final String COPY_STUDENT_COURSES =
+      "COPY student_courses (student_id, course_id) FROM STDIN WITH (FORMAT csv)";
+
+  private static final String RESET_ID_SEQUENCES = "SELECT "
+      + resetSequence("groups", "group_id") + ", "
+      + resetSequence("courses", "course_id") + ", "
+      + resetSequence("students", "student_id");
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public void lockSchoolTables() {
+    jdbcTemplate.execute(LOCK_TABLES);
+  }
+
+  public int findMaxGroupId() {
+    return jdbcTemplate.queryForObject(SELECT_MAX_GROUP_ID, Integer.class);
+  }
+
+  public int findMaxCourseId() {
+    return jdbcTemplate.queryForObject(SELECT_MAX_COURSE_ID, Integer.class);
+  }
+
+  public int findMaxStudentId() {
+    return jdbcTemplate.queryForObject(SELECT_MAX_STUDENT_ID, Integer.class);
+  }
+
+  public void copyGroups(CsvRowSource rows, int bufferSize) {
+    copy(COPY_GROUPS, rows, bufferSize);
+  }
+
+  public void copyCourses(CsvRowSource rows, int bufferSize) {
+    copy(COPY_COURSES, rows, bufferSize);
+  }
+
+  public void copyStudents(CsvRowSource rows, int bufferSize) {
+    copy(COPY_STUDENTS, rows, bufferSize);
+  }
+
+  public void copyEnrollments(CsvRowSource rows, int bufferSize) {
+    copy(COPY_STUDENT_COURSES, rows, bufferSize);
+  }
+
+  public void resetIdSequences() {
+    jdbcTemplate.execute(RESET_ID_SEQUENCES);
+  }
+
+  private void copy(String sql, CsvRowSource rows, int bufferSize) {
+    jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+      CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+      try {
+        StringBuilder buffer = new StringBuilder(bufferSize + bufferSize / 8);
+        while (rows.appendRows(buffer)) {
+          if (buffer.length() >= bufferSize) {
+            writeToCopy(copyIn, buffer);
+          }
+        }
+        writeToCopy(copyIn, buffer);
+        copyIn.endCopy();
+        return null;
+      } finally {
+        if (copyIn.isActive()) {
+          copyIn.cancelCopy();
+        }
+      }
+    });
+  }
+
+  private void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+    if (buffer.length() == 0) {
+      return;
+    }
+    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+    copyIn.writeToCopy(bytes, 0, bytes.length);
+    buffer.setLength(0);
+  }
+
+  private static String resetSequence(String table, String idColumn) {
+    return "setval(pg_get_serial_sequence('" + table + "', '" + idColumn + "'), "
+        + "(SELECT COALESCE(MAX(" + idColumn + "), 1) FROM " + table + "), "
+        + "(SELECT COUNT(*) > 0 FROM " + table + "))";
+  }
+
+  @FunctionalInterface
+  public interface CsvRowSource {
+
+    boolean appendRows(StringBuilder buffer);
+
+  }
+
+}
@@ -0,0 +1,172 @@
+package ua.foxminded.schoolconsoleapp.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import ua.foxminded.schoolconsoleapp.entitу.Student;
+
+@Repository
+@RequiredArgsConstructor
+public class StudentJdbcRepository {
+
+  private static final String INSERT_STUDENT =
+      "INSERT INTO students (group_id, first_name, last_name) VALUES (?, ?, ?)";
+  private static final String COPY_STUDENTS =
+      "COPY students (group_id, first_name, last_name) FROM STDIN WITH (FORMAT csv)";
+
+  private static final String SELECT_STUDENTS_BY_IDS =
+      "SELECT student_id, first_name, last_name FROM students WHERE student_id = ANY (?) "
+          + "ORDER BY student_id";
+
+  private static final String COUNT_DELETED_PER_GROUP =
+      "SELECT group_id, COUNT(*) AS deleted FROM deleted GROUP BY group_id";
+  private static final String DELETE_STUDENTS_BY_IDS =
+      "WITH deleted AS (DELETE FROM students WHERE student_id = ANY (?) RETURNING group_id) "
+          + COUNT_DELETED_PER_GROUP;
+  private static final String DELETE_STUDENTS_IN_RANGE =
+      "WITH deleted AS (DELETE FROM students WHERE student_id IN "
+          + "(SELECT student_id FROM students WHERE student_id BETWEEN ? AND ? "
+          + "ORDER BY student_id LIMIT ?) RETURNING group_id) "
+          + COUNT_DELETED_PER_GROUP;
+  private static final String DELETE_STUDENTS_IN_GROUP =
+      "WITH deleted AS (DELETE FROM students WHERE student_id IN "
+          + "(SELECT student_id FROM students WHERE group_id = ? ORDER BY student_id LIMIT ?) "
+          + "RETURNING group_id) "
+          + COUNT_DELETED_PER_GROUP;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public int forEachStudentById(int[] studentIds, int fetchSize, Consumer<Student> action) {
+    if (studentIds.length == 0) {
+      return 0;
+    }
+    int[] rows = {0};
+    jdbcTemplate.query(connection -> {
+      PreparedStatement statement = connection.prepareStatement(SELECT_STUDENTS_BY_IDS);
+      statement.setFetchSize(fetchSize);
+      statement.setArray(1, connection.createArrayOf("integer",
+          Arrays.stream(studentIds).boxed().toArray()));
+      return statement;
+    }, (RowCallbackHandler) resultSet -> {
+      action.accept(Student.builder()
+          .withId(resultSet.getInt("student_id"))
+          .withFirstName(resultSet.getString("first_name"))
+          .withLastName(resultSet.getString("last_name"))
+          .build());
+      rows[0]++;
+    });
+    return rows[0];
+  }
+
+  public Map<Integer, Integer> deleteByIds(Collection<Integer> studentIds) {
+    if (studentIds.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    return deleteCountingPerGroup(DELETE_STUDENTS_BY_IDS, statement -> statement.setArray(1,
+        statement.getConnection().createArrayOf("integer", studentIds.toArray())));
+  }
+
+  public Map<Integer, Integer> deleteInRange(int fromStudentId, int toStudentId, int limit) {
+    return deleteCountingPerGroup(DELETE_STUDENTS_IN_RANGE, statement -> {
+      statement.setInt(1, fromStudentId);
+      statement.setInt(2, toStudentId);
+      statement.setInt(3, limit);
+    });
+  }
+
+  public Map<Integer, Integer> deleteInGroup(int groupId, int limit) {
+    return deleteCountingPerGroup(DELETE_STUDENTS_IN_GROUP, statement -> {
+      statement.setInt(1, groupId);
+      statement.setInt(2, limit);
+    });
+  }
+
+  public int insertBatch(List<Student> students) {
+    jdbcTemplate.batchUpdate(INSERT_STUDENT, students, students.size(), (statement, student) -> {
+      if (student.getOwnerGroup() == null) {
+        statement.setNull(1, Types.INTEGER);
+      } else {
+        statement.setInt(1, student.getOwnerGroup().getId());
+      }
+      statement.setString(2, student.getFirstName());
+      statement.setString(3, student.getLastName());
+    });
+    return students.size();
+  }
+
+  public long copyStudents(Iterator<Student> students, int bufferedRows) {
+    Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+      CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STUDENTS);
+      try {
+        StringBuilder buffer = new StringBuilder();
+        long rows = 0;
+        while (students.hasNext()) {
+          appendCsvRow(buffer, students.next());
+          if (++rows % bufferedRows == 0) {
+            writeToCopy(copyIn, buffer);
+          }
+        }
+        writeToCopy(copyIn, buffer);
+        copyIn.endCopy();
+        return rows;
+      } finally {
+        if (copyIn.isActive()) {
+          copyIn.cancelCopy();
+        }
+      }
+    });
+    return copied == null ? 0 : copied;
+  }
+
+  private Map<Integer, Integer> deleteCountingPerGroup(String sql,
+      PreparedStatementSetter parameters) {
+    Map<Integer, Integer> deletedPerGroup = new HashMap<>();
+    jdbcTemplate.query(sql, parameters, (RowCallbackHandler) resultSet -> {
+      int groupId = resultSet.getInt("group_id");
+      deletedPerGroup.put(resultSet.wasNull() ? null : groupId, resultSet.getInt("deleted"));
+    });
+    return deletedPerGroup;
+  }
+
+  private void appendCsvRow(StringBuilder buffer, Student student) {
+    if (student.getOwnerGroup() != null) {
+      buffer.append(student.getOwnerGroup().getId());
+    }
+    buffer.append(',');
+    appendCsvValue(buffer, student.getFirstName());
+    buffer.append(',');
+    appendCsvValue(buffer, student.getLastName());
+    buffer.append('\n');
+  }
+
+  private void appendCsvValue(StringBuilder buffer, String value) {
+    buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+  }
+
+  private void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+    if (buffer.length() == 0) {
+      return;
+    }
+    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+    copyIn.writeToCopy(bytes, 0, bytes.length);
+    buffer.setLength(0);
+  }
+
+}
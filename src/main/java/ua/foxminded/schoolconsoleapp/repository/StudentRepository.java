@@ -1,15 +1,36 @@
 package ua.foxminded.schoolconsoleapp.repository;
 
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ua.foxminded.schoolconsoleapp.entitу.Student;
+import ua.foxminded.schoolconsoleapp.repository.projection.StudentName;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Integer> {
 
-  @Query("SELECT s FROM Student s JOIN s.courses c Where c.courseName = :courseName")
-  List<Student> findStudentsByCourseName(String courseName);
+  Slice<Student> findByIdGreaterThanOrderByIdAsc(int afterId, Pageable pageable);
+
+  @Query("SELECT s.id AS id, s.firstName AS firstName, s.lastName AS lastName "
+      + "FROM Student s WHERE s.id IN :ids ORDER BY s.id")
+  List<StudentName> findNamesByIdIn(Collection<Integer> ids);
+
+  // Each branch is a nearest-neighbour scan of the GiST trigram index ordered by distance, so
+  // only the top matches are read instead of every row that passes the filter.
+  @Query(value = "SELECT student_id AS \"id\", first_name AS \"firstName\", "
+      + "last_name AS \"lastName\" FROM ("
+      + "(SELECT student_id, first_name, last_name, "
+      + "(first_name || ' ' || last_name) <-> :query AS distance FROM students "
+      + "WHERE (first_name || ' ' || last_name) ILIKE :pattern ORDER BY distance LIMIT :limit) "
+      + "UNION "
+      + "(SELECT student_id, first_name, last_name, "
+      + "(first_name || ' ' || last_name) <-> :query AS distance FROM students "
+      + "WHERE (first_name || ' ' || last_name) % :query ORDER BY distance LIMIT :limit)"
+      + ") matches ORDER BY distance, student_id LIMIT :limit", nativeQuery = true)
+  List<StudentName> searchByName(String query, String pattern, int limit);
 
 }
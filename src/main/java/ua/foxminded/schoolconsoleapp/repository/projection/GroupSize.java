@@ -0,0 +1,12 @@
+package ua.foxminded.schoolconsoleapp.repository.projection;
+
+import lombok.Value;
+
+@Value
+public class GroupSize {
+
+  Integer groupId;
+  String groupName;
+  Long studentCount;
+
+}
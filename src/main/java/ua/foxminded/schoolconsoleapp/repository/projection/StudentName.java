@@ -0,0 +1,11 @@
+package ua.foxminded.schoolconsoleapp.repository.projection;
+
+public interface StudentName {
+
+  Integer getId();
+
+  String getFirstName();
+
+  String getLastName();
+
+}
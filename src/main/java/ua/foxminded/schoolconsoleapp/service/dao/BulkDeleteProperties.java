@@ -0,0 +1,14 @@
+package ua.foxminded.schoolconsoleapp.service.dao;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.bulk-delete")
+@Getter
+@Setter
+public class BulkDeleteProperties {
+
+  private int chunkSize = 1000;
+
+}
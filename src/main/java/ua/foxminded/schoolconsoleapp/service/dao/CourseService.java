@@ -1,115 +1,192 @@
 package ua.foxminded.schoolconsoleapp.service.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import javax.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.schoolconsoleapp.cache.ReferenceDataCache;
 import ua.foxminded.schoolconsoleapp.entitу.Course;
-import ua.foxminded.schoolconsoleapp.entitу.Student;
+import ua.foxminded.schoolconsoleapp.index.CourseBitmapStats;
+import ua.foxminded.schoolconsoleapp.index.CourseNameTrie;
+import ua.foxminded.schoolconsoleapp.index.EnrollmentIndex;
 import ua.foxminded.schoolconsoleapp.repository.CourseRepository;
+import ua.foxminded.schoolconsoleapp.repository.EnrollmentJdbcRepository;
+import ua.foxminded.schoolconsoleapp.repository.EnrollmentResult;
 import ua.foxminded.schoolconsoleapp.repository.StudentRepository;
 import ua.foxminded.schoolconsoleapp.repository.exception.DataBaseSqlRuntimeException;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetSlice;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetToken;
+import ua.foxminded.schoolconsoleapp.transaction.AfterCommit;
+import ua.foxminded.schoolconsoleapp.transaction.TransactionTemplates;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CourseService {
 
+  private static final int ENROLLMENT_INDEX_FETCH_SIZE = 10_000;
+
   private final CourseRepository courseRepository;
   private final StudentRepository studentRepository;
+  private final EnrollmentJdbcRepository enrollmentJdbcRepository;
+  private final ReferenceDataCache referenceDataCache;
+  private final CourseNameTrie courseNameTrie;
+  private final EnrollmentIndex enrollmentIndex;
+  private final TransactionTemplate transactionTemplate;
+  private final Object enrollmentIndexLoadLock = new Object();
 
   public boolean checkStudentEnrolledInCourse(int studentId, int courseId) {
-    Long enrolled = courseRepository.checkStudentEnrolledInCourse(studentId, courseId);
+    ensureEnrollmentIndexLoaded();
+    boolean enrolled = enrollmentIndex.isEnrolled(studentId, courseId);
     log.info("Checked if student with ID {} is enrolled in course with ID {}: {}", studentId,
-        courseId, enrolled == 1);
-    return enrolled == 1;
+        courseId, enrolled);
+    return enrolled;
   }
 
   @Transactional
-  public void enrollStudentToCourse(int studentId, String courseName) {
-    Student student = studentRepository.findById(studentId)
-        .orElseThrow(
-            () -> new EntityNotFoundException(
-                "Student with ID " + studentId
-                    + " does not exist."));
-
-    Course course = courseRepository.findByCourseName(courseName)
-        .orElseThrow(() -> new DataBaseSqlRuntimeException(
-            "Course with the name '" + courseName
-                + "' does not exist."));
+  public EnrollmentResult enrollStudentToCourse(int studentId, String courseName) {
+    Course course = findCourseByName(courseName);
+    EnrollmentResult result = enrollmentJdbcRepository.enroll(studentId, course.getId());
 
-    if (courseRepository.checkStudentEnrolledInCourse(studentId, course.getId()) == 1) {
+    if (result == EnrollmentResult.STUDENT_NOT_FOUND) {
+      throw new EntityNotFoundException("Student with ID " + studentId + " does not exist.");
+    }
+    if (result == EnrollmentResult.COURSE_NOT_FOUND) {
+      referenceDataCache.invalidateCourses();
       throw new DataBaseSqlRuntimeException(
-          "Student with ID " + studentId + " is already enrolled in the course '" + courseName
-              + "'.");
+          "Course with the name '" + courseName + "' does not exist.");
     }
 
-    student.getCourses().add(course);
-    course.getStudents().add(student);
-
-    studentRepository.save(student);
-    courseRepository.save(course);
-
-    log.info("Enrolled student with ID {} to course '{}'", studentId, courseName);
+    if (result == EnrollmentResult.ENROLLED) {
+      AfterCommit.execute(() -> enrollmentIndex.enroll(studentId, course.getId()));
+    }
+    log.info("Enrollment of student with ID {} to course '{}': {}", studentId, courseName,
+        result);
+    return result;
   }
 
   @Transactional
   public void removeStudentFromCourse(int studentId, String courseName) {
-    Student student = studentRepository.findById(studentId)
-        .orElseThrow(
-            () -> new EntityNotFoundException(
-                "Student with ID " + studentId
-                    + " does not exist."));
+    Course course = findExistingCourse(studentId, courseName);
 
-    Course course = courseRepository.findByCourseName(courseName)
-        .orElseThrow(() -> new DataBaseSqlRuntimeException(
-            "Course with the name '" + courseName
-                + "' does not exist."));
-
-    if (courseRepository.checkStudentEnrolledInCourse(studentId, course.getId()) == 0) {
+    if (!enrollmentJdbcRepository.unenroll(studentId, course.getId())) {
       throw new DataBaseSqlRuntimeException(
           "Student with ID " + studentId + " is not enrolled in the course '" + courseName + "'.");
     }
+    AfterCommit.execute(() -> enrollmentIndex.unenroll(studentId, course.getId()));
 
-    student.getCourses().remove(course);
-    course.getStudents().remove(student);
+    log.info("Removed student with ID {} from course '{}'", studentId, courseName);
+  }
 
-    studentRepository.save(student);
-    courseRepository.save(course);
+  @Transactional
+  public int enrollStudentsToCourse(Collection<Integer> studentIds, String courseName) {
+    Course course = findCourseByName(courseName);
+    List<Integer> enrolled = enrollmentJdbcRepository.enrollAll(course.getId(), studentIds);
+    if (!enrolled.isEmpty()) {
+      AfterCommit.execute(() -> enrollmentIndex.enrollAll(course.getId(), enrolled));
+    }
 
-    log.info("Removed student with ID {} from course '{}'", studentId, courseName);
+    log.info("Enrolled {} of {} students to course '{}'", enrolled.size(), studentIds.size(),
+        courseName);
+    return enrolled.size();
+  }
+
+  @Transactional
+  public int removeStudentsFromCourse(Collection<Integer> studentIds, String courseName) {
+    Course course = findCourseByName(courseName);
+    List<Integer> removed = enrollmentJdbcRepository.unenrollAll(course.getId(), studentIds);
+    if (!removed.isEmpty()) {
+      AfterCommit.execute(() -> enrollmentIndex.unenrollAll(course.getId(), removed));
+    }
+
+    log.info("Removed {} of {} students from course '{}'", removed.size(), studentIds.size(),
+        courseName);
+    return removed.size();
   }
 
   public Optional<Course> getCourseIdByName(String courseName) {
     log.info("Retrieving course ID by name: {}", courseName);
-    return courseRepository.findByCourseName(courseName);
+    return referenceDataCache.getCourseByName(courseName, courseRepository::findByCourseName);
+  }
+
+  public Optional<String> resolveCourseName(String courseName) {
+    ensureCourseNameIndexLoaded();
+    return courseNameTrie.resolve(courseName);
+  }
+
+  public List<String> completeCourseName(String prefix, int limit) {
+    ensureCourseNameIndexLoaded();
+    return courseNameTrie.complete(prefix, limit);
+  }
+
+  public void rebuildCourseNameIndex() {
+    List<Course> courses = courseRepository.findAll();
+    courseNameTrie.rebuild(courses);
+    log.info("Course name index rebuilt for {} courses", courses.size());
+  }
+
+  // Reads the primary: a snapshot from a lagging replica would miss writes whose index updates
+  // ran before the rebuild, and nothing would bring them back.
+  public void rebuildEnrollmentIndex() {
+    TransactionTemplates.newReadWrite(transactionTemplate).executeWithoutResult(status ->
+        enrollmentIndex.rebuild(handler ->
+            enrollmentJdbcRepository.forEachEnrollment(ENROLLMENT_INDEX_FETCH_SIZE, handler)));
+    log.info("Enrollment index rebuilt for {} courses", enrollmentIndex.getStatistics().size());
+  }
+
+  public List<CourseBitmapStats> getEnrollmentIndexStatistics() {
+    ensureEnrollmentIndexLoaded();
+    return enrollmentIndex.getStatistics();
+  }
+
+  public int[] getEnrolledStudentIds(String courseName, int afterStudentId, int limit) {
+    Optional<Course> course = getCourseIdByName(courseName);
+    if (!course.isPresent()) {
+      return new int[0];
+    }
+    ensureEnrollmentIndexLoaded();
+    return enrollmentIndex.getStudentIds(course.get().getId(), afterStudentId, limit);
   }
 
   public List<Course> getEnrolledCoursesForStudent(int studentId) {
     log.info("Retrieving courses for student with ID {}", studentId);
-    return courseRepository.getEnrolledCoursesForStudent(studentId);
+    ensureEnrollmentIndexLoaded();
+    return enrollmentIndex.getCourseIds(studentId).stream()
+        .map(courseId -> referenceDataCache.getCourseById(courseId, this::loadCourse))
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .collect(Collectors.toList());
   }
 
   @Transactional
   public void addCourse(Course course) {
     log.info("Adding new course: {}", course);
     courseRepository.save(course);
+    AfterCommit.execute(() -> {
+      referenceDataCache.invalidateCourses();
+      courseNameTrie.put(course.getId(), course.getCourseName());
+    });
   }
 
   public Optional<Course> getCourseById(Integer id) {
     log.info("Retrieving course by ID: {}", id);
-    return courseRepository.findById(id);
+    return referenceDataCache.getCourseById(id, this::loadCourse);
   }
 
+  @Transactional(readOnly = true)
   public List<Course> getAllCourses() {
     log.info("Retrieving all courses");
     return courseRepository.findAll();
   }
 
+  @Transactional(readOnly = true)
   public List<Course> getAllCourses(Integer page, Integer itemsPerPage) {
     log.info("Retrieving all courses with pagination: page {}, itemsPerPage {}", page,
         itemsPerPage);
@@ -118,16 +195,32 @@ public class CourseService {
     return courseRepository.findAll(pageable).getContent();
   }
 
+  @Transactional(readOnly = true)
+  public KeysetSlice<Course> getCoursesAfter(String continuationToken, int limit) {
+    int afterId = KeysetToken.decode(continuationToken);
+    log.info("Retrieving up to {} courses after ID {}", limit, afterId);
+    return KeysetSlice.of(courseRepository.findByIdGreaterThanOrderByIdAsc(afterId,
+        KeysetSlice.pageable(limit)), Course::getId);
+  }
+
   @Transactional
   public void updateCourse(Course course) {
     log.info("Updating course: {}", course);
     courseRepository.save(course);
+    AfterCommit.execute(() -> {
+      referenceDataCache.invalidateCourses();
+      courseNameTrie.put(course.getId(), course.getCourseName());
+    });
   }
 
   @Transactional
   public boolean deleteCourse(Integer id) {
-    if (courseRepository.existsById(id)) {
-      courseRepository.deleteById(id);
+    if (courseRepository.deleteCourseById(id) == 1) {
+      AfterCommit.execute(() -> {
+        referenceDataCache.invalidateCourses();
+        enrollmentIndex.removeCourse(id);
+        courseNameTrie.remove(id);
+      });
       log.info("Course with id {} was successfully deleted.", id);
       return true;
     } else {
@@ -136,4 +229,42 @@ public class CourseService {
     }
   }
 
+  private void ensureCourseNameIndexLoaded() {
+    if (!courseNameTrie.isLoaded()) {
+      rebuildCourseNameIndex();
+    }
+  }
+
+  // Checked again under the lock, before a connection is taken, so callers waiting for a reload
+  // neither hold a connection nor start another reload once it is done.
+  private void ensureEnrollmentIndexLoaded() {
+    if (enrollmentIndex.isLoaded()) {
+      return;
+    }
+    synchronized (enrollmentIndexLoadLock) {
+      if (!enrollmentIndex.isLoaded()) {
+        rebuildEnrollmentIndex();
+      }
+    }
+  }
+
+  // findById runs in the repository's own read-only transaction, which would route it to a
+  // replica; a lagging replica must not be cached for the full TTL.
+  private Optional<Course> loadCourse(Integer id) {
+    return transactionTemplate.execute(status -> courseRepository.findById(id));
+  }
+
+  private Course findExistingCourse(int studentId, String courseName) {
+    if (!studentRepository.existsById(studentId)) {
+      throw new EntityNotFoundException("Student with ID " + studentId + " does not exist.");
+    }
+    return findCourseByName(courseName);
+  }
+
+  private Course findCourseByName(String courseName) {
+    return referenceDataCache.getCourseByName(courseName, courseRepository::findByCourseName)
+        .orElseThrow(() -> new DataBaseSqlRuntimeException(
+            "Course with the name '" + courseName + "' does not exist."));
+  }
+
 }
@@ -0,0 +1,20 @@
+package ua.foxminded.schoolconsoleapp.service.dao;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class DeleteReport {
+
+  private final long deletedRows;
+  private final int chunks;
+  private final long elapsedMillis;
+
+  public double getRowsPerSecond() {
+    return elapsedMillis == 0 ? deletedRows : deletedRows * 1000.0 / elapsedMillis;
+  }
+
+}
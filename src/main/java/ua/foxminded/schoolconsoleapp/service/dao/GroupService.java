@@ -1,14 +1,24 @@
 package ua.foxminded.schoolconsoleapp.service.dao;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.schoolconsoleapp.cache.ReferenceDataCache;
 import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.index.GroupSizeIndex;
 import ua.foxminded.schoolconsoleapp.repository.GroupRepository;
+import ua.foxminded.schoolconsoleapp.repository.projection.GroupSize;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetSlice;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetToken;
+import ua.foxminded.schoolconsoleapp.transaction.AfterCommit;
+import ua.foxminded.schoolconsoleapp.transaction.TransactionTemplates;
 
 @Service
 @RequiredArgsConstructor
@@ -16,28 +26,65 @@ import ua.foxminded.schoolconsoleapp.repository.GroupRepository;
 public class GroupService {
 
   private final GroupRepository groupRepository;
+  private final GroupSizeIndex groupSizeIndex;
+  private final ReferenceDataCache referenceDataCache;
+  private final TransactionTemplate transactionTemplate;
+  private final Object groupSizeIndexLoadLock = new Object();
 
   public List<Group> findGroupsWithLessOrEqualStudent(int maxStudents) {
     log.info("Finding groups with less or equal to {} students", maxStudents);
-    return groupRepository.findGroupsWithLessOrEqualStudent(maxStudents);
+    ensureGroupSizeIndexLoaded();
+    return groupSizeIndex.findGroupsWithLessOrEqualStudent(maxStudents);
+  }
+
+  // Reads the primary in a new transaction, as it is also called after commit.
+  public void rebuildGroupSizeIndex() {
+    int groups = TransactionTemplates.newReadWrite(transactionTemplate).execute(status ->
+        groupSizeIndex.rebuild(groupRepository::findGroupSizes));
+    log.info("Group size index rebuilt for {} groups", groups);
+  }
+
+  public boolean checkGroupSizeIndex() {
+    Map<Integer, Integer> expected = groupRepository.findGroupSizes().stream()
+        .collect(Collectors.toMap(GroupSize::getGroupId,
+            groupSize -> groupSize.getStudentCount().intValue()));
+    Map<Integer, Integer> actual = groupSizeIndex.getSizes();
+
+    if (expected.equals(actual)) {
+      log.info("Group size index is consistent with the database");
+      return true;
+    }
+
+    log.warn("Group size index is inconsistent with the database: expected {}, indexed {}",
+        expected, actual);
+    rebuildGroupSizeIndex();
+    return false;
   }
 
   @Transactional
   public void addGroup(Group group) {
     log.info("Adding new group: {}", group);
     groupRepository.save(group);
+    AfterCommit.execute(() -> {
+      groupSizeIndex.putGroup(group.getId(), group.getGroupName());
+      referenceDataCache.invalidateGroups();
+    });
   }
 
   public Optional<Group> getGroupById(Integer id) {
     log.info("Retrieving group by ID: {}", id);
-    return groupRepository.findById(id);
+    // Loaded in a read-write transaction so a lagging replica is never cached for the full TTL.
+    return referenceDataCache.getGroupById(id,
+        key -> transactionTemplate.execute(status -> groupRepository.findById(key)));
   }
 
+  @Transactional(readOnly = true)
   public List<Group> getAllGroups() {
     log.info("Retrieving all groups");
     return groupRepository.findAll();
   }
 
+  @Transactional(readOnly = true)
   public List<Group> getAllGroups(Integer page, Integer itemsPerPage) {
     log.info("Retrieving all groups with pagination: page {}, itemsPerPage {}", page, itemsPerPage);
     Pageable pageable = Pageable.ofSize(itemsPerPage).withPage(page - 1);
@@ -45,16 +92,31 @@ public class GroupService {
     return groupRepository.findAll(pageable).getContent();
   }
 
+  @Transactional(readOnly = true)
+  public KeysetSlice<Group> getGroupsAfter(String continuationToken, int limit) {
+    int afterId = KeysetToken.decode(continuationToken);
+    log.info("Retrieving up to {} groups after ID {}", limit, afterId);
+    return KeysetSlice.of(groupRepository.findByIdGreaterThanOrderByIdAsc(afterId,
+        KeysetSlice.pageable(limit)), Group::getId);
+  }
+
   @Transactional
   public void updateGroup(Group group) {
     log.info("Updating group: {}", group);
     groupRepository.save(group);
+    AfterCommit.execute(() -> {
+      groupSizeIndex.putGroup(group.getId(), group.getGroupName());
+      referenceDataCache.invalidateGroups();
+    });
   }
 
   @Transactional
   public boolean deleteGroup(Integer id) {
-    if (groupRepository.existsById(id)) {
-      groupRepository.deleteById(id);
+    if (groupRepository.deleteGroupById(id) == 1) {
+      AfterCommit.execute(() -> {
+        groupSizeIndex.removeGroup(id);
+        referenceDataCache.invalidateGroups();
+      });
       log.info("Group with id {} was successfully deleted.", id);
       return true;
     } else {
@@ -63,4 +125,16 @@ public class GroupService {
     }
   }
 
+  // Re-checked under the lock before a connection is taken, so concurrent callers share a reload.
+  private void ensureGroupSizeIndexLoaded() {
+    if (groupSizeIndex.isLoaded()) {
+      return;
+    }
+    synchronized (groupSizeIndexLoadLock) {
+      if (!groupSizeIndex.isLoaded()) {
+        rebuildGroupSizeIndex();
+      }
+    }
+  }
+
 }
@@ -0,0 +1,15 @@
+package ua.foxminded.schoolconsoleapp.service.dao;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.roster")
+@Getter
+@Setter
+public class RosterProperties {
+
+  private int pageSize = 1000;
+  private int fetchSize = 500;
+
+}
@@ -1,7 +1,19 @@
 package ua.foxminded.schoolconsoleapp.service.dao;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -10,8 +22,19 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.schoolconsoleapp.entitу.Course;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
 import ua.foxminded.schoolconsoleapp.entitу.Student;
+import ua.foxminded.schoolconsoleapp.index.EnrollmentIndex;
+import ua.foxminded.schoolconsoleapp.index.GroupSizeIndex;
+import ua.foxminded.schoolconsoleapp.repository.StudentJdbcRepository;
 import ua.foxminded.schoolconsoleapp.repository.StudentRepository;
+import ua.foxminded.schoolconsoleapp.repository.projection.StudentName;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetSlice;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetToken;
+import ua.foxminded.schoolconsoleapp.transaction.AfterCommit;
+import ua.foxminded.schoolconsoleapp.transaction.TransactionTemplates;
 
 @Service
 @RequiredArgsConstructor
@@ -19,28 +42,102 @@ import ua.foxminded.schoolconsoleapp.repository.StudentRepository;
 public class StudentService {
 
   private final StudentRepository studentRepository;
+  private final StudentJdbcRepository studentJdbcRepository;
+  private final GroupSizeIndex groupSizeIndex;
+  private final RosterProperties rosterProperties;
+  private final BulkDeleteProperties bulkDeleteProperties;
+  private final TransactionTemplate transactionTemplate;
+  private final EnrollmentIndex enrollmentIndex;
+  private final CourseService courseService;
 
-  public List<Student> findStudentsByCourseName(String courseName) {
+  // The student IDs come from the enrollment index; only their names are read. Not transactional,
+  // so nothing holds a connection while the index is being reloaded.
+  public List<StudentName> findStudentsByCourseName(String courseName) {
     log.info("Searching for students enrolled in course: {}", courseName);
-    return studentRepository.findStudentsByCourseName(courseName);
+    int pageSize = rosterProperties.getPageSize();
+    List<StudentName> students = new ArrayList<>();
+    int[] studentIds;
+    int afterStudentId = 0;
+    do {
+      studentIds = courseService.getEnrolledStudentIds(courseName, afterStudentId, pageSize);
+      if (studentIds.length > 0) {
+        students.addAll(studentRepository.findNamesByIdIn(
+            Arrays.stream(studentIds).boxed().collect(Collectors.toList())));
+        afterStudentId = studentIds[studentIds.length - 1];
+      }
+    } while (studentIds.length == pageSize);
+    return students;
+  }
+
+  @Transactional(readOnly = true)
+  public List<StudentName> searchByName(String query, int limit) {
+    String name = query == null ? "" : query.trim();
+    if (name.isEmpty() || limit <= 0) {
+      return Collections.emptyList();
+    }
+
+    log.info("Searching for students by name: {}", name);
+    return studentRepository.searchByName(name, "%" + escapeLikePattern(name) + "%", limit);
+  }
+
+  // The page of student IDs comes from the enrollment index, before the read-only transaction
+  // that streams the rows is opened.
+  public String forEachStudentByCourseName(String courseName, String continuationToken,
+      Consumer<Student> action) {
+    int afterStudentId = KeysetToken.decode(continuationToken);
+    int pageSize = rosterProperties.getPageSize();
+    int[] studentIds = courseService.getEnrolledStudentIds(courseName, afterStudentId, pageSize);
+
+    Integer rows = TransactionTemplates.readOnly(transactionTemplate).execute(status ->
+        studentJdbcRepository.forEachStudentById(studentIds, rosterProperties.getFetchSize(),
+            action));
+
+    log.info("Streamed {} students enrolled in course '{}' after student ID {}", rows,
+        courseName, afterStudentId);
+    return studentIds.length < pageSize ? null
+        : KeysetToken.encode(studentIds[studentIds.length - 1]);
+  }
+
+  public long forEachStudentByCourseName(String courseName, Consumer<Student> action) {
+    long[] rows = {0};
+    String continuationToken = null;
+    do {
+      continuationToken = forEachStudentByCourseName(courseName, continuationToken, student -> {
+        rows[0]++;
+        action.accept(student);
+      });
+    } while (continuationToken != null);
+    return rows[0];
   }
 
   @Transactional
   public void addStudent(Student student) {
     log.info("Adding new student: {}", student);
     studentRepository.save(student);
+
+    Integer groupId = getGroupId(student);
+    List<Integer> courseIds = getCourseIds(student);
+    AfterCommit.execute(() -> {
+      groupSizeIndex.addStudent(groupId);
+      if (!courseIds.isEmpty()) {
+        enrollmentIndex.setStudentCourses(student.getId(), courseIds);
+      }
+    });
   }
 
+  @Transactional(readOnly = true)
   public Optional<Student> getStudentById(Integer id) {
     log.info("Retrieving student by ID: {}", id);
     return studentRepository.findById(id);
   }
 
+  @Transactional(readOnly = true)
   public List<Student> getAllStudents() {
     log.info("Retrieving all students");
     return studentRepository.findAll();
   }
 
+  @Transactional(readOnly = true)
   public List<Student> getAllStudents(Integer page, Integer itemsPerPage) {
     log.info("Retrieving all students with pagination: page {}, itemsPerPage {}", page,
         itemsPerPage);
@@ -50,16 +147,44 @@ public class StudentService {
     return studentPage.getContent();
   }
 
+  @Transactional(readOnly = true)
+  public KeysetSlice<Student> getStudentsAfter(String continuationToken, int limit) {
+    int afterId = KeysetToken.decode(continuationToken);
+    log.info("Retrieving up to {} students after ID {}", limit, afterId);
+    return KeysetSlice.of(studentRepository.findByIdGreaterThanOrderByIdAsc(afterId,
+        KeysetSlice.pageable(limit)), Student::getId);
+  }
+
   @Transactional
   public void updateStudent(Student student) {
     log.info("Updating student: {}", student);
+    Integer previousGroupId = Optional.ofNullable(student.getId())
+        .flatMap(studentRepository::findById)
+        .map(this::getGroupId)
+        .orElse(null);
     studentRepository.save(student);
+
+    Integer groupId = getGroupId(student);
+    if (!Objects.equals(previousGroupId, groupId)) {
+      AfterCommit.execute(() -> {
+        groupSizeIndex.removeStudent(previousGroupId);
+        groupSizeIndex.addStudent(groupId);
+      });
+    }
+    // Saving replaces the enrollments with the given courses, none when they are not set.
+    List<Integer> courseIds = getCourseIds(student);
+    AfterCommit.execute(() -> enrollmentIndex.setStudentCourses(student.getId(), courseIds));
   }
 
   @Transactional
   public boolean deleteStudent(Integer id) {
-    if (studentRepository.existsById(id)) {
-      studentRepository.deleteById(id);
+    Map<Integer, Integer> deletedPerGroup =
+        studentJdbcRepository.deleteByIds(Collections.singletonList(id));
+    if (!deletedPerGroup.isEmpty()) {
+      AfterCommit.execute(() -> {
+        deletedPerGroup.forEach(groupSizeIndex::removeStudents);
+        enrollmentIndex.removeStudents(Collections.singletonList(id));
+      });
       log.info("Student with ID {} was successfully deleted.", id);
       return true;
     } else {
@@ -68,4 +193,91 @@ public class StudentService {
     }
   }
 
+  public DeleteReport deleteStudents(Collection<Integer> ids) {
+    List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+    int chunkSize = getDeleteChunkSize();
+    long start = System.nanoTime();
+    long deleted = 0;
+    int chunks = 0;
+
+    for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+      List<Integer> chunk = distinctIds.subList(from,
+          Math.min(distinctIds.size(), from + chunkSize));
+      deleted += deleteChunk(() -> studentJdbcRepository.deleteByIds(chunk),
+          () -> enrollmentIndex.removeStudents(chunk));
+      chunks++;
+    }
+
+    return reportDeleted("by ID list", deleted, chunks, start);
+  }
+
+  public DeleteReport deleteStudentsInRange(int fromId, int toId) {
+    return deleteUntilExhausted("with IDs " + fromId + "-" + toId,
+        limit -> studentJdbcRepository.deleteInRange(fromId, toId, limit));
+  }
+
+  public DeleteReport deleteStudentsInGroup(int groupId) {
+    return deleteUntilExhausted("in group " + groupId,
+        limit -> studentJdbcRepository.deleteInGroup(groupId, limit));
+  }
+
+  private DeleteReport deleteUntilExhausted(String description,
+      IntFunction<Map<Integer, Integer>> deleteChunk) {
+    int chunkSize = getDeleteChunkSize();
+    long start = System.nanoTime();
+    long deleted = 0;
+    int chunks = 0;
+    int chunkDeleted;
+
+    do {
+      chunkDeleted = deleteChunk(() -> deleteChunk.apply(chunkSize),
+          enrollmentIndex::invalidate);
+      deleted += chunkDeleted;
+      chunks++;
+    } while (chunkDeleted == chunkSize);
+
+    return reportDeleted(description, deleted, chunks, start);
+  }
+
+  private int deleteChunk(Supplier<Map<Integer, Integer>> delete, Runnable removeEnrollments) {
+    Integer deleted = transactionTemplate.execute(status -> {
+      Map<Integer, Integer> deletedPerGroup = delete.get();
+      AfterCommit.execute(() -> {
+        deletedPerGroup.forEach(groupSizeIndex::removeStudents);
+        if (!deletedPerGroup.isEmpty()) {
+          removeEnrollments.run();
+        }
+      });
+      return deletedPerGroup.values().stream().mapToInt(Integer::intValue).sum();
+    });
+    return deleted == null ? 0 : deleted;
+  }
+
+  private DeleteReport reportDeleted(String description, long deleted, int chunks, long start) {
+    DeleteReport report = new DeleteReport(deleted, chunks,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    log.info("Deleted students {}: {}", description, report);
+    return report;
+  }
+
+  private int getDeleteChunkSize() {
+    return Math.max(1, bulkDeleteProperties.getChunkSize());
+  }
+
+  private static String escapeLikePattern(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+
+  private List<Integer> getCourseIds(Student student) {
+    if (student.getCourses() == null) {
+      return Collections.emptyList();
+    }
+    return student.getCourses().stream().map(Course::getId).collect(Collectors.toList());
+  }
+
+  private Integer getGroupId(Student student) {
+    Group group = student.getOwnerGroup();
+    return group == null ? null : group.getId();
+  }
+
 }
@@ -0,0 +1,67 @@
+package ua.foxminded.schoolconsoleapp.service.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+class ExportFileWriter implements Closeable {
+
+  private final WritableByteChannel channel;
+  private final ByteBuffer buffer;
+  private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+  private ExportFileWriter(WritableByteChannel channel, int bufferSize) {
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocateDirect(bufferSize);
+  }
+
+  static ExportFileWriter open(Path file, int bufferSize, boolean gzip) throws IOException {
+    FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    if (!gzip) {
+      return new ExportFileWriter(fileChannel, bufferSize);
+    }
+    try {
+      return new ExportFileWriter(Channels.newChannel(
+          new GZIPOutputStream(Channels.newOutputStream(fileChannel), bufferSize)), bufferSize);
+    } catch (IOException | RuntimeException e) {
+      fileChannel.close();
+      throw e;
+    }
+  }
+
+  void write(CharSequence text) throws IOException {
+    CharBuffer chars = CharBuffer.wrap(text);
+    while (encoder.encode(chars, buffer, false) == CoderResult.OVERFLOW) {
+      drain();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      drain();
+    } finally {
+      channel.close();
+    }
+  }
+
+  private void drain() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+}
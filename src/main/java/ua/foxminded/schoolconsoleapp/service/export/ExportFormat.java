@@ -0,0 +1,104 @@
+package ua.foxminded.schoolconsoleapp.service.export;
+
+import java.util.Optional;
+import lombok.Getter;
+
+@Getter
+public enum ExportFormat {
+
+  CSV("csv") {
+    @Override
+    void appendHeader(StringBuilder line, String[] columns) {
+      line.append(String.join(",", columns)).append('\n');
+    }
+
+    @Override
+    void appendRow(StringBuilder line, String[] columns, Object[] values) {
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) {
+          line.append(',');
+        }
+        if (values[i] instanceof Number) {
+          line.append(values[i]);
+        } else if (values[i] != null) {
+          line.append('"').append(values[i].toString().replace("\"", "\"\"")).append('"');
+        }
+      }
+      line.append('\n');
+    }
+  },
+
+  JSONL("jsonl") {
+    @Override
+    void appendHeader(StringBuilder line, String[] columns) {
+    }
+
+    @Override
+    void appendRow(StringBuilder line, String[] columns, Object[] values) {
+      line.append('{');
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) {
+          line.append(',');
+        }
+        line.append('"').append(columns[i]).append("\":");
+        if (values[i] == null || values[i] instanceof Number) {
+          line.append(values[i]);
+        } else {
+          appendJsonString(line, values[i].toString());
+        }
+      }
+      line.append("}\n");
+    }
+  };
+
+  private final String extension;
+
+  ExportFormat(String extension) {
+    this.extension = extension;
+  }
+
+  public static Optional<ExportFormat> fromExtension(String extension) {
+    for (ExportFormat format : values()) {
+      if (format.extension.equalsIgnoreCase(extension)) {
+        return Optional.of(format);
+      }
+    }
+    return Optional.empty();
+  }
+
+  abstract void appendHeader(StringBuilder line, String[] columns);
+
+  abstract void appendRow(StringBuilder line, String[] columns, Object[] values);
+
+  private static void appendJsonString(StringBuilder line, String value) {
+    line.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          line.append("\\\"");
+          break;
+        case '\\':
+          line.append("\\\\");
+          break;
+        case '\n':
+          line.append("\\n");
+          break;
+        case '\r':
+          line.append("\\r");
+          break;
+        case '\t':
+          line.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            line.append(String.format("\\u%04x", (int) c));
+          } else {
+            line.append(c);
+          }
+      }
+    }
+    line.append('"');
+  }
+
+}
@@ -0,0 +1,15 @@
+package ua.foxminded.schoolconsoleapp.service.export;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.export")
+@Getter
+@Setter
+public class ExportProperties {
+
+  private int fetchSize = 1000;
+  private int bufferSize = 1 << 20;
+
+}
@@ -0,0 +1,25 @@
+package ua.foxminded.schoolconsoleapp.service.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class ExportReport {
+
+  private final long exportedRows;
+  private final long writtenBytes;
+  private final long elapsedMillis;
+
+  public double getRowsPerSecond() {
+    return elapsedMillis == 0 ? exportedRows : exportedRows * 1000.0 / elapsedMillis;
+  }
+
+  public double getMegabytesPerSecond() {
+    double megabytes = writtenBytes / (1024.0 * 1024.0);
+    return elapsedMillis == 0 ? megabytes : megabytes * 1000.0 / elapsedMillis;
+  }
+
+}
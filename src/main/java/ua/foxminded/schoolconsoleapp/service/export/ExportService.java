@@ -0,0 +1,72 @@
+package ua.foxminded.schoolconsoleapp.service.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import ua.foxminded.schoolconsoleapp.repository.ExportJdbcRepository;
+import ua.foxminded.schoolconsoleapp.repository.ExportTable;
+import ua.foxminded.schoolconsoleapp.service.export.exception.ExportException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+  private static final String GZIP_EXTENSION = ".gz";
+
+  private final ExportJdbcRepository exportJdbcRepository;
+  private final ExportProperties exportProperties;
+
+  @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+  public ExportReport export(Path directory, ExportFormat format, boolean gzip) {
+    log.info("Exporting all tables to {} as {}{}", directory, format, gzip ? " (gzip)" : "");
+    long start = System.nanoTime();
+    long rows = 0;
+    long bytes = 0;
+
+    try {
+      Files.createDirectories(directory);
+      for (ExportTable table : ExportTable.values()) {
+        Path file = directory.resolve(table.getTableName() + "." + format.getExtension()
+            + (gzip ? GZIP_EXTENSION : ""));
+        try (ExportFileWriter writer = ExportFileWriter.open(file,
+            exportProperties.getBufferSize(), gzip)) {
+          rows += exportTable(table, format, writer);
+        }
+        bytes += Files.size(file);
+      }
+    } catch (IOException | UncheckedIOException e) {
+      throw new ExportException("Unable to write the export to '" + directory + "'.", e);
+    }
+
+    ExportReport report = new ExportReport(rows, bytes,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    log.info("Exported all tables to {}: {}", directory, report);
+    return report;
+  }
+
+  private long exportTable(ExportTable table, ExportFormat format, ExportFileWriter writer)
+      throws IOException {
+    StringBuilder line = new StringBuilder(256);
+    format.appendHeader(line, table.getColumns());
+    writer.write(line);
+
+    return exportJdbcRepository.forEachRow(table, exportProperties.getFetchSize(), values -> {
+      line.setLength(0);
+      format.appendRow(line, table.getColumns(), values);
+      try {
+        writer.write(line);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+}
@@ -0,0 +1,9 @@
+package ua.foxminded.schoolconsoleapp.service.export.exception;
+
+public class ExportException extends RuntimeException {
+
+  public ExportException(String message, Exception cause) {
+    super(message, cause);
+  }
+
+}
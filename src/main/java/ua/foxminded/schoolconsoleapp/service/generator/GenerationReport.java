@@ -0,0 +1,26 @@
+package ua.foxminded.schoolconsoleapp.service.generator;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class GenerationReport {
+
+  private final long groups;
+  private final long courses;
+  private final long students;
+  private final long enrollments;
+  private final long elapsedMillis;
+
+  public long getTotalRows() {
+    return groups + courses + students + enrollments;
+  }
+
+  public double getRowsPerSecond() {
+    return elapsedMillis == 0 ? getTotalRows() : getTotalRows() * 1000.0 / elapsedMillis;
+  }
+
+}
@@ -0,0 +1,21 @@
+package ua.foxminded.schoolconsoleapp.service.generator;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.generator")
+@Getter
+@Setter
+public class GeneratorProperties {
+
+  private long seed = 42;
+  private int groups = 100;
+  private int courses = 50;
+  private int students = 100_000;
+  private int minCoursesPerStudent = 1;
+  private int maxCoursesPerStudent = 3;
+  private double courseSkew = 1.0;
+  private int copyBufferSize = 1 << 20;
+
+}
@@ -0,0 +1,187 @@
+package ua.foxminded.schoolconsoleapp.service.generator;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ua.foxminded.schoolconsoleapp.cache.ReferenceDataCache;
+import ua.foxminded.schoolconsoleapp.repository.SeedJdbcRepository;
+import ua.foxminded.schoolconsoleapp.repository.SeedJdbcRepository.CsvRowSource;
+import ua.foxminded.schoolconsoleapp.service.dao.CourseService;
+import ua.foxminded.schoolconsoleapp.service.dao.GroupService;
+import ua.foxminded.schoolconsoleapp.transaction.AfterCommit;
+import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SchoolDataGenerator {
+
+  private static final String[] FIRST_NAMES = {"Amanda", "James", "David", "Robert", "Michael",
+      "Elizabeth", "Laura", "Emily", "Sarah", "Daniel", "Olivia", "William", "Sophia", "Thomas",
+      "Emma", "Joseph", "Isabella", "Charles", "Mia", "Andrew"};
+  private static final String[] LAST_NAMES = {"Williams", "Taylor", "Smith", "Wilson", "Jones",
+      "Davis", "Harris", "Brown", "Miller", "Moore", "Anderson", "Jackson", "White", "Martin",
+      "Thompson", "Garcia", "Clark", "Lewis", "Walker", "Young"};
+  private static final String[] SUBJECTS = {"Mathematics", "Biology", "Chemistry", "Physics",
+      "History", "Literature", "Geography", "Computer Science", "Art", "Music"};
+  private static final String GENERATED_COURSE_DESCRIPTION = "Generated course";
+
+  private final SeedJdbcRepository seedJdbcRepository;
+  private final GroupService groupService;
+  private final CourseService courseService;
+  private final ReferenceDataCache referenceDataCache;
+  private final GeneratorProperties generatorProperties;
+
+  @Transactional
+  public GenerationReport generate() {
+    GeneratorProperties properties = generatorProperties;
+    validate(properties);
+    log.info("Generating {} groups, {} courses and {} students with seed {}",
+        properties.getGroups(), properties.getCourses(), properties.getStudents(),
+        properties.getSeed());
+    long start = System.nanoTime();
+
+    seedJdbcRepository.lockSchoolTables();
+    int firstGroupId = seedJdbcRepository.findMaxGroupId() + 1;
+    int firstCourseId = seedJdbcRepository.findMaxCourseId() + 1;
+    int firstStudentId = seedJdbcRepository.findMaxStudentId() + 1;
+
+    Random random = new Random(properties.getSeed());
+    Random enrollmentRandom = new Random(random.nextLong());
+    int bufferSize = properties.getCopyBufferSize();
+
+    seedJdbcRepository.copyGroups(groupRows(firstGroupId, properties.getGroups(), random),
+        bufferSize);
+    seedJdbcRepository.copyCourses(courseRows(firstCourseId, properties.getCourses()),
+        bufferSize);
+    seedJdbcRepository.copyStudents(studentRows(firstStudentId, properties.getStudents(),
+        firstGroupId, properties.getGroups(), random), bufferSize);
+
+    long[] enrollments = {0};
+    seedJdbcRepository.copyEnrollments(enrollmentRows(firstStudentId, firstCourseId, properties,
+        enrollmentRandom, enrollments), bufferSize);
+    seedJdbcRepository.resetIdSequences();
+
+    GenerationReport report = new GenerationReport(properties.getGroups(),
+        properties.getCourses(), properties.getStudents(), enrollments[0],
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    log.info("Generated school data: {}", report);
+
+    AfterCommit.execute(() -> {
+      referenceDataCache.invalidateGroups();
+      referenceDataCache.invalidateCourses();
+      groupService.rebuildGroupSizeIndex();
+      courseService.rebuildCourseNameIndex();
+      courseService.rebuildEnrollmentIndex();
+    });
+    return report;
+  }
+
+  private void validate(GeneratorProperties properties) {
+    if (properties.getGroups() < 0 || properties.getCourses() < 0
+        || properties.getStudents() < 0) {
+      throw new ValidationException("Group, course and student counts must not be negative.");
+    }
+    if (properties.getMinCoursesPerStudent() < 0
+        || properties.getMaxCoursesPerStudent() < properties.getMinCoursesPerStudent()) {
+      throw new ValidationException("Courses per student must be a non-negative range.");
+    }
+  }
+
+  private CsvRowSource groupRows(int firstId, int count, Random random) {
+    int[] generated = {0};
+    return buffer -> {
+      if (generated[0] == count) {
+        return false;
+      }
+      buffer.append(firstId + generated[0]++).append(',')
+          .append((char) ('A' + random.nextInt(26))).append((char) ('A' + random.nextInt(26)))
+          .append('-').append(random.nextInt(10)).append(random.nextInt(10)).append('\n');
+      return true;
+    };
+  }
+
+  private CsvRowSource courseRows(int firstId, int count) {
+    int[] generated = {0};
+    return buffer -> {
+      if (generated[0] == count) {
+        return false;
+      }
+      int courseId = firstId + generated[0]++;
+      buffer.append(courseId).append(',')
+          .append(SUBJECTS[courseId % SUBJECTS.length]).append(' ').append(courseId).append(',')
+          .append(GENERATED_COURSE_DESCRIPTION).append('\n');
+      return true;
+    };
+  }
+
+  private CsvRowSource studentRows(int firstId, int count, int firstGroupId, int groups,
+      Random random) {
+    int[] generated = {0};
+    return buffer -> {
+      if (generated[0] == count) {
+        return false;
+      }
+      buffer.append(firstId + generated[0]++).append(',');
+      if (groups > 0) {
+        buffer.append(firstGroupId + random.nextInt(groups));
+      }
+      buffer.append(',').append(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+          .append(',').append(LAST_NAMES[random.nextInt(LAST_NAMES.length)]).append('\n');
+      return true;
+    };
+  }
+
+  private CsvRowSource enrollmentRows(int firstStudentId, int firstCourseId,
+      GeneratorProperties properties, Random random, long[] enrollments) {
+    int courses = properties.getCourses();
+    int minCourses = Math.min(properties.getMinCoursesPerStudent(), courses);
+    int maxCourses = Math.min(properties.getMaxCoursesPerStudent(), courses);
+    ZipfSampler popularity = courses > 0 ? new ZipfSampler(courses, properties.getCourseSkew())
+        : null;
+    int[] chosen = new int[maxCourses];
+    int[] generated = {0};
+
+    return buffer -> {
+      if (generated[0] == properties.getStudents()) {
+        return false;
+      }
+      int studentId = firstStudentId + generated[0]++;
+      int picks = minCourses + random.nextInt(maxCourses - minCourses + 1);
+      for (int i = 0; i < picks; i++) {
+        chosen[i] = pickDistinctCourse(popularity, random, chosen, i, courses);
+        buffer.append(studentId).append(',').append(firstCourseId + chosen[i]).append('\n');
+      }
+      enrollments[0] += picks;
+      return true;
+    };
+  }
+
+  private int pickDistinctCourse(ZipfSampler popularity, Random random, int[] chosen, int picked,
+      int courses) {
+    for (int attempt = 0; attempt < courses; attempt++) {
+      int rank = popularity.sample(random);
+      if (!contains(chosen, picked, rank)) {
+        return rank;
+      }
+    }
+    for (int rank = 0; ; rank++) {
+      if (!contains(chosen, picked, rank)) {
+        return rank;
+      }
+    }
+  }
+
+  private boolean contains(int[] values, int length, int value) {
+    for (int i = 0; i < length; i++) {
+      if (values[i] == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
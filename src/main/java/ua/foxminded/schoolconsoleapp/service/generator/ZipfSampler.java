@@ -0,0 +1,28 @@
+package ua.foxminded.schoolconsoleapp.service.generator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+class ZipfSampler {
+
+  private final double[] cumulative;
+
+  ZipfSampler(int size, double exponent) {
+    cumulative = new double[size];
+    double total = 0;
+    for (int rank = 0; rank < size; rank++) {
+      total += 1.0 / Math.pow(rank + 1, exponent);
+      cumulative[rank] = total;
+    }
+    for (int rank = 0; rank < size; rank++) {
+      cumulative[rank] /= total;
+    }
+  }
+
+  int sample(Random random) {
+    int index = Arrays.binarySearch(cumulative, random.nextDouble());
+    int rank = index >= 0 ? index + 1 : -index - 1;
+    return Math.min(rank, cumulative.length - 1);
+  }
+
+}
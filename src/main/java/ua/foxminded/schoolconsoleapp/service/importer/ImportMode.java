@@ -0,0 +1,8 @@
+package ua.foxminded.schoolconsoleapp.service.importer;
+
+public enum ImportMode {
+
+  INSERT,
+  COPY
+
+}
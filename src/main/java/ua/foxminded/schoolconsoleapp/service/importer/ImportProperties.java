@@ -0,0 +1,19 @@
+package ua.foxminded.schoolconsoleapp.service.importer;
+
+import javax.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties(prefix = "school.import")
+@Validated
+@Getter
+@Setter
+public class ImportProperties {
+
+  @Min(1)
+  private int batchSize = 1000;
+  private ImportMode mode = ImportMode.INSERT;
+
+}
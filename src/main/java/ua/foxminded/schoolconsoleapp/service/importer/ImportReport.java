@@ -0,0 +1,20 @@
+package ua.foxminded.schoolconsoleapp.service.importer;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class ImportReport {
+
+  private final long importedRows;
+  private final long rejectedRows;
+  private final long elapsedMillis;
+
+  public double getRowsPerSecond() {
+    return elapsedMillis == 0 ? importedRows : importedRows * 1000.0 / elapsedMillis;
+  }
+
+}
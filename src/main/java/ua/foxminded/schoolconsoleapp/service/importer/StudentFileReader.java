@@ -0,0 +1,175 @@
+package ua.foxminded.schoolconsoleapp.service.importer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import lombok.extern.slf4j.Slf4j;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.entitу.Student;
+
+@Slf4j
+class StudentFileReader implements Iterator<Student>, Closeable {
+
+  private static final int GZIP_MAGIC = 0x8b1f;
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String HEADER_FIRST_COLUMN = "first_name";
+
+  private final BufferedReader reader;
+  private final Set<Integer> groupIds;
+  private Character delimiter;
+  private Student next;
+  private long lineNumber;
+  private long rejectedRows;
+
+  private StudentFileReader(BufferedReader reader, Set<Integer> groupIds) {
+    this.reader = reader;
+    this.groupIds = groupIds;
+  }
+
+  static StudentFileReader open(Path file, Set<Integer> groupIds) throws IOException {
+    InputStream input = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+    if (isGzip(input)) {
+      input = new GZIPInputStream(input, BUFFER_SIZE);
+    }
+    return new StudentFileReader(
+        new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE),
+        groupIds);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null) {
+      next = readNext();
+    }
+    return next != null;
+  }
+
+  @Override
+  public Student next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Student student = next;
+    next = null;
+    return student;
+  }
+
+  long getRejectedRows() {
+    return rejectedRows;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private Student readNext() {
+    try {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.trim().isEmpty()) {
+          continue;
+        }
+        if (delimiter == null) {
+          delimiter = line.indexOf('\t') >= 0 ? '\t' : ',';
+          if (line.trim().toLowerCase(Locale.ROOT).startsWith(HEADER_FIRST_COLUMN)) {
+            continue;
+          }
+        }
+        Student student = toStudent(split(line));
+        if (student != null) {
+          return student;
+        }
+        rejectedRows++;
+      }
+      return null;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Student toStudent(List<String> fields) {
+    if (fields.size() < 2 || fields.get(0).isEmpty() || fields.get(1).isEmpty()) {
+      log.warn("Line {}: first and last name are required, row skipped", lineNumber);
+      return null;
+    }
+
+    Group ownerGroup = null;
+    String groupColumn = fields.size() > 2 ? fields.get(2) : "";
+    if (!groupColumn.isEmpty()) {
+      Integer groupId = parseGroupId(groupColumn);
+      if (groupId == null || !groupIds.contains(groupId)) {
+        log.warn("Line {}: unknown group '{}', row skipped", lineNumber, groupColumn);
+        return null;
+      }
+      ownerGroup = Group.builder().withId(groupId).build();
+    }
+
+    return Student.builder()
+        .withFirstName(fields.get(0))
+        .withLastName(fields.get(1))
+        .withOwnerGroup(ownerGroup)
+        .build();
+  }
+
+  private Integer parseGroupId(String value) {
+    try {
+      return Integer.valueOf(value);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private List<String> split(String line) {
+    List<String> fields = new ArrayList<>(3);
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c != '"') {
+          field.append(c);
+        } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == delimiter) {
+        fields.add(field.toString().trim());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString().trim());
+
+    return fields;
+  }
+
+  private static boolean isGzip(InputStream input) throws IOException {
+    input.mark(2);
+    int magic = input.read() | (input.read() << 8);
+    input.reset();
+    return magic == GZIP_MAGIC;
+  }
+
+}
@@ -0,0 +1,73 @@
+package ua.foxminded.schoolconsoleapp.service.importer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ua.foxminded.schoolconsoleapp.entitу.Student;
+import ua.foxminded.schoolconsoleapp.repository.GroupRepository;
+import ua.foxminded.schoolconsoleapp.repository.StudentJdbcRepository;
+import ua.foxminded.schoolconsoleapp.service.dao.GroupService;
+import ua.foxminded.schoolconsoleapp.service.importer.exception.StudentImportException;
+import ua.foxminded.schoolconsoleapp.transaction.AfterCommit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudentImportService {
+
+  private final StudentJdbcRepository studentJdbcRepository;
+  private final GroupRepository groupRepository;
+  private final GroupService groupService;
+  private final ImportProperties importProperties;
+
+  @Transactional
+  public ImportReport importStudents(Path file) {
+    log.info("Importing students from {} in {} mode, batch size {}", file,
+        importProperties.getMode(), importProperties.getBatchSize());
+    long start = System.nanoTime();
+
+    try (StudentFileReader reader = StudentFileReader.open(file,
+        groupRepository.findAllGroupIds())) {
+      long imported = importProperties.getMode() == ImportMode.COPY
+          ? studentJdbcRepository.copyStudents(reader, importProperties.getBatchSize())
+          : insertInBatches(reader);
+
+      ImportReport report = new ImportReport(imported, reader.getRejectedRows(),
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      log.info("Imported students from {}: {}", file, report);
+
+      AfterCommit.execute(groupService::rebuildGroupSizeIndex);
+      return report;
+
+    } catch (IOException | UncheckedIOException e) {
+      throw new StudentImportException("Unable to read the file '" + file + "'.", e);
+    }
+  }
+
+  private long insertInBatches(StudentFileReader reader) {
+    int batchSize = importProperties.getBatchSize();
+    List<Student> batch = new ArrayList<>(batchSize);
+    long imported = 0;
+
+    while (reader.hasNext()) {
+      batch.add(reader.next());
+      if (batch.size() == batchSize) {
+        imported += studentJdbcRepository.insertBatch(batch);
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      imported += studentJdbcRepository.insertBatch(batch);
+    }
+
+    return imported;
+  }
+
+}
@@ -0,0 +1,13 @@
+package ua.foxminded.schoolconsoleapp.service.importer.exception;
+
+public class StudentImportException extends RuntimeException {
+
+  public StudentImportException(String message) {
+    super(message);
+  }
+
+  public StudentImportException(String message, Exception cause) {
+    super(message, cause);
+  }
+
+}
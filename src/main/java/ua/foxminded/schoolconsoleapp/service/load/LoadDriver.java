@@ -0,0 +1,91 @@
+package ua.foxminded.schoolconsoleapp.service.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ua.foxminded.schoolconsoleapp.entitу.Course;
+import ua.foxminded.schoolconsoleapp.repository.SeedJdbcRepository;
+import ua.foxminded.schoolconsoleapp.service.dao.CourseService;
+import ua.foxminded.schoolconsoleapp.service.dao.GroupService;
+import ua.foxminded.schoolconsoleapp.service.dao.StudentService;
+import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoadDriver {
+
+  private final StudentService studentService;
+  private final GroupService groupService;
+  private final CourseService courseService;
+  private final SeedJdbcRepository seedJdbcRepository;
+  private final LoadProperties loadProperties;
+
+  public LoadReport run() {
+    int threads = loadProperties.getThreads();
+    if (threads < 1) {
+      throw new ValidationException("The load test needs at least one client thread.");
+    }
+
+    List<String> courseNames = courseService.getAllCourses().stream()
+        .map(Course::getCourseName)
+        .collect(Collectors.toList());
+    int maxStudentId = seedJdbcRepository.findMaxStudentId();
+    if (courseNames.isEmpty() || maxStudentId == 0) {
+      throw new ValidationException("The load test needs at least one course and one student.");
+    }
+
+    log.info("Running load test with {} threads, mix {}, {}", threads, loadProperties.getMix(),
+        loadProperties.getOperations() > 0 ? loadProperties.getOperations() + " operations"
+            : loadProperties.getDuration());
+    LoadSession session = new LoadSession(studentService, groupService, courseService,
+        loadProperties, courseNames, groupService.getAllGroups(), maxStudentId);
+
+    long start = System.nanoTime();
+    runClients(session, threads);
+    LoadReport report = new LoadReport(threads, session.getStatistics(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    log.info("Load test finished: {}", report);
+    return report;
+  }
+
+  private void runClients(LoadSession session, int threads) {
+    AtomicInteger threadNumber = new AtomicInteger();
+    ExecutorService clients = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "load-client-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    try {
+      List<Callable<Void>> tasks = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        tasks.add(() -> {
+          session.runClient();
+          return null;
+        });
+      }
+      for (Future<Void> future : clients.invokeAll(tasks)) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for load test clients.", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Load test client failed unexpectedly.", e.getCause());
+    } finally {
+      clients.shutdownNow();
+    }
+  }
+
+}
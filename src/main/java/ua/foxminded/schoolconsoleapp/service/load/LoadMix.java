@@ -0,0 +1,36 @@
+package ua.foxminded.schoolconsoleapp.service.load;
+
+import java.util.Map;
+import java.util.Random;
+import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
+
+class LoadMix {
+
+  private final LoadOperation[] operations = LoadOperation.values();
+  private final int[] cumulativeWeights = new int[operations.length];
+
+  LoadMix(Map<LoadOperation, Integer> weights) {
+    int total = 0;
+    for (int i = 0; i < operations.length; i++) {
+      int weight = weights.getOrDefault(operations[i], 0);
+      if (weight < 0) {
+        throw new ValidationException("Load mix weight of " + operations[i] + " is negative.");
+      }
+      total += weight;
+      cumulativeWeights[i] = total;
+    }
+    if (total == 0) {
+      throw new ValidationException("Load mix must contain at least one operation.");
+    }
+  }
+
+  LoadOperation next(Random random) {
+    int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    int i = 0;
+    while (cumulativeWeights[i] <= value) {
+      i++;
+    }
+    return operations[i];
+  }
+
+}
@@ -0,0 +1,12 @@
+package ua.foxminded.schoolconsoleapp.service.load;
+
+public enum LoadOperation {
+
+  FIND_GROUPS,
+  ROSTER,
+  ADD_STUDENT,
+  DELETE_STUDENT,
+  ENROLL,
+  UNENROLL
+
+}
@@ -0,0 +1,32 @@
+package ua.foxminded.schoolconsoleapp.service.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.load")
+@Getter
+@Setter
+public class LoadProperties {
+
+  private int threads = 8;
+  private Duration duration = Duration.ofSeconds(30);
+  private long operations = 0;
+  private int maxGroupSize = 30;
+  private Map<LoadOperation, Integer> mix = defaultMix();
+
+  private static Map<LoadOperation, Integer> defaultMix() {
+    Map<LoadOperation, Integer> mix = new EnumMap<>(LoadOperation.class);
+    mix.put(LoadOperation.ROSTER, 60);
+    mix.put(LoadOperation.ENROLL, 10);
+    mix.put(LoadOperation.UNENROLL, 10);
+    mix.put(LoadOperation.ADD_STUDENT, 5);
+    mix.put(LoadOperation.DELETE_STUDENT, 5);
+    mix.put(LoadOperation.FIND_GROUPS, 10);
+    return mix;
+  }
+
+}
@@ -0,0 +1,30 @@
+package ua.foxminded.schoolconsoleapp.service.load;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class LoadReport {
+
+  private final int threads;
+  private final List<OperationStats> operations;
+  private final long elapsedMillis;
+
+  public long getTotalOperations() {
+    return operations.stream().mapToLong(OperationStats::getCount).sum();
+  }
+
+  public long getErrors() {
+    return operations.stream().mapToLong(OperationStats::getErrors).sum();
+  }
+
+  public double getOperationsPerSecond() {
+    return elapsedMillis == 0 ? getTotalOperations()
+        : getTotalOperations() * 1000.0 / elapsedMillis;
+  }
+
+}
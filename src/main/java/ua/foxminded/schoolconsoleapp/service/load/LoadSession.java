@@ -0,0 +1,170 @@
+package ua.foxminded.schoolconsoleapp.service.load;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.entitу.Student;
+import ua.foxminded.schoolconsoleapp.repository.EnrollmentResult;
+import ua.foxminded.schoolconsoleapp.service.dao.CourseService;
+import ua.foxminded.schoolconsoleapp.service.dao.GroupService;
+import ua.foxminded.schoolconsoleapp.service.dao.StudentService;
+
+class LoadSession {
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final StudentService studentService;
+  private final GroupService groupService;
+  private final CourseService courseService;
+  private final LoadMix mix;
+  private final int maxGroupSize;
+  private final List<String> courseNames;
+  private final List<Group> groups;
+  private final int maxStudentId;
+
+  private final long deadlineNanos;
+  private final AtomicLong remainingOperations;
+  private final Map<LoadOperation, Recorder> latencies = new EnumMap<>(LoadOperation.class);
+  private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+  private final Queue<Integer> addedStudentIds = new ConcurrentLinkedQueue<>();
+  private final Queue<Enrollment> enrollments = new ConcurrentLinkedQueue<>();
+
+  LoadSession(StudentService studentService, GroupService groupService,
+      CourseService courseService, LoadProperties properties, List<String> courseNames,
+      List<Group> groups, int maxStudentId) {
+    this.studentService = studentService;
+    this.groupService = groupService;
+    this.courseService = courseService;
+    this.mix = new LoadMix(properties.getMix());
+    this.maxGroupSize = properties.getMaxGroupSize();
+    this.courseNames = courseNames;
+    this.groups = groups;
+    this.maxStudentId = maxStudentId;
+    this.deadlineNanos = System.nanoTime() + properties.getDuration().toNanos();
+    this.remainingOperations = properties.getOperations() > 0
+        ? new AtomicLong(properties.getOperations()) : null;
+    for (LoadOperation operation : LoadOperation.values()) {
+      latencies.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+      errors.put(operation, new LongAdder());
+    }
+  }
+
+  void runClient() {
+    Random random = ThreadLocalRandom.current();
+    while (claimOperation()) {
+      runOperation(mix.next(random), random);
+    }
+  }
+
+  List<OperationStats> getStatistics() {
+    List<OperationStats> statistics = new ArrayList<>();
+    latencies.forEach((operation, recorder) -> {
+      Histogram histogram = recorder.getIntervalHistogram();
+      if (histogram.getTotalCount() > 0) {
+        statistics.add(new OperationStats(operation, histogram.getTotalCount(),
+            errors.get(operation).sum(), histogram.getValueAtPercentile(50.0),
+            histogram.getValueAtPercentile(99.0), histogram.getValueAtPercentile(99.9),
+            histogram.getMaxValue()));
+      }
+    });
+    return statistics;
+  }
+
+  private boolean claimOperation() {
+    if (remainingOperations != null) {
+      return remainingOperations.getAndDecrement() > 0;
+    }
+    return System.nanoTime() < deadlineNanos;
+  }
+
+  // Deletes and unenrollments undo the writes of this session, so a long run leaves the
+  // dataset about the same size. Until there is something to undo they run as the inverse
+  // write instead.
+  private void runOperation(LoadOperation operation, Random random) {
+    Integer studentToDelete = null;
+    Enrollment enrollmentToRemove = null;
+    if (operation == LoadOperation.DELETE_STUDENT) {
+      studentToDelete = addedStudentIds.poll();
+      operation = studentToDelete == null ? LoadOperation.ADD_STUDENT : operation;
+    } else if (operation == LoadOperation.UNENROLL) {
+      enrollmentToRemove = enrollments.poll();
+      operation = enrollmentToRemove == null ? LoadOperation.ENROLL : operation;
+    }
+
+    long start = System.nanoTime();
+    try {
+      switch (operation) {
+        case FIND_GROUPS:
+          groupService.findGroupsWithLessOrEqualStudent(random.nextInt(maxGroupSize + 1));
+          break;
+        case ROSTER:
+          studentService.forEachStudentByCourseName(randomCourseName(random), student -> {
+          });
+          break;
+        case ADD_STUDENT:
+          addStudent(random);
+          break;
+        case DELETE_STUDENT:
+          studentService.deleteStudent(studentToDelete);
+          break;
+        case ENROLL:
+          enroll(random);
+          break;
+        case UNENROLL:
+          courseService.removeStudentFromCourse(enrollmentToRemove.studentId,
+              enrollmentToRemove.courseName);
+          break;
+        default:
+          throw new IllegalStateException("Unsupported load operation " + operation);
+      }
+    } catch (RuntimeException e) {
+      errors.get(operation).increment();
+    } finally {
+      latencies.get(operation).recordValue(
+          TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+    }
+  }
+
+  private void addStudent(Random random) {
+    Student student = Student.builder()
+        .withFirstName("Load")
+        .withLastName("Student")
+        .withOwnerGroup(groups.isEmpty() ? null : groups.get(random.nextInt(groups.size())))
+        .build();
+    studentService.addStudent(student);
+    addedStudentIds.add(student.getId());
+  }
+
+  private void enroll(Random random) {
+    int studentId = 1 + random.nextInt(maxStudentId);
+    String courseName = randomCourseName(random);
+    if (courseService.enrollStudentToCourse(studentId, courseName) == EnrollmentResult.ENROLLED) {
+      enrollments.add(new Enrollment(studentId, courseName));
+    }
+  }
+
+  private String randomCourseName(Random random) {
+    return courseNames.get(random.nextInt(courseNames.size()));
+  }
+
+  @RequiredArgsConstructor
+  private static class Enrollment {
+
+    private final int studentId;
+    private final String courseName;
+
+  }
+
+}
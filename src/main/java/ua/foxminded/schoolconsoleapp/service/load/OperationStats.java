@@ -0,0 +1,20 @@
+package ua.foxminded.schoolconsoleapp.service.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class OperationStats {
+
+  private final LoadOperation operation;
+  private final long count;
+  private final long errors;
+  private final long p50Micros;
+  private final long p99Micros;
+  private final long p999Micros;
+  private final long maxMicros;
+
+}
@@ -0,0 +1,42 @@
+package ua.foxminded.schoolconsoleapp.service.paging;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
+
+@Getter
+@RequiredArgsConstructor
+public class KeysetSlice<T> {
+
+  private final Slice<T> slice;
+  private final String continuationToken;
+
+  public static <T> KeysetSlice<T> of(Slice<T> slice, ToIntFunction<T> idOf) {
+    List<T> content = slice.getContent();
+    String continuationToken = slice.hasNext() && !content.isEmpty()
+        ? KeysetToken.encode(idOf.applyAsInt(content.get(content.size() - 1)))
+        : null;
+    return new KeysetSlice<>(slice, continuationToken);
+  }
+
+  public static Pageable pageable(int limit) {
+    if (limit < 1) {
+      throw new ValidationException("Page size must be positive.");
+    }
+    return PageRequest.ofSize(limit);
+  }
+
+  public List<T> getContent() {
+    return slice.getContent();
+  }
+
+  public boolean hasNext() {
+    return continuationToken != null;
+  }
+
+}
@@ -0,0 +1,34 @@
+package ua.foxminded.schoolconsoleapp.service.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
+
+public final class KeysetToken {
+
+  private static final String PREFIX = "after:";
+
+  private KeysetToken() {
+  }
+
+  public static String encode(int lastId) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static int decode(String token) {
+    if (token == null || token.isEmpty()) {
+      return 0;
+    }
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      if (!value.startsWith(PREFIX)) {
+        throw new ValidationException("Invalid continuation token.");
+      }
+      return Integer.parseInt(value.substring(PREFIX.length()));
+    } catch (IllegalArgumentException e) {
+      throw new ValidationException("Invalid continuation token.");
+    }
+  }
+
+}
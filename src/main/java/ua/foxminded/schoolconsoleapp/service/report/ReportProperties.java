@@ -0,0 +1,14 @@
+package ua.foxminded.schoolconsoleapp.service.report;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.report")
+@Getter
+@Setter
+public class ReportProperties {
+
+  private int fetchSize = 1000;
+
+}
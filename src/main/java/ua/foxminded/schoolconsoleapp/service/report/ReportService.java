@@ -0,0 +1,39 @@
+package ua.foxminded.schoolconsoleapp.service.report;
+
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ua.foxminded.schoolconsoleapp.repository.CourseRepository;
+import ua.foxminded.schoolconsoleapp.repository.GroupRepository;
+import ua.foxminded.schoolconsoleapp.repository.ReportJdbcRepository;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportService {
+
+  private final ReportJdbcRepository reportJdbcRepository;
+  private final GroupRepository groupRepository;
+  private final CourseRepository courseRepository;
+  private final ReportProperties reportProperties;
+
+  @Transactional(readOnly = true)
+  public SchoolReport buildSchoolReport() {
+    long start = System.nanoTime();
+    SchoolReportCollector collector = new SchoolReportCollector(
+        groupRepository.findAll(Sort.by("id")), courseRepository.findAll(Sort.by("id")));
+
+    reportJdbcRepository.forEachStudentEnrollment(reportProperties.getFetchSize(),
+        collector::accept);
+
+    SchoolReport report = collector.finish(
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    log.info("School report built for {} students in {} ms", report.getTotalStudents(),
+        report.getElapsedMillis());
+    return report;
+  }
+
+}
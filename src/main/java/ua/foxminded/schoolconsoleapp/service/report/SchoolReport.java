@@ -0,0 +1,22 @@
+package ua.foxminded.schoolconsoleapp.service.report;
+
+import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class SchoolReport {
+
+  private final long totalStudents;
+  private final long studentsWithoutGroup;
+  private final long studentsWithoutCourses;
+  private final Map<Integer, String> groupNames;
+  private final Map<Integer, Long> studentsPerGroup;
+  private final Map<String, Long> studentsPerCourse;
+  private final Map<String, Map<String, Long>> courseOverlap;
+  private final long elapsedMillis;
+
+}
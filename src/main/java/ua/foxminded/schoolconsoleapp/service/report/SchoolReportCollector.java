@@ -0,0 +1,94 @@
+package ua.foxminded.schoolconsoleapp.service.report;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import ua.foxminded.schoolconsoleapp.entitу.Course;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
+
+class SchoolReportCollector {
+
+  private final List<Group> groups;
+  private final List<Course> courses;
+  private final Map<Integer, Integer> groupIndexes = new HashMap<>();
+  private final Map<Integer, Integer> courseIndexes = new HashMap<>();
+  private final long[] groupCounts;
+  private final long[] courseCounts;
+  private final long[][] overlap;
+  private final int[] studentCourses;
+  private long totalStudents;
+  private long studentsWithoutGroup;
+  private long studentsWithoutCourses;
+
+  SchoolReportCollector(List<Group> groups, List<Course> courses) {
+    this.groups = groups;
+    this.courses = courses;
+    for (int i = 0; i < groups.size(); i++) {
+      groupIndexes.put(groups.get(i).getId(), i);
+    }
+    for (int i = 0; i < courses.size(); i++) {
+      courseIndexes.put(courses.get(i).getId(), i);
+    }
+    groupCounts = new long[groups.size()];
+    courseCounts = new long[courses.size()];
+    overlap = new long[courses.size()][courses.size()];
+    studentCourses = new int[courses.size()];
+  }
+
+  void accept(int studentId, Integer groupId, Integer[] courseIds) {
+    totalStudents++;
+
+    Integer groupIndex = groupId == null ? null : groupIndexes.get(groupId);
+    if (groupIndex == null) {
+      studentsWithoutGroup++;
+    } else {
+      groupCounts[groupIndex]++;
+    }
+
+    int enrolled = 0;
+    for (Integer courseId : courseIds) {
+      Integer courseIndex = courseIndexes.get(courseId);
+      if (courseIndex != null) {
+        courseCounts[courseIndex]++;
+        studentCourses[enrolled++] = courseIndex;
+      }
+    }
+    if (enrolled == 0) {
+      studentsWithoutCourses++;
+    }
+    for (int i = 0; i < enrolled; i++) {
+      for (int j = i + 1; j < enrolled; j++) {
+        overlap[studentCourses[i]][studentCourses[j]]++;
+        overlap[studentCourses[j]][studentCourses[i]]++;
+      }
+    }
+  }
+
+  SchoolReport finish(long elapsedMillis) {
+    // Keyed by id: group names are not unique.
+    Map<Integer, String> groupNames = new LinkedHashMap<>();
+    Map<Integer, Long> studentsPerGroup = new LinkedHashMap<>();
+    for (int i = 0; i < groups.size(); i++) {
+      groupNames.put(groups.get(i).getId(), groups.get(i).getGroupName());
+      studentsPerGroup.put(groups.get(i).getId(), groupCounts[i]);
+    }
+
+    Map<String, Long> studentsPerCourse = new LinkedHashMap<>();
+    Map<String, Map<String, Long>> courseOverlap = new LinkedHashMap<>();
+    for (int i = 0; i < courses.size(); i++) {
+      studentsPerCourse.put(courses.get(i).getCourseName(), courseCounts[i]);
+      Map<String, Long> row = new LinkedHashMap<>();
+      for (int j = 0; j < courses.size(); j++) {
+        if (i != j) {
+          row.put(courses.get(j).getCourseName(), overlap[i][j]);
+        }
+      }
+      courseOverlap.put(courses.get(i).getCourseName(), row);
+    }
+
+    return new SchoolReport(totalStudents, studentsWithoutGroup, studentsWithoutCourses,
+        groupNames, studentsPerGroup, studentsPerCourse, courseOverlap, elapsedMillis);
+  }
+
+}
@@ -0,0 +1,118 @@
+package ua.foxminded.schoolconsoleapp.service.script;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// The rows script commands read and change, so that concurrent runs keep dependent commands in
+// script order. Keys are "<table>:<id>", or "<table>:*" for rows a command cannot name up front.
+// Writes exclude every other access to the same rows. Changes are updates that commute with
+// each other, like group sizes going down as students are deleted, so they only wait for reads.
+final class CommandAccess {
+
+  private static final String ALL = "*";
+
+  private final Set<String> reads = new HashSet<>();
+  private final Set<String> writes = new HashSet<>();
+  private final Set<String> changes = new HashSet<>();
+
+  private CommandAccess() {
+  }
+
+  static CommandAccess of(List<ScriptCommand> commands) {
+    CommandAccess access = new CommandAccess();
+    commands.forEach(access::add);
+    return access;
+  }
+
+  boolean conflictsWith(CommandAccess other) {
+    return overlaps(writes, other.reads) || overlaps(writes, other.writes)
+        || overlaps(reads, other.writes) || overlaps(reads, other.changes)
+        || overlaps(changes, other.reads);
+  }
+
+  private void add(ScriptCommand command) {
+    List<String> arguments = command.getArguments();
+    switch (command.getVerb()) {
+      case "find-groups":
+        reads.add(key("group", ALL));
+        break;
+      case "roster":
+        reads.add(courseKey(arguments, 0));
+        break;
+      case "search":
+        reads.add(key("student", ALL));
+        break;
+      case "add":
+        // The new student's ID is unknown until it runs, so commands on any student wait for it.
+        writes.add(key("student", ALL));
+        changes.add(key("group", idArgument(arguments, 2)));
+        break;
+      case "delete":
+        writes.add(key("student", idArgument(arguments, 0)));
+        changes.add(key("group", ALL));
+        changes.add(key("course", ALL));
+        break;
+      case "delete-range":
+      case "delete-group":
+        writes.add(key("student", ALL));
+        changes.add(key("group", ALL));
+        changes.add(key("course", ALL));
+        break;
+      case "enroll":
+      case "unenroll":
+        writes.add(key("student", idArgument(arguments, 0)));
+        changes.add(courseKey(arguments, 1));
+        break;
+      default:
+        break;
+    }
+  }
+
+  private static String idArgument(List<String> arguments, int index) {
+    if (arguments.size() <= index) {
+      return ALL;
+    }
+    try {
+      return String.valueOf(Integer.parseInt(arguments.get(index)));
+    } catch (NumberFormatException e) {
+      return ALL;
+    }
+  }
+
+  private static String courseKey(List<String> arguments, int fromIndex) {
+    if (arguments.size() <= fromIndex) {
+      return key("course", ALL);
+    }
+    return key("course", String.join(" ", arguments.subList(fromIndex, arguments.size()))
+        .toLowerCase(Locale.ROOT));
+  }
+
+  private static String key(String table, String id) {
+    return table + ":" + id;
+  }
+
+  private static boolean overlaps(Collection<String> keys, Collection<String> otherKeys) {
+    for (String key : keys) {
+      for (String otherKey : otherKeys) {
+        if (overlaps(key, otherKey)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean overlaps(String key, String otherKey) {
+    int separator = key.indexOf(':');
+    if (!key.regionMatches(0, otherKey, 0, separator + 1)) {
+      return false;
+    }
+    String id = key.substring(separator + 1);
+    String otherId = otherKey.substring(separator + 1);
+    return id.equals(ALL) || otherId.equals(ALL) || id.equals(otherId);
+  }
+
+}
@@ -0,0 +1,53 @@
+package ua.foxminded.schoolconsoleapp.service.script;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class ScriptCommand {
+
+  private final int lineNumber;
+  private final String verb;
+  private final List<String> arguments;
+
+  public static Optional<ScriptCommand> parse(int lineNumber, String line) {
+    String trimmed = line.trim();
+    if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+      return Optional.empty();
+    }
+
+    String[] tokens = trimmed.split("\\s+");
+    return Optional.of(new ScriptCommand(lineNumber, tokens[0].toLowerCase(Locale.ROOT),
+        Arrays.asList(tokens).subList(1, tokens.length)));
+  }
+
+  public String getArgument(int index, String usage) {
+    if (arguments.size() <= index) {
+      throw new ValidationException("Usage: " + usage);
+    }
+    return arguments.get(index);
+  }
+
+  public int getNumber(int index, String usage) {
+    String argument = getArgument(index, usage);
+    try {
+      return Integer.parseInt(argument);
+    } catch (NumberFormatException e) {
+      throw new ValidationException("Invalid number '" + argument + "'. Usage: " + usage);
+    }
+  }
+
+  public String getRemainder(int fromIndex, String usage) {
+    getArgument(fromIndex, usage);
+    return String.join(" ", arguments.subList(fromIndex, arguments.size()));
+  }
+
+}
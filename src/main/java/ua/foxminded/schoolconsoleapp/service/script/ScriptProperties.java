@@ -0,0 +1,16 @@
+package ua.foxminded.schoolconsoleapp.service.script;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.script")
+@Getter
+@Setter
+public class ScriptProperties {
+
+  private int transactionSize = 1;
+  private int outputBufferSize = 65536;
+  private boolean concurrent;
+
+}
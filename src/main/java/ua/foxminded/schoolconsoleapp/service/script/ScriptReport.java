@@ -0,0 +1,20 @@
+package ua.foxminded.schoolconsoleapp.service.script;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class ScriptReport {
+
+  private final long executedCommands;
+  private final long failedCommands;
+  private final long elapsedMillis;
+
+  public double getCommandsPerSecond() {
+    return elapsedMillis == 0 ? executedCommands : executedCommands * 1000.0 / elapsedMillis;
+  }
+
+}
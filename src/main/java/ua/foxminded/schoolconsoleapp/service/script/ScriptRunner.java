@@ -0,0 +1,314 @@
+package ua.foxminded.schoolconsoleapp.service.script;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.entitу.Student;
+import ua.foxminded.schoolconsoleapp.executor.CommandExecutor;
+import ua.foxminded.schoolconsoleapp.repository.EnrollmentResult;
+import ua.foxminded.schoolconsoleapp.service.dao.CourseService;
+import ua.foxminded.schoolconsoleapp.service.dao.DeleteReport;
+import ua.foxminded.schoolconsoleapp.service.dao.GroupService;
+import ua.foxminded.schoolconsoleapp.service.dao.StudentService;
+import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScriptRunner {
+
+  private static final int SEARCH_LIMIT = 20;
+  private static final String ROSTER = "roster";
+
+  private final StudentService studentService;
+  private final GroupService groupService;
+  private final CourseService courseService;
+  private final TransactionTemplate transactionTemplate;
+  private final ScriptProperties scriptProperties;
+  private final CommandExecutor commandExecutor;
+
+  public ScriptReport run(BufferedReader reader, Writer out) throws IOException {
+    long start = System.currentTimeMillis();
+    int transactionSize = Math.max(1, scriptProperties.getTransactionSize());
+    Deque<Future<ChunkResult>> pending = new ArrayDeque<>();
+    List<ScheduledChunk> scheduled = new ArrayList<>();
+    List<ScriptCommand> chunk = new ArrayList<>(transactionSize);
+    long executed = 0;
+    long failed = 0;
+
+    String line;
+    int lineNumber = 0;
+    while ((line = reader.readLine()) != null) {
+      Optional<ScriptCommand> command = ScriptCommand.parse(++lineNumber, line);
+      if (command.isPresent() && ROSTER.equals(command.get().getVerb())) {
+        // Written straight to the output once everything before it has been written.
+        executed += chunk.size() + 1;
+        pending.add(submitChunk(chunk, scheduled));
+        chunk = new ArrayList<>(transactionSize);
+        failed += writeCompleted(pending, out, 0);
+        failed += streamRoster(command.get(), out);
+        continue;
+      }
+      command.ifPresent(chunk::add);
+      if (chunk.size() >= transactionSize) {
+        executed += chunk.size();
+        pending.add(submitChunk(chunk, scheduled));
+        chunk = new ArrayList<>(transactionSize);
+        failed += writeCompleted(pending, out, commandExecutor.getCapacity());
+      }
+    }
+    executed += chunk.size();
+    pending.add(submitChunk(chunk, scheduled));
+    failed += writeCompleted(pending, out, 0);
+    out.flush();
+
+    ScriptReport report = new ScriptReport(executed, failed,
+        System.currentTimeMillis() - start);
+    log.info("Script finished: {}", report);
+    return report;
+  }
+
+  public List<String> execute(ScriptCommand command) {
+    switch (command.getVerb()) {
+      case "find-groups":
+        return findGroups(command);
+      case "search":
+        return search(command);
+      case "add":
+        return addStudent(command);
+      case "delete":
+        return deleteStudent(command);
+      case "delete-range":
+        return deleteStudentsInRange(command);
+      case "delete-group":
+        return deleteStudentsInGroup(command);
+      case "enroll":
+        return enroll(command);
+      case "unenroll":
+        return unenroll(command);
+      default:
+        throw new ValidationException("Unknown command '" + command.getVerb() + "'.");
+    }
+  }
+
+  private Future<ChunkResult> submitChunk(List<ScriptCommand> chunk,
+      List<ScheduledChunk> scheduled) {
+    if (!scriptProperties.isConcurrent()) {
+      return CompletableFuture.completedFuture(executeChunk(chunk));
+    }
+
+    scheduled.removeIf(previous -> previous.future.isDone());
+    CommandAccess access = CommandAccess.of(chunk);
+    CompletableFuture<?>[] dependencies = scheduled.stream()
+        .filter(previous -> previous.access.conflictsWith(access))
+        .map(previous -> previous.future)
+        .toArray(CompletableFuture[]::new);
+    CompletableFuture<ChunkResult> future = commandExecutor.submitAfter(
+        CompletableFuture.allOf(dependencies), () -> executeChunk(chunk));
+    scheduled.add(new ScheduledChunk(access, future));
+    return future;
+  }
+
+  private long writeCompleted(Deque<Future<ChunkResult>> pending, Writer out, int maxPending)
+      throws IOException {
+    long failed = 0;
+    while (!pending.isEmpty() && (pending.size() > maxPending || pending.peek().isDone())) {
+      ChunkResult result = getResult(pending.poll());
+      write(out, result.lines);
+      failed += result.failed;
+    }
+    return failed;
+  }
+
+  private ChunkResult getResult(Future<ChunkResult> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for script commands.", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Script command failed unexpectedly.", e.getCause());
+    }
+  }
+
+  private ChunkResult executeChunk(List<ScriptCommand> chunk) {
+    if (chunk.size() > 1) {
+      try {
+        List<String> output = transactionTemplate.execute(status -> {
+          List<String> lines = new ArrayList<>();
+          chunk.forEach(command -> lines.addAll(execute(command)));
+          return lines;
+        });
+        return new ChunkResult(output, 0);
+      } catch (RuntimeException e) {
+        log.info("Transaction for lines {}-{} rolled back, retrying one by one: {}",
+            chunk.get(0).getLineNumber(), chunk.get(chunk.size() - 1).getLineNumber(),
+            e.getMessage());
+      }
+    }
+
+    List<String> lines = new ArrayList<>();
+    int failed = 0;
+    for (ScriptCommand command : chunk) {
+      try {
+        lines.addAll(execute(command));
+      } catch (RuntimeException e) {
+        failed++;
+        lines.add("Line " + command.getLineNumber() + ": " + e.getMessage());
+      }
+    }
+    return new ChunkResult(lines, failed);
+  }
+
+  private void write(Writer out, List<String> lines) throws IOException {
+    for (String line : lines) {
+      writeLine(out, line);
+    }
+  }
+
+  private void writeLine(Writer out, String line) throws IOException {
+    out.write(line);
+    out.write(System.lineSeparator());
+  }
+
+  private List<String> findGroups(ScriptCommand command) {
+    int maxStudents = command.getNumber(0, "find-groups <maxStudents>");
+    List<String> lines = new ArrayList<>();
+    groupService.findGroupsWithLessOrEqualStudent(maxStudents)
+        .forEach(group -> lines.add(group.getGroupName()));
+    if (lines.isEmpty()) {
+      lines.add("There are no groups with " + maxStudents + " or fewer students.");
+    }
+    return lines;
+  }
+
+  // Streams the students page by page, like the console roster, instead of collecting them.
+  private int streamRoster(ScriptCommand command, Writer out) throws IOException {
+    try {
+      String courseName = command.getRemainder(0, "roster <courseName>");
+      if (!courseService.getCourseIdByName(courseName).isPresent()) {
+        throw new ValidationException(
+            "Course with the name '" + courseName + "' does not exist.");
+      }
+      studentService.forEachStudentByCourseName(courseName, student -> {
+        try {
+          writeLine(out, student.getFirstName() + " " + student.getLastName());
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      return 0;
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } catch (RuntimeException e) {
+      writeLine(out, "Line " + command.getLineNumber() + ": " + e.getMessage());
+      return 1;
+    }
+  }
+
+  private List<String> search(ScriptCommand command) {
+    String query = command.getRemainder(0, "search <name>");
+    List<String> lines = new ArrayList<>();
+    studentService.searchByName(query, SEARCH_LIMIT).forEach(student -> lines.add(
+        student.getId() + ": " + student.getFirstName() + " " + student.getLastName()));
+    return lines;
+  }
+
+  private List<String> addStudent(ScriptCommand command) {
+    String usage = "add <firstName> <lastName> <groupId>";
+    String firstName = command.getArgument(0, usage);
+    String lastName = command.getArgument(1, usage);
+    int groupId = command.getNumber(2, usage);
+
+    Group group = groupService.getGroupById(groupId).orElseThrow(
+        () -> new ValidationException("Group with ID " + groupId + " not found."));
+    Student student = Student.builder()
+        .withFirstName(firstName)
+        .withLastName(lastName)
+        .withOwnerGroup(group)
+        .build();
+    studentService.addStudent(student);
+    return Collections.singletonList("Student added with ID " + student.getId() + ".");
+  }
+
+  private List<String> deleteStudent(ScriptCommand command) {
+    int studentId = command.getNumber(0, "delete <studentId>");
+    if (!studentService.deleteStudent(studentId)) {
+      throw new ValidationException("No student found with ID " + studentId + ".");
+    }
+    return Collections.singletonList("Student with ID " + studentId + " deleted.");
+  }
+
+  private List<String> deleteStudentsInRange(ScriptCommand command) {
+    String usage = "delete-range <fromStudentId> <toStudentId>";
+    int fromId = command.getNumber(0, usage);
+    int toId = command.getNumber(1, usage);
+    return Collections.singletonList(formatDeleted(
+        studentService.deleteStudentsInRange(fromId, toId), "with IDs " + fromId + "-" + toId));
+  }
+
+  private List<String> deleteStudentsInGroup(ScriptCommand command) {
+    int groupId = command.getNumber(0, "delete-group <groupId>");
+    return Collections.singletonList(formatDeleted(
+        studentService.deleteStudentsInGroup(groupId), "from group " + groupId));
+  }
+
+  private String formatDeleted(DeleteReport report, String description) {
+    return String.format("Deleted %d students %s in %d ms (%d chunks).",
+        report.getDeletedRows(), description, report.getElapsedMillis(), report.getChunks());
+  }
+
+  private List<String> enroll(ScriptCommand command) {
+    String usage = "enroll <studentId> <courseName>";
+    int studentId = command.getNumber(0, usage);
+    String courseName = command.getRemainder(1, usage);
+    if (courseService.enrollStudentToCourse(studentId, courseName)
+        == EnrollmentResult.ALREADY_ENROLLED) {
+      return Collections.singletonList(
+          "Student " + studentId + " is already enrolled in course '" + courseName + "'.");
+    }
+    return Collections.singletonList(
+        "Student " + studentId + " enrolled in course '" + courseName + "'.");
+  }
+
+  private List<String> unenroll(ScriptCommand command) {
+    String usage = "unenroll <studentId> <courseName>";
+    int studentId = command.getNumber(0, usage);
+    String courseName = command.getRemainder(1, usage);
+    courseService.removeStudentFromCourse(studentId, courseName);
+    return Collections.singletonList(
+        "Student " + studentId + " removed from course '" + courseName + "'.");
+  }
+
+  @RequiredArgsConstructor
+  private static class ScheduledChunk {
+
+    private final CommandAccess access;
+    private final CompletableFuture<ChunkResult> future;
+
+  }
+
+  @RequiredArgsConstructor
+  private static class ChunkResult {
+
+    private final List<String> lines;
+    private final int failed;
+
+  }
+
+}
@@ -0,0 +1,42 @@
+package ua.foxminded.schoolconsoleapp.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.ValidateResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "school.startup", name = "background-flyway-validation",
+    havingValue = "true")
+@Slf4j
+public class BackgroundValidationMigrationStrategy implements FlywayMigrationStrategy {
+
+  @Override
+  public void migrate(Flyway flyway) {
+    Flyway.configure()
+        .configuration(flyway.getConfiguration())
+        .validateOnMigrate(false)
+        .load()
+        .migrate();
+
+    Thread thread = new Thread(() -> validate(flyway), "flyway-validator");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private void validate(Flyway flyway) {
+    try {
+      ValidateResult result = flyway.validateWithResult();
+      if (result.validationSuccessful) {
+        log.info("Flyway validation finished in the background");
+      } else {
+        log.error("Flyway validation failed: {}", result.getAllErrorMessages());
+      }
+    } catch (RuntimeException e) {
+      log.error("Flyway validation could not run: {}", e.getMessage());
+    }
+  }
+
+}
@@ -0,0 +1,47 @@
+package ua.foxminded.schoolconsoleapp.startup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ua.foxminded.schoolconsoleapp.service.dao.CourseService;
+import ua.foxminded.schoolconsoleapp.service.dao.GroupService;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IndexWarmer {
+
+  private final GroupService groupService;
+  private final CourseService courseService;
+  private final StartupProperties startupProperties;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    if (!startupProperties.isBackgroundWarmUp()) {
+      rebuildIndexes();
+      return;
+    }
+
+    Thread thread = new Thread(() -> {
+      try {
+        rebuildIndexes();
+      } catch (RuntimeException e) {
+        log.warn("Background index warm-up failed, indexes will load on first use: {}",
+            e.getMessage());
+      }
+    }, "index-warmer");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private void rebuildIndexes() {
+    long start = System.currentTimeMillis();
+    groupService.rebuildGroupSizeIndex();
+    courseService.rebuildCourseNameIndex();
+    courseService.rebuildEnrollmentIndex();
+    log.info("In-memory indexes warmed up in {} ms", System.currentTimeMillis() - start);
+  }
+
+}
@@ -0,0 +1,17 @@
+package ua.foxminded.schoolconsoleapp.startup;
+
+import java.nio.file.Path;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.startup")
+@Getter
+@Setter
+public class StartupProperties {
+
+  private boolean backgroundWarmUp;
+  private boolean backgroundFlywayValidation;
+  private Path reportFile;
+
+}
@@ -0,0 +1,87 @@
+package ua.foxminded.schoolconsoleapp.startup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupReportWriter {
+
+  private static final int SLOWEST_STEPS = 20;
+
+  private final StartupProperties startupProperties;
+
+  @EventListener
+  public void writeReport(ApplicationReadyEvent event) {
+    Path file = startupProperties.getReportFile();
+    if (file == null
+        || !(event.getApplicationContext().getApplicationStartup()
+        instanceof BufferingApplicationStartup)) {
+      return;
+    }
+
+    StartupTimeline timeline = ((BufferingApplicationStartup) event.getApplicationContext()
+        .getApplicationStartup()).getBufferedTimeline();
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      Files.write(file, format(timeline, event.getTimeTaken()), StandardCharsets.UTF_8);
+      log.info("Startup report written to {}", file);
+    } catch (IOException e) {
+      log.warn("Failed to write startup report to {}: {}", file, e.getMessage());
+    }
+  }
+
+  static List<String> format(StartupTimeline timeline, Duration timeTaken) {
+    List<String> lines = new ArrayList<>();
+    lines.add(String.format("Application ready in %d ms (%d recorded steps)",
+        timeTaken == null ? 0 : timeTaken.toMillis(), timeline.getEvents().size()));
+
+    lines.add("");
+    lines.add("Total time per step:");
+    Map<String, Long> totals = timeline.getEvents().stream()
+        .collect(Collectors.groupingBy(event -> event.getStartupStep().getName(),
+            LinkedHashMap::new, Collectors.summingLong(event -> event.getDuration().toMillis())));
+    totals.entrySet().stream()
+        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+        .forEach(total -> lines.add(String.format("%8d ms  %s", total.getValue(),
+            total.getKey())));
+
+    lines.add("");
+    lines.add("Slowest steps:");
+    timeline.getEvents().stream()
+        .sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+        .limit(SLOWEST_STEPS)
+        .forEach(event -> lines.add(String.format("%8d ms  %s%s",
+            event.getDuration().toMillis(), event.getStartupStep().getName(),
+            formatTags(event.getStartupStep()))));
+    return lines;
+  }
+
+  private static String formatTags(StartupStep step) {
+    List<String> tags = new ArrayList<>();
+    step.getTags().forEach(tag -> tags.add(tag.getKey() + "=" + tag.getValue()));
+    return tags.isEmpty() ? "" : " " + tags;
+  }
+
+}
@@ -0,0 +1,25 @@
+package ua.foxminded.schoolconsoleapp.transaction;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public final class TransactionTemplates {
+
+  private TransactionTemplates() {
+  }
+
+  // A read-write transaction goes to the primary, and a new one can also be started after
+  // commit, when joining would reuse the resources of the transaction that has just finished.
+  public static TransactionTemplate newReadWrite(TransactionTemplate template) {
+    TransactionTemplate newTransaction = new TransactionTemplate(template.getTransactionManager());
+    newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    return newTransaction;
+  }
+
+  public static TransactionTemplate readOnly(TransactionTemplate template) {
+    TransactionTemplate readOnly = new TransactionTemplate(template.getTransactionManager());
+    readOnly.setReadOnly(true);
+    return readOnly;
+  }
+
+}
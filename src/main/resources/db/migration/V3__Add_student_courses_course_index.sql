@@ -0,0 +1 @@
+CREATE INDEX student_courses_course_id_student_id_idx ON student_courses (course_id, student_id);
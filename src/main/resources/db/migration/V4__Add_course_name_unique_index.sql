@@ -0,0 +1 @@
+CREATE UNIQUE INDEX courses_course_name_lower_idx ON courses (LOWER(course_name));
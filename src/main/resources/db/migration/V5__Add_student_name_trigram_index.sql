@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX students_full_name_trgm_idx ON students
+  USING GIST ((first_name || ' ' || last_name) gist_trgm_ops);
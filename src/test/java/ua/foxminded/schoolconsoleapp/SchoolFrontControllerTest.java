@@ -1,16 +1,31 @@
 package ua.foxminded.schoolconsoleapp;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ua.foxminded.schoolconsoleapp.consolemanager.ConsoleManager;
 import ua.foxminded.schoolconsoleapp.consolemenu.ConsoleMenu;
+import ua.foxminded.schoolconsoleapp.service.script.ScriptProperties;
+import ua.foxminded.schoolconsoleapp.service.script.ScriptReport;
+import ua.foxminded.schoolconsoleapp.service.script.ScriptRunner;
 
 @ExtendWith(MockitoExtension.class)
 class SchoolFrontControllerTest {
@@ -24,12 +39,22 @@ class SchoolFrontControllerTest {
   @Mock
   ConsoleManager consoleManager;
 
+  @Mock
+  private ScriptRunner scriptRunner;
+
+  @Spy
+  private ScriptProperties scriptProperties = new ScriptProperties();
+
+  @TempDir
+  Path tempDir;
+
   @InjectMocks
   private SchoolFrontController controller;
 
   @Test
   void testRun() {
-    when(consoleManager.readLine()).thenReturn("1", "2", "3", "4", "5", "6", "invalid", "exit");
+    when(consoleManager.readLine()).thenReturn("1", "2", "3", "4", "5", "6", "7", "8", "9",
+        "browse", "export", "generate", "load", "cache", "index", "stats", "invalid", "exit");
 
     controller.run();
 
@@ -39,9 +64,43 @@ class SchoolFrontControllerTest {
     verify(operations).deleteStudent();
     verify(operations).enrollStudentToCourse();
     verify(operations).removeStudentFromCourse();
+    verify(operations).importStudents();
+    verify(operations).searchStudentsByName();
+    verify(operations).printSchoolReport();
+    verify(operations).browseStudents();
+    verify(operations).exportData();
+    verify(operations).generateData();
+    verify(operations).runLoadTest();
+    verify(operations).printCacheStatistics();
+    verify(operations).printEnrollmentIndex();
+    verify(operations).printStatistics();
     verify(consoleManager).print("Invalid choice. Please select a valid option.");
     verify(consoleManager).print("Exiting the School Application.");
-    verify(consoleMenu, times(8)).drawMenu();
+    verify(consoleMenu, times(18)).drawMenu();
+  }
+
+  @Test
+  void runScriptShouldPrintSummaryAndReturnFailureExitCode() throws IOException {
+    Path script = Files.write(tempDir.resolve("commands.txt"), Arrays.asList("delete 1"));
+    when(scriptRunner.run(any(BufferedReader.class), any(Writer.class)))
+        .thenReturn(new ScriptReport(4, 1, 100));
+
+    int exitCode = controller.runScript(script.toString());
+
+    assertThat(exitCode).isEqualTo(1);
+    verify(consoleManager).print(String.format(
+        "Executed %d commands in %d ms (%.1f commands/sec), %d failed.", 4, 100, 40.0, 1));
+    verify(consoleMenu, never()).drawMenu();
+  }
+
+  @Test
+  void runScriptShouldPrintMessageIfScriptCannotBeRead() {
+    Path script = tempDir.resolve("missing.txt");
+
+    int exitCode = controller.runScript(script.toString());
+
+    assertThat(exitCode).isEqualTo(1);
+    verify(consoleManager).print(startsWith("Failed to read script '" + script + "'"));
   }
 
 }
@@ -4,30 +4,62 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static ua.foxminded.schoolconsoleapp.repository.projection.StudentNames.studentName;
 
-import java.util.ArrayList;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
+import ua.foxminded.schoolconsoleapp.cache.ReferenceDataCache;
 import ua.foxminded.schoolconsoleapp.consolemanager.ConsoleManager;
 import ua.foxminded.schoolconsoleapp.entitу.Course;
 import ua.foxminded.schoolconsoleapp.entitу.Group;
 import ua.foxminded.schoolconsoleapp.entitу.Student;
+import ua.foxminded.schoolconsoleapp.index.CourseBitmapStats;
+import ua.foxminded.schoolconsoleapp.metrics.MetricsReporter;
+import ua.foxminded.schoolconsoleapp.repository.EnrollmentResult;
 import ua.foxminded.schoolconsoleapp.service.dao.CourseService;
 import ua.foxminded.schoolconsoleapp.service.dao.GroupService;
 import ua.foxminded.schoolconsoleapp.service.dao.StudentService;
+import ua.foxminded.schoolconsoleapp.service.export.ExportFormat;
+import ua.foxminded.schoolconsoleapp.service.export.ExportReport;
+import ua.foxminded.schoolconsoleapp.service.export.ExportService;
+import ua.foxminded.schoolconsoleapp.service.generator.GenerationReport;
+import ua.foxminded.schoolconsoleapp.service.generator.SchoolDataGenerator;
+import ua.foxminded.schoolconsoleapp.service.importer.ImportReport;
+import ua.foxminded.schoolconsoleapp.service.importer.StudentImportService;
+import ua.foxminded.schoolconsoleapp.service.importer.exception.StudentImportException;
+import ua.foxminded.schoolconsoleapp.service.load.LoadDriver;
+import ua.foxminded.schoolconsoleapp.service.load.LoadOperation;
+import ua.foxminded.schoolconsoleapp.service.load.LoadReport;
+import ua.foxminded.schoolconsoleapp.service.load.OperationStats;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetSlice;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetToken;
+import ua.foxminded.schoolconsoleapp.service.report.ReportService;
+import ua.foxminded.schoolconsoleapp.service.report.SchoolReport;
 import ua.foxminded.schoolconsoleapp.validator.Validator;
 import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
 
@@ -43,6 +75,27 @@ class SchoolOperationsTest {
   @MockBean
   protected GroupService groupService;
 
+  @MockBean
+  protected StudentImportService studentImportService;
+
+  @MockBean
+  protected ReferenceDataCache referenceDataCache;
+
+  @MockBean
+  protected MetricsReporter metricsReporter;
+
+  @MockBean
+  protected ReportService reportService;
+
+  @MockBean
+  protected ExportService exportService;
+
+  @MockBean
+  protected SchoolDataGenerator schoolDataGenerator;
+
+  @MockBean
+  protected LoadDriver loadDriver;
+
   @MockBean
   ConsoleManager consoleManager;
 
@@ -131,13 +184,18 @@ class SchoolOperationsTest {
 
     when(consoleManager.readLine()).thenReturn(courseName);
     when(courseService.getCourseIdByName(courseName)).thenReturn(courseId);
-    when(studentService.findStudentsByCourseName(courseName)).thenReturn(enrolledStudents);
+    when(studentService.forEachStudentByCourseName(eq(courseName), any())).thenAnswer(
+        invocation -> {
+          Consumer<Student> action = invocation.getArgument(1);
+          enrolledStudents.forEach(action);
+          return (long) enrolledStudents.size();
+        });
 
     schoolOperations.findStudentsByGroupName();
 
     verify(consoleManager).print("Enter the course name.");
     verify(courseService).getCourseIdByName(courseName);
-    verify(studentService).findStudentsByCourseName(courseName);
+    verify(studentService, never()).findStudentsByCourseName(courseName);
     verify(consoleManager).print("John Doe");
     verify(consoleManager).print("Alice Smith");
   }
@@ -168,17 +226,15 @@ class SchoolOperationsTest {
 
     Optional<Course> courseId = Optional.of(course);
 
-    List<Student> enrolledStudents = new ArrayList<>();
-
     when(consoleManager.readLine()).thenReturn(courseName);
     when(courseService.getCourseIdByName(courseName)).thenReturn(courseId);
-    when(studentService.findStudentsByCourseName(courseName)).thenReturn(enrolledStudents);
+    when(studentService.forEachStudentByCourseName(eq(courseName), any())).thenReturn(0L);
 
     schoolOperations.findStudentsByGroupName();
 
     verify(consoleManager).print("Enter the course name.");
     verify(courseService).getCourseIdByName(courseName);
-    verify(studentService).findStudentsByCourseName(courseName);
+    verify(studentService).forEachStudentByCourseName(eq(courseName), any());
     verify(consoleManager).print("No student is enrolled in this course.");
   }
 
@@ -359,6 +415,61 @@ class SchoolOperationsTest {
         "No student found with ID " + studentId + ". No deletion performed.");
   }
 
+  @Test
+  void searchStudentsByNameShouldPrintMatchingStudents() {
+    when(consoleManager.readLine()).thenReturn("smi");
+    when(studentService.searchByName(eq("smi"), anyInt())).thenReturn(Collections.singletonList(
+        studentName(3, "James", "Smith")));
+
+    schoolOperations.searchStudentsByName();
+
+    verify(consoleManager).print("Enter a student name to search.");
+    verify(consoleManager).print("3: James Smith");
+  }
+
+  @Test
+  void searchStudentsByNameShouldPrintMessageIfNothingFound() {
+    when(consoleManager.readLine()).thenReturn("zzz");
+
+    schoolOperations.searchStudentsByName();
+
+    verify(consoleManager).print("No students found matching 'zzz'.");
+  }
+
+  @Test
+  void browseStudentsShouldPageUntilTheLastSlice() {
+    Student first = Student.builder().withId(1).withFirstName("Anna").withLastName("Lee").build();
+    Student second = Student.builder().withId(2).withFirstName("Tom").withLastName("Ray").build();
+    String token = KeysetToken.encode(1);
+    when(studentService.getStudentsAfter(null, 20)).thenReturn(new KeysetSlice<>(
+        new SliceImpl<>(Collections.singletonList(first)), token));
+    when(studentService.getStudentsAfter(token, 20)).thenReturn(new KeysetSlice<>(
+        new SliceImpl<>(Collections.singletonList(second)), null));
+    when(consoleManager.readLine()).thenReturn("");
+
+    schoolOperations.browseStudents();
+
+    verify(consoleManager).print("Page 1:");
+    verify(consoleManager).print("1: Anna Lee");
+    verify(consoleManager).print("Page 2:");
+    verify(consoleManager).print("2: Tom Ray");
+    verify(consoleManager).print("End of the student list.");
+  }
+
+  @Test
+  void browseStudentsShouldStopWhenUserQuits() {
+    String token = KeysetToken.encode(1);
+    when(studentService.getStudentsAfter(null, 20)).thenReturn(new KeysetSlice<>(
+        new SliceImpl<>(Collections.singletonList(Student.builder().withId(1)
+            .withFirstName("Anna").withLastName("Lee").build())), token));
+    when(consoleManager.readLine()).thenReturn("q");
+
+    schoolOperations.browseStudents();
+
+    verify(studentService, never()).getStudentsAfter(eq(token), anyInt());
+    verify(consoleManager, never()).print("End of the student list.");
+  }
+
   @Test
   void enrollStudentToCourseShouldWorkCorrectlyIfStudentAndCourseExist() {
     int studentId = 1;
@@ -392,6 +503,57 @@ class SchoolOperationsTest {
     verify(consoleManager).print("Student successfully added to the course 'Math'.");
   }
 
+  @Test
+  void enrollStudentToCourseShouldReportAlreadyEnrolledStudent() {
+    int studentId = 1;
+    when(consoleManager.parseInput(anyString())).thenReturn(studentId);
+    when(consoleManager.readLine()).thenReturn("1", "Math");
+    when(studentService.getStudentById(studentId)).thenReturn(
+        Optional.of(Student.builder().withId(studentId).build()));
+    when(courseService.resolveCourseName("Math")).thenReturn(Optional.of("Math"));
+    when(courseService.enrollStudentToCourse(studentId, "Math"))
+        .thenReturn(EnrollmentResult.ALREADY_ENROLLED);
+
+    schoolOperations.enrollStudentToCourse();
+
+    verify(consoleManager).print("Student is already enrolled in the course 'Math'.");
+    verify(consoleManager, never()).print("Student successfully added to the course 'Math'.");
+  }
+
+  @Test
+  void enrollStudentToCourseShouldUseCanonicalCourseNameForUniquePrefix() {
+    int studentId = 1;
+
+    when(consoleManager.readLine()).thenReturn(String.valueOf(studentId), "phy");
+    when(consoleManager.parseInput(String.valueOf(studentId))).thenReturn(studentId);
+    when(studentService.getStudentById(studentId)).thenReturn(Optional.of(new Student()));
+    when(courseService.completeCourseName(eq("phy"), anyInt()))
+        .thenReturn(Collections.singletonList("Physics"));
+
+    schoolOperations.enrollStudentToCourse();
+
+    verify(courseService).enrollStudentToCourse(studentId, "Physics");
+    verify(consoleManager).print("Student successfully added to the course 'Physics'.");
+  }
+
+  @Test
+  void enrollStudentToCourseShouldSuggestCoursesForAmbiguousPrefix() {
+    int studentId = 1;
+
+    when(consoleManager.readLine()).thenReturn(String.valueOf(studentId), "ma", "mathematics");
+    when(consoleManager.parseInput(String.valueOf(studentId))).thenReturn(studentId);
+    when(studentService.getStudentById(studentId)).thenReturn(Optional.of(new Student()));
+    when(courseService.completeCourseName(eq("ma"), anyInt()))
+        .thenReturn(Arrays.asList("Marketing", "Mathematics"));
+    when(courseService.resolveCourseName("mathematics")).thenReturn(Optional.of("Mathematics"));
+
+    schoolOperations.enrollStudentToCourse();
+
+    verify(consoleManager).print("Did you mean: Marketing, Mathematics?");
+    verify(consoleManager, times(2)).print("Enter a course name");
+    verify(courseService).enrollStudentToCourse(studentId, "Mathematics");
+  }
+
   @Test
   void enrollStudentToCourseShouldNotEnrollIfStudentIdIsInvalid() {
     int invalidStudentId = 0;
@@ -522,4 +684,165 @@ class SchoolOperationsTest {
         "Student successfully removed from the course '" + courseName + "'.");
   }
 
+  @Test
+  void importStudentsShouldPrintReportIfFileExists(@TempDir Path tempDir) throws IOException {
+    Path file = Files.write(tempDir.resolve("students.csv"), "John,Doe,1".getBytes());
+
+    when(consoleManager.readLine()).thenReturn(file.toString());
+    when(studentImportService.importStudents(file)).thenReturn(new ImportReport(1, 0, 0));
+
+    schoolOperations.importStudents();
+
+    verify(studentImportService).importStudents(file);
+    verify(consoleManager).print("Imported 1 students, rejected 0 rows in 0 ms (1.0 rows/sec).");
+  }
+
+  @Test
+  void importStudentsShouldNotImportIfFileDoesNotExist(@TempDir Path tempDir) {
+    String fileName = tempDir.resolve("missing.csv").toString();
+
+    when(consoleManager.readLine()).thenReturn(fileName);
+
+    schoolOperations.importStudents();
+
+    verify(studentImportService, never()).importStudents(any(Path.class));
+    verify(consoleManager).print("File '" + fileName + "' does not exist.");
+  }
+
+  @Test
+  void importStudentsShouldPrintErrorMessageWhenImportFails(@TempDir Path tempDir)
+      throws IOException {
+    Path file = Files.write(tempDir.resolve("students.csv"), "John,Doe,1".getBytes());
+
+    when(consoleManager.readLine()).thenReturn(file.toString());
+    when(studentImportService.importStudents(file)).thenThrow(
+        new StudentImportException("Unable to read the file '" + file + "'."));
+
+    schoolOperations.importStudents();
+
+    verify(consoleManager).print("Unable to read the file '" + file + "'.");
+  }
+
+  @Test
+  void printCacheStatisticsShouldPrintCountersOfEveryCache() {
+    Map<String, CacheStats> statistics = new LinkedHashMap<>();
+    statistics.put("coursesByName", CacheStats.of(3, 1, 1, 0, 0, 2, 0));
+    when(referenceDataCache.getStatistics()).thenReturn(statistics);
+    when(referenceDataCache.getSizes()).thenReturn(Collections.singletonMap("coursesByName", 1L));
+
+    schoolOperations.printCacheStatistics();
+
+    verify(consoleManager).print(
+        "coursesByName: size=1, hits=3, misses=1, evictions=2, hit ratio=0.75");
+  }
+
+  @Test
+  void printEnrollmentIndexShouldPrintMemoryPerCourseAndTotal() {
+    when(courseService.getAllCourses()).thenReturn(Collections.singletonList(
+        Course.builder().withId(1).withCourseName("Mathematics").build()));
+    when(courseService.getEnrollmentIndexStatistics()).thenReturn(Arrays.asList(
+        new CourseBitmapStats(1, 120, 264), new CourseBitmapStats(2, 3, 22)));
+
+    schoolOperations.printEnrollmentIndex();
+
+    verify(consoleManager).print("Mathematics: 120 students, 264 bytes");
+    verify(consoleManager).print("Course 2: 3 students, 22 bytes");
+    verify(consoleManager).print("Total: 123 enrollments in 2 courses, 286 bytes");
+  }
+
+  @Test
+  void printEnrollmentIndexShouldPrintMessageWhenThereAreNoEnrollments() {
+    when(courseService.getEnrollmentIndexStatistics()).thenReturn(Collections.emptyList());
+
+    schoolOperations.printEnrollmentIndex();
+
+    verify(consoleManager).print("There are no enrollments.");
+  }
+
+  @Test
+  void printStatisticsShouldPrintEveryReportLine() {
+    when(metricsReporter.report()).thenReturn(Arrays.asList(
+        "CourseService.enrollStudentToCourse: count=1", "hikaricp.connections.active{pool=p}: 0"));
+
+    schoolOperations.printStatistics();
+
+    verify(consoleManager).print("CourseService.enrollStudentToCourse: count=1");
+    verify(consoleManager).print("hikaricp.connections.active{pool=p}: 0");
+  }
+
+  @Test
+  void printStatisticsShouldPrintMessageWhenNothingRecorded() {
+    when(metricsReporter.report()).thenReturn(Collections.emptyList());
+
+    schoolOperations.printStatistics();
+
+    verify(consoleManager).print("No metrics recorded yet.");
+  }
+
+  @Test
+  void printSchoolReportShouldPrintCountsAndCourseOverlapOnce() {
+    Map<String, Map<String, Long>> overlap = new LinkedHashMap<>();
+    overlap.put("Mathematics", Collections.singletonMap("Biology", 2L));
+    overlap.put("Biology", Collections.singletonMap("Mathematics", 2L));
+    when(reportService.buildSchoolReport()).thenReturn(new SchoolReport(4, 1, 2,
+        Collections.singletonMap(7, "XV-46"), Collections.singletonMap(7, 3L),
+        Collections.singletonMap("Mathematics", 2L), overlap, 15));
+
+    schoolOperations.printSchoolReport();
+
+    verify(consoleManager).print("Students: 4 (without a group: 1, without courses: 2)");
+    verify(consoleManager).print("  XV-46 (7): 3");
+    verify(consoleManager).print("  Mathematics: 2");
+    verify(consoleManager).print("  Mathematics & Biology: 2");
+    verify(consoleManager, never()).print("  Biology & Mathematics: 2");
+    verify(consoleManager).print("Report built in 15 ms.");
+  }
+
+  @Test
+  void exportDataShouldExportGzippedFormatAndPrintThroughput() {
+    when(consoleManager.readLine()).thenReturn("/tmp/school-export", "jsonl.gz");
+    when(exportService.export(Paths.get("/tmp/school-export"), ExportFormat.JSONL, true))
+        .thenReturn(new ExportReport(2000, 1048576, 500));
+
+    schoolOperations.exportData();
+
+    verify(consoleManager).print(
+        "Exported 2000 rows (1.0 MB) in 500 ms (4000.0 rows/sec, 2.0 MB/sec).");
+  }
+
+  @Test
+  void exportDataShouldRejectUnknownFormat() {
+    when(consoleManager.readLine()).thenReturn("/tmp/school-export", "xml");
+
+    schoolOperations.exportData();
+
+    verify(consoleManager).print("Unknown export format 'xml'.");
+    verifyNoInteractions(exportService);
+  }
+
+  @Test
+  void generateDataShouldPrintGeneratedRowsAndThroughput() {
+    when(schoolDataGenerator.generate()).thenReturn(new GenerationReport(10, 5, 1000, 3985, 500));
+
+    schoolOperations.generateData();
+
+    verify(consoleManager).print("Generated 10 groups, 5 courses, 1000 students and 3985 "
+        + "enrollments in 500 ms (10000.0 rows/sec).");
+  }
+
+  @Test
+  void runLoadTestShouldPrintPercentilesPerOperationAndThroughput() {
+    when(loadDriver.run()).thenReturn(new LoadReport(4, Arrays.asList(
+        new OperationStats(LoadOperation.ROSTER, 600, 0, 850, 4100, 9200, 12000),
+        new OperationStats(LoadOperation.ENROLL, 400, 3, 1200, 5300, 8100, 8500)), 2000));
+
+    schoolOperations.runLoadTest();
+
+    verify(consoleManager).print(
+        "ROSTER              600 ops      0 errors  p50=850 us  p99=4100 us  p99.9=9200 us  "
+            + "max=12000 us");
+    verify(consoleManager).print(
+        "Ran 1000 operations on 4 threads in 2000 ms (500.0 ops/sec), 3 errors.");
+  }
+
 }
@@ -0,0 +1,59 @@
+package ua.foxminded.schoolconsoleapp.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ua.foxminded.schoolconsoleapp.entitу.Course;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.entitу.Student;
+
+class ReferenceDataCacheTest {
+
+  private ReferenceDataCache cache;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    cache = new ReferenceDataCache(new CacheProperties());
+    loads = new AtomicInteger();
+  }
+
+  @Test
+  void getCourseByNameShouldReturnNewCopyWithoutStudentsOnEveryCall() {
+    Course first = cache.getCourseByName("art", this::loadCourse).orElseThrow(AssertionError::new);
+    first.setCourseName("Changed");
+    Course second = cache.getCourseById(9, id -> Optional.empty())
+        .orElseThrow(AssertionError::new);
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.getCourseName()).isEqualTo("Art");
+    assertThat(second.getStudents()).isNull();
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void getGroupByIdShouldNotLeakChangesIntoCache() {
+    cache.getGroupById(3, this::loadGroup).ifPresent(group -> group.setGroupName("Changed"));
+
+    assertThat(cache.getGroupById(3, this::loadGroup))
+        .map(Group::getGroupName)
+        .contains("XV-46");
+    assertThat(loads).hasValue(1);
+  }
+
+  private Optional<Course> loadCourse(String courseName) {
+    loads.incrementAndGet();
+    return Optional.of(Course.builder().withId(9).withCourseName("Art")
+        .withStudents(Collections.singleton(Student.builder().withId(1).build())).build());
+  }
+
+  private Optional<Group> loadGroup(Integer id) {
+    loads.incrementAndGet();
+    return Optional.of(Group.builder().withId(id).withGroupName("XV-46").build());
+  }
+
+}
@@ -0,0 +1,69 @@
+package ua.foxminded.schoolconsoleapp.consolemanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncOutputSinkTest {
+
+  private ByteArrayOutputStream out;
+  private AsyncOutputSink outputSink;
+
+  @BeforeEach
+  void setUp() {
+    out = new ByteArrayOutputStream();
+    outputSink = new AsyncOutputSink(out, 16, 1024);
+  }
+
+  @AfterEach
+  void tearDown() {
+    outputSink.close();
+  }
+
+  @Test
+  void flushShouldWriteAllLinesInSubmissionOrderWhenQueueOverflows() {
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      String line = "Student " + i;
+      expected.add(line);
+      outputSink.write(line);
+    }
+
+    outputSink.flush();
+
+    assertThat(lines()).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void flushShouldMakeBufferedOutputVisibleBeforePrompt() {
+    outputSink.write("Enter the student ID");
+
+    outputSink.flush();
+
+    assertThat(lines()).containsExactly("Enter the student ID");
+  }
+
+  @Test
+  void closeShouldFlushPendingOutputAndRejectFurtherWrites() {
+    outputSink.write("Exiting the School Application.");
+
+    outputSink.close();
+
+    assertThat(lines()).containsExactly("Exiting the School Application.");
+    assertThatThrownBy(() -> outputSink.write("late"))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private String[] lines() {
+    String text = new String(out.toByteArray(), Charset.defaultCharset());
+    return text.isEmpty() ? new String[0] : text.split(System.lineSeparator());
+  }
+
+}
@@ -0,0 +1,52 @@
+package ua.foxminded.schoolconsoleapp.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ReplicaLagMonitorTest {
+
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final ReplicaLagMonitor replicaLagMonitor = new ReplicaLagMonitor(jdbcTemplate,
+      Duration.ofSeconds(5));
+
+  @Test
+  void checkLagShouldKeepReplicaAvailableWithinMaxLag() {
+    when(jdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(1.5);
+
+    replicaLagMonitor.checkLag();
+
+    assertThat(replicaLagMonitor.isReplicaAvailable()).isTrue();
+    assertThat(replicaLagMonitor.getLagSeconds()).isEqualTo(1.5);
+  }
+
+  @Test
+  void checkLagShouldMarkReplicaUnavailableBeyondMaxLag() {
+    when(jdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(12.0);
+
+    replicaLagMonitor.checkLag();
+
+    assertThat(replicaLagMonitor.isReplicaAvailable()).isFalse();
+  }
+
+  @Test
+  void checkLagShouldMarkReplicaUnavailableWhenUnreachableAndRecoverLater() {
+    when(jdbcTemplate.queryForObject(anyString(), eq(Double.class)))
+        .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+        .thenReturn(0.0);
+
+    replicaLagMonitor.checkLag();
+    assertThat(replicaLagMonitor.isReplicaAvailable()).isFalse();
+
+    replicaLagMonitor.checkLag();
+    assertThat(replicaLagMonitor.isReplicaAvailable()).isTrue();
+  }
+
+}
@@ -0,0 +1,78 @@
+package ua.foxminded.schoolconsoleapp.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class RoutingDataSourceTest {
+
+  private final DataSource primary = mock(DataSource.class);
+  private final DataSource replica = mock(DataSource.class);
+  private final Connection primaryConnection = mock(Connection.class);
+  private final Connection replicaConnection = mock(Connection.class);
+  private final ReplicaLagMonitor replicaLagMonitor = mock(ReplicaLagMonitor.class);
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private RoutingDataSource routingDataSource;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    when(replica.getConnection()).thenReturn(replicaConnection);
+    when(replicaLagMonitor.isReplicaAvailable()).thenReturn(true);
+
+    routingDataSource = new RoutingDataSource(primary, replica, replicaLagMonitor);
+    routingDataSource.afterPropertiesSet();
+    routingDataSource.bindTo(meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+  }
+
+  @Test
+  void getConnectionShouldUsePrimaryOutsideReadOnlyTransaction() throws SQLException {
+    assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    assertThat(routeCount(DataSourceRoute.PRIMARY)).isEqualTo(1);
+    assertThat(routeCount(DataSourceRoute.REPLICA)).isZero();
+  }
+
+  @Test
+  void getConnectionShouldUseReplicaInReadOnlyTransaction() throws SQLException {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+    assertThat(routeCount(DataSourceRoute.REPLICA)).isEqualTo(1);
+  }
+
+  @Test
+  void getConnectionShouldFallBackToPrimaryWhenReplicaIsLagging() throws SQLException {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    when(replicaLagMonitor.isReplicaAvailable()).thenReturn(false);
+
+    assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    assertThat(routeCount(DataSourceRoute.PRIMARY)).isEqualTo(1);
+    assertThat(meterRegistry.get(RoutingDataSource.FALLBACK_COUNTER).functionCounter()
+        .count()).isEqualTo(1);
+  }
+
+  private double routeCount(DataSourceRoute route) {
+    return meterRegistry.get(RoutingDataSource.ROUTE_COUNTER)
+        .tag("route", route.name().toLowerCase(Locale.ROOT))
+        .functionCounter()
+        .count();
+  }
+
+}
@@ -0,0 +1,52 @@
+package ua.foxminded.schoolconsoleapp.entitу;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class EntityEqualityTest {
+
+  @Test
+  void entitiesWithSameIdShouldBeEqualRegardlessOfOtherFields() {
+    Student stored = Student.builder().withId(1).withFirstName("John").withLastName("Doe").build();
+    Student updated = Student.builder().withId(1).withFirstName("Johnny").build();
+
+    assertThat(stored).isEqualTo(updated).hasSameHashCodeAs(updated);
+    assertThat(stored).isNotEqualTo(Student.builder().withId(2).build());
+  }
+
+  @Test
+  void transientEntitiesShouldOnlyBeEqualToThemselves() {
+    Course course = Course.builder().withCourseName("Mathematics").build();
+
+    assertThat(course).isEqualTo(course);
+    assertThat(course).isNotEqualTo(Course.builder().withCourseName("Mathematics").build());
+  }
+
+  @Test
+  void entitiesWithDifferentIdsShouldHaveDifferentHashCodes() {
+    Set<Integer> hashCodes = new HashSet<>();
+    for (int id = 1; id <= 100; id++) {
+      hashCodes.add(Student.builder().withId(id).build().hashCode());
+    }
+
+    assertThat(hashCodes).hasSize(100);
+  }
+
+  @Test
+  void bidirectionalAssociationsShouldBeHashableWithoutWalkingTheGraph() {
+    Course course = Course.builder().withId(1).withStudents(new HashSet<>()).build();
+    Student student = Student.builder().withId(1).withCourses(new HashSet<>()).build();
+    student.getCourses().add(course);
+    course.getStudents().add(student);
+
+    Set<Group> groups = new HashSet<>();
+    groups.add(Group.builder().withId(1).withStudents(course.getStudents()).build());
+
+    assertThat(course.getStudents().remove(Student.builder().withId(1).build())).isTrue();
+    assertThat(groups).contains(Group.builder().withId(1).build());
+  }
+
+}
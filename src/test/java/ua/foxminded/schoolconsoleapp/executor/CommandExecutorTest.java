@@ -0,0 +1,71 @@
+package ua.foxminded.schoolconsoleapp.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CommandExecutorTest {
+
+  private final CommandExecutor commandExecutor = new CommandExecutor(1, 1);
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    commandExecutor.shutdown();
+  }
+
+  @Test
+  void submitShouldReturnFutureWithCommandResult() {
+    CompletableFuture<String> future = commandExecutor.submit(() -> "roster");
+
+    assertThat(future.join()).isEqualTo("roster");
+    assertThat(commandExecutor.getThreads()).isEqualTo(1);
+    assertThat(commandExecutor.getCapacity()).isEqualTo(2);
+  }
+
+  @Test
+  void submitShouldBlockWhileWorkersAndQueueAreFull() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    commandExecutor.submit(() -> await(release));
+    commandExecutor.submit(() -> await(release));
+
+    CountDownLatch submitted = new CountDownLatch(1);
+    Thread producer = new Thread(() -> {
+      commandExecutor.submit(() -> true);
+      submitted.countDown();
+    });
+    producer.start();
+
+    assertThat(submitted.await(200, TimeUnit.MILLISECONDS)).isFalse();
+
+    release.countDown();
+
+    assertThat(submitted.await(5, TimeUnit.SECONDS)).isTrue();
+    producer.join();
+  }
+
+  @Test
+  void submitAfterShouldRunCommandOnceDependenciesComplete() {
+    CompletableFuture<String> dependency = new CompletableFuture<>();
+    CompletableFuture<String> future = commandExecutor.submitAfter(dependency, () -> "enroll");
+
+    assertThat(future).isNotDone();
+
+    dependency.completeExceptionally(new IllegalStateException("Failed"));
+
+    assertThat(future.join()).isEqualTo("enroll");
+  }
+
+  private boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+}
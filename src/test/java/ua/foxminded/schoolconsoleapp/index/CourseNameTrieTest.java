@@ -0,0 +1,48 @@
+package ua.foxminded.schoolconsoleapp.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ua.foxminded.schoolconsoleapp.entitу.Course;
+
+class CourseNameTrieTest {
+
+  private CourseNameTrie courseNameTrie;
+
+  @BeforeEach
+  void setUp() {
+    courseNameTrie = new CourseNameTrie();
+    courseNameTrie.rebuild(Arrays.asList(
+        Course.builder().withId(1).withCourseName("Mathematics").build(),
+        Course.builder().withId(2).withCourseName("Marketing").build(),
+        Course.builder().withId(3).withCourseName("Physics").build()));
+  }
+
+  @Test
+  void resolveShouldIgnoreCaseAndSurroundingWhitespace() {
+    assertThat(courseNameTrie.resolve("  mathEMATICS ")).contains("Mathematics");
+    assertThat(courseNameTrie.resolve("Math")).isEmpty();
+  }
+
+  @Test
+  void completeShouldReturnSortedNamesLimitedToLimit() {
+    assertThat(courseNameTrie.complete("MA", 10)).containsExactly("Marketing", "Mathematics");
+    assertThat(courseNameTrie.complete("ma", 1)).containsExactly("Marketing");
+    assertThat(courseNameTrie.complete("chem", 10)).isEmpty();
+  }
+
+  @Test
+  void putShouldReplaceRenamedCourseAndRemoveShouldDropIt() {
+    courseNameTrie.put(3, "Chemistry");
+
+    assertThat(courseNameTrie.resolve("physics")).isEmpty();
+    assertThat(courseNameTrie.complete("ch", 10)).containsExactly("Chemistry");
+
+    courseNameTrie.remove(3);
+
+    assertThat(courseNameTrie.complete("", 10)).containsExactly("Marketing", "Mathematics");
+  }
+
+}
@@ -0,0 +1,122 @@
+package ua.foxminded.schoolconsoleapp.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EnrollmentIndexTest {
+
+  private EnrollmentIndex enrollmentIndex;
+
+  @BeforeEach
+  void setUp() {
+    enrollmentIndex = new EnrollmentIndex();
+    enrollmentIndex.rebuild(handler -> {
+      handler.accept(1, 10);
+      handler.accept(2, 10);
+      handler.accept(1, 20);
+    });
+  }
+
+  @Test
+  void rebuildShouldAnswerLookupsInBothDirections() {
+    assertThat(enrollmentIndex.isLoaded()).isTrue();
+    assertThat(enrollmentIndex.isEnrolled(1, 10)).isTrue();
+    assertThat(enrollmentIndex.isEnrolled(2, 20)).isFalse();
+    assertThat(enrollmentIndex.isEnrolled(1, 30)).isFalse();
+    assertThat(enrollmentIndex.getStudentIds(10)).containsExactly(1, 2);
+    assertThat(enrollmentIndex.getStudentIds(30)).isEmpty();
+    assertThat(enrollmentIndex.getCourseIds(1)).containsExactly(10, 20);
+    assertThat(enrollmentIndex.getCourseIds(3)).isEmpty();
+  }
+
+  @Test
+  void getStudentIdsShouldReturnPageAfterGivenStudentId() {
+    enrollmentIndex.enrollAll(10, Arrays.asList(3, 4, 7, 9));
+
+    assertThat(enrollmentIndex.getStudentIds(10, 0, 3)).containsExactly(1, 2, 3);
+    assertThat(enrollmentIndex.getStudentIds(10, 3, 3)).containsExactly(4, 7, 9);
+    assertThat(enrollmentIndex.getStudentIds(10, 5, 10)).containsExactly(7, 9);
+    assertThat(enrollmentIndex.getStudentIds(10, 9, 10)).isEmpty();
+    assertThat(enrollmentIndex.getStudentIds(30, 0, 10)).isEmpty();
+  }
+
+  @Test
+  void enrollAndUnenrollShouldUpdateSingleEnrollment() {
+    enrollmentIndex.enroll(3, 30);
+    enrollmentIndex.unenroll(1, 10);
+    enrollmentIndex.unenroll(1, 40);
+
+    assertThat(enrollmentIndex.isEnrolled(3, 30)).isTrue();
+    assertThat(enrollmentIndex.getStudentIds(10)).containsExactly(2);
+  }
+
+  @Test
+  void enrollAllAndUnenrollAllShouldUpdateWholeCourse() {
+    enrollmentIndex.enrollAll(20, Arrays.asList(2, 3, 4));
+    enrollmentIndex.unenrollAll(10, Arrays.asList(1, 2, 5));
+
+    assertThat(enrollmentIndex.getStudentIds(20)).containsExactly(1, 2, 3, 4);
+    assertThat(enrollmentIndex.getStudentIds(10)).isEmpty();
+  }
+
+  @Test
+  void setStudentCoursesShouldReplaceEnrollmentsOfStudent() {
+    enrollmentIndex.setStudentCourses(1, Collections.singletonList(30));
+
+    assertThat(enrollmentIndex.getCourseIds(1)).containsExactly(30);
+    assertThat(enrollmentIndex.getStudentIds(10)).containsExactly(2);
+  }
+
+  @Test
+  void removeStudentsAndRemoveCourseShouldDropTheirEnrollments() {
+    enrollmentIndex.removeStudents(Collections.singletonList(1));
+    enrollmentIndex.removeCourse(10);
+
+    assertThat(enrollmentIndex.getCourseIds(1)).isEmpty();
+    assertThat(enrollmentIndex.getCourseIds(2)).isEmpty();
+    assertThat(enrollmentIndex.getStatistics()).extracting(CourseBitmapStats::getCourseId)
+        .containsExactly(20);
+  }
+
+  @Test
+  void rebuildShouldReplayChangesMadeWhileReadingEnrollments() {
+    enrollmentIndex.rebuild(handler -> {
+      handler.accept(1, 10);
+      enrollmentIndex.enroll(5, 10);
+      enrollmentIndex.unenroll(1, 10);
+    });
+
+    assertThat(enrollmentIndex.getStudentIds(10)).containsExactly(5);
+    assertThat(enrollmentIndex.isLoaded()).isTrue();
+  }
+
+  @Test
+  void rebuildShouldStayUnloadedWhenInvalidatedWhileReadingEnrollments() {
+    enrollmentIndex.rebuild(handler -> {
+      handler.accept(1, 10);
+      enrollmentIndex.invalidate();
+    });
+
+    assertThat(enrollmentIndex.isLoaded()).isFalse();
+  }
+
+  @Test
+  void getStatisticsShouldReportCardinalityAndMemoryPerCourse() {
+    enrollmentIndex.enrollAll(30, Arrays.asList(100, 101, 102, 103));
+
+    assertThat(enrollmentIndex.getStatistics())
+        .extracting(CourseBitmapStats::getCourseId, CourseBitmapStats::getStudents)
+        .containsExactly(
+            tuple(10, 2),
+            tuple(20, 1),
+            tuple(30, 4));
+    assertThat(enrollmentIndex.getStatistics())
+        .allSatisfy(stats -> assertThat(stats.getSizeInBytes()).isPositive());
+  }
+
+}
@@ -0,0 +1,106 @@
+package ua.foxminded.schoolconsoleapp.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.repository.projection.GroupSize;
+
+class GroupSizeIndexTest {
+
+  private GroupSizeIndex groupSizeIndex;
+
+  @BeforeEach
+  void setUp() {
+    groupSizeIndex = new GroupSizeIndex();
+    groupSizeIndex.rebuild(() -> Arrays.asList(
+        new GroupSize(1, "XV-46", 2L),
+        new GroupSize(2, "VC-09", 1L),
+        new GroupSize(3, "BB-02", 0L)));
+  }
+
+  @Test
+  void findGroupsWithLessOrEqualStudentShouldIncludeEmptyGroupsOrderedBySize() {
+    assertThat(groupSizeIndex.findGroupsWithLessOrEqualStudent(1))
+        .extracting(Group::getGroupName)
+        .containsExactly("BB-02", "VC-09");
+    assertThat(groupSizeIndex.findGroupsWithLessOrEqualStudent(0))
+        .extracting(Group::getGroupName)
+        .containsExactly("BB-02");
+  }
+
+  @Test
+  void addStudentAndRemoveStudentShouldMoveGroupBetweenSizes() {
+    groupSizeIndex.addStudent(2);
+    groupSizeIndex.removeStudent(1);
+    groupSizeIndex.removeStudent(1);
+
+    assertThat(groupSizeIndex.getSizes())
+        .containsEntry(1, 0)
+        .containsEntry(2, 2)
+        .containsEntry(3, 0);
+    assertThat(groupSizeIndex.findGroupsWithLessOrEqualStudent(0))
+        .extracting(Group::getId)
+        .containsExactly(1, 3);
+  }
+
+  @Test
+  void studentsWithoutGroupOrUnknownGroupShouldBeIgnored() {
+    groupSizeIndex.addStudent(null);
+    groupSizeIndex.addStudent(42);
+    groupSizeIndex.removeStudent(3);
+
+    assertThat(groupSizeIndex.getSizes())
+        .hasSize(3)
+        .containsEntry(3, 0);
+  }
+
+  @Test
+  void putGroupShouldAddNewGroupAndRenameExistingOne() {
+    groupSizeIndex.putGroup(4, "AA-11");
+    groupSizeIndex.putGroup(1, "XV-47");
+
+    assertThat(groupSizeIndex.findGroupsWithLessOrEqualStudent(2))
+        .extracting(Group::getGroupName)
+        .containsExactly("BB-02", "AA-11", "VC-09", "XV-47");
+  }
+
+  @Test
+  void rebuildShouldReplayChangesMadeWhileSizesWereRead() {
+    groupSizeIndex.rebuild(() -> {
+      groupSizeIndex.addStudent(1);
+      groupSizeIndex.putGroup(4, "AA-11");
+      groupSizeIndex.removeGroup(3);
+      return Arrays.asList(
+          new GroupSize(1, "XV-46", 5L),
+          new GroupSize(3, "BB-02", 0L));
+    });
+
+    assertThat(groupSizeIndex.getSizes())
+        .containsOnly(entry(1, 6), entry(4, 0));
+  }
+
+  @Test
+  void failedRebuildShouldKeepCurrentSizes() {
+    assertThatThrownBy(() -> groupSizeIndex.rebuild(() -> {
+      throw new IllegalStateException("Connection lost");
+    })).isInstanceOf(IllegalStateException.class);
+    groupSizeIndex.addStudent(3);
+
+    assertThat(groupSizeIndex.getSizes())
+        .containsOnly(entry(1, 2), entry(2, 1), entry(3, 1));
+  }
+
+  @Test
+  void removeGroupShouldDropGroupFromIndex() {
+    groupSizeIndex.removeGroup(3);
+
+    assertThat(groupSizeIndex.findGroupsWithLessOrEqualStudent(0)).isEmpty();
+    assertThat(groupSizeIndex.getSizes()).doesNotContainKey(3);
+  }
+
+}
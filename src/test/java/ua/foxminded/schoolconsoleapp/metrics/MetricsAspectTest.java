@@ -0,0 +1,84 @@
+package ua.foxminded.schoolconsoleapp.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.schoolconsoleapp.index.EnrollmentIndex;
+import ua.foxminded.schoolconsoleapp.index.GroupSizeIndex;
+import ua.foxminded.schoolconsoleapp.repository.StudentJdbcRepository;
+import ua.foxminded.schoolconsoleapp.repository.StudentRepository;
+import ua.foxminded.schoolconsoleapp.repository.exception.DataBaseSqlRuntimeException;
+import ua.foxminded.schoolconsoleapp.service.dao.BulkDeleteProperties;
+import ua.foxminded.schoolconsoleapp.service.dao.CourseService;
+import ua.foxminded.schoolconsoleapp.service.dao.RosterProperties;
+import ua.foxminded.schoolconsoleapp.service.dao.StudentService;
+
+class MetricsAspectTest {
+
+  private MeterRegistry meterRegistry;
+  private StudentRepository studentRepository;
+  private StudentService studentService;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    studentRepository = mock(StudentRepository.class);
+
+    AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new StudentService(
+        studentRepository, mock(StudentJdbcRepository.class), new GroupSizeIndex(),
+        new RosterProperties(), new BulkDeleteProperties(), mock(TransactionTemplate.class),
+        new EnrollmentIndex(), mock(CourseService.class)));
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAspect(new MetricsAspect(meterRegistry));
+    studentService = proxyFactory.getProxy();
+  }
+
+  @Test
+  void measureShouldRecordLatencyForEveryCall() {
+    studentService.getStudentById(1);
+    studentService.getStudentById(2);
+
+    Timer timer = meterRegistry.find(MetricsAspect.OPERATION_TIMER)
+        .tags("class", "StudentService", "method", "getStudentById").timer();
+    assertThat(timer).isNotNull();
+    assertThat(timer.count()).isEqualTo(2);
+    assertThat(timer.takeSnapshot().percentileValues()).hasSize(3);
+  }
+
+  @Test
+  void measureShouldCountErrorsByExceptionType() {
+    when(studentRepository.findById(1)).thenThrow(new DataBaseSqlRuntimeException("Failure."));
+
+    assertThatThrownBy(() -> studentService.getStudentById(1))
+        .isInstanceOf(DataBaseSqlRuntimeException.class);
+
+    assertThat(meterRegistry.find(MetricsAspect.OPERATION_ERRORS)
+        .tags("method", "getStudentById", "exception", "DataBaseSqlRuntimeException")
+        .counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.find(MetricsAspect.OPERATION_TIMER)
+        .tags("method", "getStudentById").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void reportShouldIncludeTimersAndErrors() {
+    studentService.getAllStudents();
+    when(studentRepository.findById(1)).thenThrow(new DataBaseSqlRuntimeException("Failure."));
+    assertThatThrownBy(() -> studentService.getStudentById(1))
+        .isInstanceOf(DataBaseSqlRuntimeException.class);
+
+    assertThat(new MetricsReporter(meterRegistry).report())
+        .anyMatch(line -> line.startsWith("StudentService.getAllStudents: count=1,")
+            && line.contains("p99="))
+        .contains("StudentService.getStudentById errors: DataBaseSqlRuntimeException=1");
+  }
+
+}
@@ -0,0 +1,42 @@
+package ua.foxminded.schoolconsoleapp.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@SpringBootTest(properties = {
+    "school.metrics.export.enabled=true",
+    "school.metrics.export.interval=PT0.1S"})
+@ActiveProfiles("fast")
+@DirtiesContext
+class MetricsFileExporterTest {
+
+  @TempDir
+  static Path tempDir;
+
+  @DynamicPropertySource
+  static void exportFiles(DynamicPropertyRegistry registry) {
+    registry.add("school.metrics.export.file", () -> tempDir.resolve("metrics.log").toString());
+    registry.add("school.startup.report-file",
+        () -> tempDir.resolve("startup-report.txt").toString());
+  }
+
+  @Test
+  void exporterShouldWriteMetricsFileWithLazyInitialization() throws InterruptedException {
+    Path file = tempDir.resolve("metrics.log");
+    for (int attempt = 0; attempt < 50 && !Files.exists(file); attempt++) {
+      Thread.sleep(100);
+    }
+
+    assertThat(file).exists();
+  }
+
+}
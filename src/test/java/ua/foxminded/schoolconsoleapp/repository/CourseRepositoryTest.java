@@ -4,6 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
 import java.util.Optional;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -17,7 +20,8 @@ import ua.foxminded.schoolconsoleapp.entitу.Course;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
-@TestPropertySource(locations = "classpath:application-test.properties")
+@TestPropertySource(locations = "classpath:application-test.properties",
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Sql(scripts = {"classpath:db/sql/test_tables.sql",
     "classpath:db/sql/test_data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Testcontainers
@@ -33,6 +37,9 @@ class CourseRepositoryTest {
   @Autowired
   private CourseRepository courseRepository;
 
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
   @Test
   void checkStudentEnrolledInCourseShouldReturnCorrectCountIfDataCorrect() {
     int studentId = 1;
@@ -53,6 +60,14 @@ class CourseRepositoryTest {
     assertThat(course.get().getCourseName()).isEqualTo(courseName);
   }
 
+  @Test
+  void findByCourseNameShouldIgnoreCase() {
+    Optional<Course> course = courseRepository.findByCourseName("mATHEMATICS");
+
+    assertThat(course).isPresent();
+    assertThat(course.get().getCourseName()).isEqualTo("Mathematics");
+  }
+
   @Test
   void getEnrolledCoursesForStudentShouldReturnCorrectCoursesIfDataCorrect() {
     int studentId = 1;
@@ -62,4 +77,28 @@ class CourseRepositoryTest {
     assertThat(courses).isNotEmpty();
   }
 
+  @Test
+  void getEnrolledCoursesForStudentShouldLoadCourseListingWithOneStatement() {
+    Statistics statistics = clearedStatistics();
+
+    List<Course> courses = courseRepository.getEnrolledCoursesForStudent(1);
+
+    assertThat(courses).extracting(Course::getCourseName).containsExactly("Mathematics");
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void deleteCourseByIdShouldDeleteEnrolledCourseWithItsEnrollments() {
+    assertThat(courseRepository.deleteCourseById(1)).isEqualTo(1);
+
+    assertThat(courseRepository.findById(1)).isEmpty();
+    assertThat(courseRepository.checkStudentEnrolledInCourse(1, 1)).isZero();
+  }
+
+  private Statistics clearedStatistics() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    return statistics;
+  }
+
 }
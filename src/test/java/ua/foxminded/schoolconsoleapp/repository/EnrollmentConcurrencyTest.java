@@ -0,0 +1,94 @@
+package ua.foxminded.schoolconsoleapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@DataJpaTest
+@Import(EnrollmentJdbcRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Sql(scripts = {"classpath:db/sql/test_tables.sql",
+    "classpath:db/sql/test_data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+class EnrollmentConcurrencyTest {
+
+  private static final int THREADS = 8;
+  private static final int STUDENTS = 3;
+  private static final int COURSES = 10;
+
+  @Container
+  protected static final PostgreSQLContainer<?> postgresqlContainer =
+      new PostgreSQLContainer<>("postgres:15")
+          .withDatabaseName("test-db")
+          .withUsername("root")
+          .withPassword("test");
+
+  @Autowired
+  private EnrollmentJdbcRepository enrollmentJdbcRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void concurrentEnrollmentsOfSamePairShouldInsertOnceWithoutDuplicateKeyFailures()
+      throws Exception {
+    jdbcTemplate.update("DELETE FROM student_courses");
+    CyclicBarrier barrier = new CyclicBarrier(THREADS);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    List<Future<Map<EnrollmentResult, Integer>>> futures = new ArrayList<>();
+    try {
+      for (int thread = 0; thread < THREADS; thread++) {
+        futures.add(executor.submit(() -> {
+          Map<EnrollmentResult, Integer> results = new EnumMap<>(EnrollmentResult.class);
+          for (int studentId = 1; studentId <= STUDENTS; studentId++) {
+            for (int courseId = 1; courseId <= COURSES; courseId++) {
+              barrier.await();
+              results.merge(enrollmentJdbcRepository.enroll(studentId, courseId), 1,
+                  Integer::sum);
+            }
+          }
+          return results;
+        }));
+      }
+
+      Map<EnrollmentResult, Integer> totals = new EnumMap<>(EnrollmentResult.class);
+      for (Future<Map<EnrollmentResult, Integer>> future : futures) {
+        future.get().forEach((result, count) -> totals.merge(result, count, Integer::sum));
+      }
+
+      int pairs = STUDENTS * COURSES;
+      assertThat(totals).containsOnlyKeys(EnrollmentResult.ENROLLED,
+          EnrollmentResult.ALREADY_ENROLLED);
+      assertThat(totals.get(EnrollmentResult.ENROLLED)).isEqualTo(pairs);
+      assertThat(totals.get(EnrollmentResult.ALREADY_ENROLLED)).isEqualTo(pairs * (THREADS - 1));
+      assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_courses",
+          Integer.class)).isEqualTo(pairs);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+}
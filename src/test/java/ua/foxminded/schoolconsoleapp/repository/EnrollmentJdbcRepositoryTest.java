@@ -0,0 +1,95 @@
+package ua.foxminded.schoolconsoleapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@DataJpaTest
+@Import(EnrollmentJdbcRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Sql(scripts = {"classpath:db/sql/test_tables.sql",
+    "classpath:db/sql/test_data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Testcontainers
+class EnrollmentJdbcRepositoryTest {
+
+  @Container
+  protected static final PostgreSQLContainer<?> postgresqlContainer =
+      new PostgreSQLContainer<>("postgres:15")
+          .withDatabaseName("test-db")
+          .withUsername("root")
+          .withPassword("test");
+
+  @Autowired
+  private EnrollmentJdbcRepository enrollmentJdbcRepository;
+
+  @Autowired
+  private CourseRepository courseRepository;
+
+  @Test
+  void enrollShouldBeIdempotent() {
+    assertThat(enrollmentJdbcRepository.enroll(3, 1)).isEqualTo(EnrollmentResult.ENROLLED);
+    assertThat(enrollmentJdbcRepository.enroll(3, 1))
+        .isEqualTo(EnrollmentResult.ALREADY_ENROLLED);
+    assertThat(courseRepository.checkStudentEnrolledInCourse(3, 1)).isEqualTo(1);
+  }
+
+  @Test
+  void enrollShouldReportMissingStudentOrCourse() {
+    assertThat(enrollmentJdbcRepository.enroll(999, 1))
+        .isEqualTo(EnrollmentResult.STUDENT_NOT_FOUND);
+    assertThat(enrollmentJdbcRepository.enroll(3, 999))
+        .isEqualTo(EnrollmentResult.COURSE_NOT_FOUND);
+    assertThat(courseRepository.checkStudentEnrolledInCourse(3, 999)).isZero();
+  }
+
+  @Test
+  void unenrollShouldReportWhetherEnrollmentExisted() {
+    assertThat(enrollmentJdbcRepository.unenroll(1, 1)).isTrue();
+    assertThat(enrollmentJdbcRepository.unenroll(1, 1)).isFalse();
+    assertThat(courseRepository.checkStudentEnrolledInCourse(1, 1)).isZero();
+  }
+
+  @Test
+  void enrollAllShouldSkipExistingEnrollmentsAndUnknownStudents() {
+    List<Integer> enrolled = enrollmentJdbcRepository.enrollAll(1, Arrays.asList(1, 2, 3, 999));
+
+    assertThat(enrolled).containsExactly(3);
+    assertThat(courseRepository.checkStudentEnrolledInCourse(3, 1)).isEqualTo(1);
+  }
+
+  @Test
+  void unenrollAllShouldRemoveOnlyExistingEnrollments() {
+    List<Integer> removed = enrollmentJdbcRepository.unenrollAll(1, Arrays.asList(1, 2, 3));
+
+    assertThat(removed).containsExactlyInAnyOrder(1, 2);
+    assertThat(enrollmentJdbcRepository.unenrollAll(1, Collections.emptyList())).isEmpty();
+  }
+
+  @Test
+  void forEachEnrollmentShouldStreamEveryStudentCoursePair() {
+    List<int[]> enrollments = new ArrayList<>();
+
+    enrollmentJdbcRepository.forEachEnrollment(2,
+        (studentId, courseId) -> enrollments.add(new int[] {studentId, courseId}));
+
+    assertThat(enrollments).isNotEmpty();
+    assertThat(enrollments).anySatisfy(enrollment -> assertThat(enrollment).containsExactly(1, 1));
+    enrollments.forEach(enrollment -> assertThat(
+        courseRepository.checkStudentEnrolledInCourse(enrollment[0], enrollment[1])).isEqualTo(1));
+  }
+
+}
@@ -0,0 +1,60 @@
+package ua.foxminded.schoolconsoleapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@DataJpaTest
+@Import(ExportJdbcRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Sql(scripts = {"classpath:db/sql/test_tables.sql",
+    "classpath:db/sql/test_data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Testcontainers
+class ExportJdbcRepositoryTest {
+
+  @Container
+  protected static final PostgreSQLContainer<?> postgresqlContainer =
+      new PostgreSQLContainer<>("postgres:15")
+          .withDatabaseName("test-db")
+          .withUsername("root")
+          .withPassword("test");
+
+  @Autowired
+  private ExportJdbcRepository exportJdbcRepository;
+
+  @Test
+  void forEachRowShouldStreamStudentsInPrimaryKeyOrder() {
+    List<String> rows = new ArrayList<>();
+
+    long count = exportJdbcRepository.forEachRow(ExportTable.STUDENTS, 2,
+        values -> rows.add(values[0] + ":" + values[1] + ":" + values[2] + ":" + values[3]));
+
+    assertThat(count).isEqualTo(3);
+    assertThat(rows).containsExactly("1:1:Elizabeth:Harris", "2:1:Laura:Taylor",
+        "3:2:James:Smith");
+  }
+
+  @Test
+  void forEachRowShouldStreamEnrollments() {
+    List<String> rows = new ArrayList<>();
+
+    long count = exportJdbcRepository.forEachRow(ExportTable.STUDENT_COURSES, 1,
+        values -> rows.add(values[0] + "-" + values[1]));
+
+    assertThat(count).isEqualTo(2);
+    assertThat(rows).containsExactly("1-1", "2-1");
+  }
+
+}
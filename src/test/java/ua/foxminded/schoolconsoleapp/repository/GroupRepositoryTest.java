@@ -3,6 +3,9 @@ package ua.foxminded.schoolconsoleapp.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -13,10 +16,12 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.repository.projection.GroupSize;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
-@TestPropertySource(locations = "classpath:application-test.properties")
+@TestPropertySource(locations = "classpath:application-test.properties",
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Sql(scripts = {"classpath:db/sql/test_tables.sql",
     "classpath:db/sql/test_data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Testcontainers
@@ -32,6 +37,9 @@ class GroupRepositoryTest {
   @Autowired
   private GroupRepository groupRepository;
 
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
   @Test
   void findGroupsWithLessOrEqualStudentShouldReturnCorrectGroups() {
     long maxStudents = 1;
@@ -43,4 +51,28 @@ class GroupRepositoryTest {
         group -> assertThat((int) maxStudents).isLessThanOrEqualTo((group.getStudents().size())));
   }
 
-}
\ No newline at end of file
+  @Test
+  void findGroupSizesShouldIncludeGroupsWithoutStudents() {
+    List<GroupSize> groupSizes = groupRepository.findGroupSizes();
+
+    assertThat(groupSizes).containsExactlyInAnyOrder(
+        new GroupSize(1, "XV-46", 2L),
+        new GroupSize(2, "VC-09", 1L),
+        new GroupSize(3, "BB-02", 0L));
+  }
+
+  @Test
+  void findGroupSizesShouldLoadGroupListingWithOneStatement() {
+    Statistics statistics = clearedStatistics();
+
+    assertThat(groupRepository.findGroupSizes()).hasSize(3);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  private Statistics clearedStatistics() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    return statistics;
+  }
+
+}
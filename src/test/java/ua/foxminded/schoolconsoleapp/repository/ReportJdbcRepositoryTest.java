@@ -0,0 +1,53 @@
+package ua.foxminded.schoolconsoleapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@DataJpaTest
+@Import(ReportJdbcRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Sql(scripts = {"classpath:db/sql/test_tables.sql",
+    "classpath:db/sql/test_data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Testcontainers
+class ReportJdbcRepositoryTest {
+
+  @Container
+  protected static final PostgreSQLContainer<?> postgresqlContainer =
+      new PostgreSQLContainer<>("postgres:15")
+          .withDatabaseName("test-db")
+          .withUsername("root")
+          .withPassword("test");
+
+  @Autowired
+  private ReportJdbcRepository reportJdbcRepository;
+
+  @Test
+  void forEachStudentEnrollmentShouldVisitEveryStudentOnceWithCourseIds() {
+    Map<Integer, Integer[]> courseIds = new HashMap<>();
+    Map<Integer, Integer> groupIds = new HashMap<>();
+
+    reportJdbcRepository.forEachStudentEnrollment(10, (studentId, groupId, courses) -> {
+      groupIds.put(studentId, groupId);
+      courseIds.put(studentId, courses);
+    });
+
+    assertThat(groupIds).containsEntry(1, 1).containsEntry(2, 1).containsEntry(3, 2);
+    assertThat(courseIds.get(1)).containsExactly(1);
+    assertThat(courseIds.get(2)).containsExactly(1);
+    assertThat(courseIds.get(3)).isEmpty();
+  }
+
+}
@@ -0,0 +1,82 @@
+package ua.foxminded.schoolconsoleapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ua.foxminded.schoolconsoleapp.repository.SeedJdbcRepository.CsvRowSource;
+
+@DataJpaTest
+@Import(SeedJdbcRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Sql(scripts = {"classpath:db/sql/test_tables.sql",
+    "classpath:db/sql/test_data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Testcontainers
+class SeedJdbcRepositoryTest {
+
+  @Container
+  protected static final PostgreSQLContainer<?> postgresqlContainer =
+      new PostgreSQLContainer<>("postgres:15")
+          .withDatabaseName("test-db")
+          .withUsername("root")
+          .withPassword("test");
+
+  @Autowired
+  private SeedJdbcRepository seedJdbcRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void findMaxIdsShouldReturnLargestExistingIds() {
+    assertThat(seedJdbcRepository.findMaxGroupId()).isEqualTo(3);
+    assertThat(seedJdbcRepository.findMaxCourseId()).isEqualTo(10);
+    assertThat(seedJdbcRepository.findMaxStudentId()).isEqualTo(3);
+  }
+
+  @Test
+  void copyShouldInsertExplicitIdsAndResetSequences() {
+    seedJdbcRepository.lockSchoolTables();
+    seedJdbcRepository.copyGroups(rows("4,AB-12\n"), 4);
+    seedJdbcRepository.copyStudents(rows("10,4,Anna,Smith\n", "11,,Tom,Jones\n"), 4);
+    seedJdbcRepository.copyEnrollments(rows("10,1\n", "11,2\n"), 4);
+    seedJdbcRepository.resetIdSequences();
+
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM students WHERE student_id IN (10, 11)", Integer.class))
+        .isEqualTo(2);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM student_courses WHERE student_id IN (10, 11)", Integer.class))
+        .isEqualTo(2);
+    assertThat(jdbcTemplate.queryForObject(
+        "INSERT INTO students (first_name, last_name) VALUES ('New', 'Student') "
+            + "RETURNING student_id", Integer.class)).isEqualTo(12);
+    assertThat(jdbcTemplate.queryForObject(
+        "INSERT INTO groups (group_name) VALUES ('CD-34') RETURNING group_id", Integer.class))
+        .isEqualTo(5);
+  }
+
+  private CsvRowSource rows(String... lines) {
+    Iterator<String> iterator = Arrays.asList(lines).iterator();
+    return buffer -> {
+      if (!iterator.hasNext()) {
+        return false;
+      }
+      buffer.append(iterator.next());
+      return true;
+    };
+  }
+
+}
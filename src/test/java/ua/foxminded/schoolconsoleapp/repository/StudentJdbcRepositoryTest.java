@@ -0,0 +1,131 @@
+package ua.foxminded.schoolconsoleapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.entitу.Student;
+
+@DataJpaTest
+@Import(StudentJdbcRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Sql(scripts = {"classpath:db/sql/test_tables.sql",
+    "classpath:db/sql/test_data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Testcontainers
+class StudentJdbcRepositoryTest {
+
+  @Container
+  protected static final PostgreSQLContainer<?> postgresqlContainer =
+      new PostgreSQLContainer<>("postgres:15")
+          .withDatabaseName("test-db")
+          .withUsername("root")
+          .withPassword("test");
+
+  @Autowired
+  private StudentJdbcRepository studentJdbcRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void insertBatchShouldInsertAllStudents() {
+    List<Student> students = Arrays.asList(
+        Student.builder().withFirstName("John").withLastName("Doe")
+            .withOwnerGroup(Group.builder().withId(1).build()).build(),
+        Student.builder().withFirstName("Jane").withLastName("Doe").build());
+
+    int inserted = studentJdbcRepository.insertBatch(students);
+
+    assertThat(inserted).isEqualTo(2);
+    assertThat(countStudentsWithLastName("Doe")).isEqualTo(2);
+  }
+
+  @Test
+  void copyStudentsShouldCopyAllStudentsIncludingQuotedValues() {
+    List<Student> students = Arrays.asList(
+        Student.builder().withFirstName("John \"Johnny\"").withLastName("Doe, Jr")
+            .withOwnerGroup(Group.builder().withId(2).build()).build(),
+        Student.builder().withFirstName("Jane").withLastName("Doe, Jr").build(),
+        Student.builder().withFirstName("Jack").withLastName("Doe, Jr").build());
+
+    long copied = studentJdbcRepository.copyStudents(students.iterator(), 2);
+
+    assertThat(copied).isEqualTo(3);
+    assertThat(countStudentsWithLastName("Doe, Jr")).isEqualTo(3);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT group_id FROM students WHERE first_name = 'John \"Johnny\"'", Integer.class))
+        .isEqualTo(2);
+  }
+
+  @Test
+  void forEachStudentByIdShouldStreamExistingStudentsInIdOrder() {
+    List<Student> students = new ArrayList<>();
+
+    int rows = studentJdbcRepository.forEachStudentById(new int[] {3, 1, 99}, 10, students::add);
+
+    assertThat(rows).isEqualTo(2);
+    assertThat(students).extracting(Student::getId, Student::getFirstName)
+        .containsExactly(tuple(1, "Elizabeth"), tuple(3, "James"));
+  }
+
+  @Test
+  void forEachStudentByIdShouldNotQueryForNoIds() {
+    assertThat(studentJdbcRepository.forEachStudentById(new int[0], 10, student -> {
+    })).isZero();
+  }
+
+  @Test
+  void deleteByIdsShouldReturnDeletedStudentsPerGroup() {
+    assertThat(studentJdbcRepository.deleteByIds(Arrays.asList(1, 3, 99)))
+        .containsOnly(entry(1, 1), entry(2, 1));
+    assertThat(studentJdbcRepository.deleteByIds(Collections.singletonList(1))).isEmpty();
+    assertThat(countStudents()).isEqualTo(1);
+    assertThat(countEnrollments()).isEqualTo(1);
+  }
+
+  @Test
+  void deleteInRangeShouldDeleteStudentsWithinRange() {
+    assertThat(studentJdbcRepository.deleteInRange(2, 3, 10))
+        .containsOnly(entry(1, 1), entry(2, 1));
+    assertThat(countStudents()).isEqualTo(1);
+  }
+
+  @Test
+  void deleteInGroupShouldDeleteAtMostLimitStudents() {
+    assertThat(studentJdbcRepository.deleteInGroup(1, 1)).containsOnly(entry(1, 1));
+    assertThat(studentJdbcRepository.deleteInGroup(1, 10)).containsOnly(entry(1, 1));
+    assertThat(studentJdbcRepository.deleteInGroup(1, 10)).isEmpty();
+    assertThat(countStudents()).isEqualTo(1);
+  }
+
+  private Integer countStudents() {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students", Integer.class);
+  }
+
+  private Integer countEnrollments() {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_courses", Integer.class);
+  }
+
+  private Integer countStudentsWithLastName(String lastName) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students WHERE last_name = ?",
+        Integer.class, lastName);
+  }
+
+}
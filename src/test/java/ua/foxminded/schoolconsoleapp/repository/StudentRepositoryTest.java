@@ -1,22 +1,31 @@
 package ua.foxminded.schoolconsoleapp.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
+import java.util.Arrays;
 import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import ua.foxminded.schoolconsoleapp.entitу.Student;
+import ua.foxminded.schoolconsoleapp.repository.projection.StudentName;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
-@TestPropertySource(locations = "classpath:application-test.properties")
+@TestPropertySource(locations = "classpath:application-test.properties",
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Sql(scripts = {"classpath:db/sql/test_tables.sql",
     "classpath:db/sql/test_data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Testcontainers
@@ -32,13 +41,81 @@ class StudentRepositoryTest {
   @Autowired
   private StudentRepository studentRepository;
 
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void findNamesByIdInShouldReturnExistingStudentsInIdOrder() {
+    List<StudentName> students = studentRepository.findNamesByIdIn(Arrays.asList(3, 1, 99));
+
+    assertThat(students).extracting(StudentName::getId, StudentName::getFirstName)
+        .containsExactly(tuple(1, "Elizabeth"), tuple(3, "James"));
+  }
+
+  @Test
+  void searchByNameShouldMatchSubstringsIgnoringCase() {
+    List<StudentName> students = studentRepository.searchByName("harr", "%harr%", 10);
+
+    assertThat(students).extracting(StudentName::getLastName).containsExactly("Harris");
+  }
+
+  @Test
+  void searchByNameShouldRankMisspelledNamesBySimilarity() {
+    List<StudentName> students = studentRepository.searchByName("Laura Tailor", "%Laura Tailor%",
+        10);
+
+    assertThat(students).isNotEmpty();
+    assertThat(students.get(0).getLastName()).isEqualTo("Taylor");
+  }
+
+  @Test
+  void findAllShouldLoadStudentListingWithOneStatement() {
+    Statistics statistics = clearedStatistics();
+
+    List<Student> students = studentRepository.findAll();
+
+    assertThat(students).hasSize(3);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void findByIdGreaterThanShouldSeekPastIdWithoutCountQuery() {
+    Statistics statistics = clearedStatistics();
+
+    Slice<Student> slice = studentRepository.findByIdGreaterThanOrderByIdAsc(1,
+        PageRequest.ofSize(1));
+
+    assertThat(slice.getContent()).extracting(Student::getId).containsExactly(2);
+    assertThat(slice.hasNext()).isTrue();
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
   @Test
-  void testFindStudentsByCourseNameShouldWorCorrectlyIfStudentsExist() {
-    List<Student> students = studentRepository.findStudentsByCourseName("Mathematics");
+  void searchByNameShouldLoadProjectionWithOneStatement() {
+    Statistics statistics = clearedStatistics();
+
+    List<StudentName> students = studentRepository.searchByName("smith", "%smith%", 10);
+
+    assertThat(students).extracting(StudentName::getId, StudentName::getFirstName)
+        .containsExactly(tuple(3, "James"));
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void saveShouldAssignIdFromSequenceBeforeInsertingStudent() {
+    Student student = Student.builder().withFirstName("Ada").withLastName("Lovelace").build();
+    Statistics statistics = clearedStatistics();
+
+    studentRepository.save(student);
+
+    assertThat(student.getId()).isNotNull();
+    assertThat(statistics.getEntityInsertCount()).isZero();
+  }
 
-    assertThat(students).hasSize(2);
-    assertThat(students).extracting(Student::getFirstName)
-        .containsExactlyInAnyOrder("Elizabeth", "Laura");
+  private Statistics clearedStatistics() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    return statistics;
   }
 
 }
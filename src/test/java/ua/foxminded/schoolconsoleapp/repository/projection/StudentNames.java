@@ -0,0 +1,25 @@
+package ua.foxminded.schoolconsoleapp.repository.projection;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+// Builds StudentName projections the way Spring Data does for repository results.
+public final class StudentNames {
+
+  private static final ProjectionFactory PROJECTION_FACTORY =
+      new SpelAwareProxyProjectionFactory();
+
+  private StudentNames() {
+  }
+
+  public static StudentName studentName(int id, String firstName, String lastName) {
+    Map<String, Object> values = new HashMap<>();
+    values.put("id", id);
+    values.put("firstName", firstName);
+    values.put("lastName", lastName);
+    return PROJECTION_FACTORY.createProjection(StudentName.class, values);
+  }
+
+}
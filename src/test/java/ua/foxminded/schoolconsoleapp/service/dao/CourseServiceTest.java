@@ -2,9 +2,11 @@ package ua.foxminded.schoolconsoleapp.service.dao;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
-import static org.mockito.ArgumentCaptor.forClass;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -13,9 +15,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -23,11 +28,23 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.schoolconsoleapp.cache.ReferenceDataCache;
 import ua.foxminded.schoolconsoleapp.entitу.Course;
 import ua.foxminded.schoolconsoleapp.entitу.Student;
+import ua.foxminded.schoolconsoleapp.index.CourseNameTrie;
+import ua.foxminded.schoolconsoleapp.index.EnrollmentIndex;
 import ua.foxminded.schoolconsoleapp.repository.CourseRepository;
+import ua.foxminded.schoolconsoleapp.repository.EnrollmentJdbcRepository;
+import ua.foxminded.schoolconsoleapp.repository.EnrollmentJdbcRepository.EnrollmentHandler;
+import ua.foxminded.schoolconsoleapp.repository.EnrollmentResult;
 import ua.foxminded.schoolconsoleapp.repository.StudentRepository;
 import ua.foxminded.schoolconsoleapp.repository.exception.DataBaseSqlRuntimeException;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetSlice;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetToken;
+import ua.foxminded.schoolconsoleapp.transaction.TransactionTemplates;
 
 @SpringBootTest
 class CourseServiceTest {
@@ -38,13 +55,36 @@ class CourseServiceTest {
   @MockBean
   private StudentRepository studentRepository;
 
+  @MockBean
+  private EnrollmentJdbcRepository enrollmentJdbcRepository;
+
   @Autowired
   private CourseService courseService;
 
+  @Autowired
+  private ReferenceDataCache referenceDataCache;
+
+  @Autowired
+  private CourseNameTrie courseNameTrie;
+
+  @Autowired
+  private EnrollmentIndex enrollmentIndex;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @BeforeEach
+  void setUp() {
+    referenceDataCache.invalidateCourses();
+    referenceDataCache.invalidateGroups();
+    courseNameTrie.rebuild(Collections.emptyList());
+    enrollmentIndex.invalidate();
+  }
+
   @Test
   void checkStudentEnrolledInCourseShouldReturnTrueIfEnrolled() {
     int studentId = 1, courseId = 1;
-    when(courseRepository.checkStudentEnrolledInCourse(studentId, courseId)).thenReturn(1L);
+    givenEnrollments(new int[] {studentId, courseId});
 
     boolean enrolled = courseService.checkStudentEnrolledInCourse(studentId, courseId);
 
@@ -54,7 +94,7 @@ class CourseServiceTest {
   @Test
   void checkStudentEnrolledInCourseShouldReturnFalseIfNotEnrolled() {
     int studentId = 1, courseId = 1;
-    when(courseRepository.checkStudentEnrolledInCourse(studentId, courseId)).thenReturn(0L);
+    givenEnrollments(new int[] {studentId, 2});
 
     boolean enrolled = courseService.checkStudentEnrolledInCourse(studentId, courseId);
 
@@ -62,47 +102,58 @@ class CourseServiceTest {
   }
 
   @Test
-  void enrollStudentToCourseShouldEnrollValidStudentAndCourse() {
-    int studentId = 1;
-    String courseName = "Mathematics";
+  void checkStudentEnrolledInCourseShouldLoadEnrollmentIndexOnlyOnce() {
+    givenEnrollments(new int[] {1, 1});
 
-    Student student = Student.builder()
-        .withId(studentId)
-        .withFirstName("John")
-        .withLastName("Doe")
-        .withCourses(new ArrayList<>())
-        .build();
+    courseService.checkStudentEnrolledInCourse(1, 1);
+    courseService.checkStudentEnrolledInCourse(2, 1);
 
-    Course course = Course.builder()
-        .withId(1)
-        .withCourseName(courseName)
-        .withStudents(new ArrayList<>())
-        .build();
+    verify(enrollmentJdbcRepository).forEachEnrollment(anyInt(), any());
+    verify(courseRepository, never()).checkStudentEnrolledInCourse(anyInt(), anyInt());
+  }
+
+  @Test
+  void enrollStudentToCourseShouldEnrollWithSingleStatementWithoutLoadingRoster() {
+    int studentId = 1;
+    String courseName = "Mathematics";
+    Course course = Course.builder().withId(1).withCourseName(courseName).build();
 
-    when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
     when(courseRepository.findByCourseName(courseName)).thenReturn(Optional.of(course));
+    when(enrollmentJdbcRepository.enroll(studentId, course.getId()))
+        .thenReturn(EnrollmentResult.ENROLLED);
 
-    courseService.enrollStudentToCourse(studentId, courseName);
+    EnrollmentResult result = courseService.enrollStudentToCourse(studentId, courseName);
 
-    ArgumentCaptor<Student> studentCaptor = forClass(Student.class);
-    ArgumentCaptor<Course> courseCaptor = forClass(Course.class);
+    assertThat(result).isEqualTo(EnrollmentResult.ENROLLED);
+    verify(enrollmentJdbcRepository).enroll(studentId, course.getId());
+    verify(studentRepository, never()).existsById(anyInt());
+    verify(studentRepository, never()).save(any(Student.class));
+    verify(courseRepository, never()).save(any(Course.class));
+  }
 
-    verify(studentRepository).save(studentCaptor.capture());
-    verify(courseRepository).save(courseCaptor.capture());
+  @Test
+  void enrollStudentToCourseShouldReturnAlreadyEnrolledWithoutFailing() {
+    int studentId = 1;
+    String courseName = "Mathematics";
+    Course course = Course.builder().withId(1).withCourseName(courseName).build();
 
-    Student savedStudent = studentCaptor.getValue();
-    Course savedCourse = courseCaptor.getValue();
+    when(courseRepository.findByCourseName(courseName)).thenReturn(Optional.of(course));
+    when(enrollmentJdbcRepository.enroll(studentId, course.getId()))
+        .thenReturn(EnrollmentResult.ALREADY_ENROLLED);
 
-    assertThat(savedStudent.getCourses()).contains(course);
-    assertThat(savedCourse.getStudents()).contains(student);
+    assertThat(courseService.enrollStudentToCourse(studentId, courseName))
+        .isEqualTo(EnrollmentResult.ALREADY_ENROLLED);
   }
 
   @Test
   void enrollStudentToCourseShouldThrowExceptionWhenStudentNotFound() {
     int studentId = 1;
     String courseName = "Mathematics";
+    Course course = Course.builder().withId(1).withCourseName(courseName).build();
 
-    when(studentRepository.findById(studentId)).thenReturn(Optional.empty());
+    when(courseRepository.findByCourseName(courseName)).thenReturn(Optional.of(course));
+    when(enrollmentJdbcRepository.enroll(studentId, course.getId()))
+        .thenReturn(EnrollmentResult.STUDENT_NOT_FOUND);
 
     assertThatThrownBy(() -> courseService.enrollStudentToCourse(studentId, courseName))
         .isInstanceOf(EntityNotFoundException.class)
@@ -114,88 +165,46 @@ class CourseServiceTest {
     int studentId = 1;
     String courseName = "Mathematics";
 
-    Student student = Student.builder()
-        .withId(studentId)
-        .withFirstName("John")
-        .withLastName("Doe")
-        .withCourses(new ArrayList<>())
-        .build();
-
-    when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
     when(courseRepository.findByCourseName(courseName)).thenReturn(Optional.empty());
 
     assertThatThrownBy(() -> courseService.enrollStudentToCourse(studentId, courseName))
         .isInstanceOf(DataBaseSqlRuntimeException.class)
         .hasMessageContaining("Course with the name '" + courseName + "' does not exist.");
+    verify(enrollmentJdbcRepository, never()).enroll(anyInt(), anyInt());
   }
 
   @Test
-  void enrollStudentToCourseShouldThrowExceptionWhenStudentAlreadyEnrolled() {
+  void enrollStudentToCourseShouldDropCachedCourseDeletedConcurrently() {
     int studentId = 1;
     String courseName = "Mathematics";
+    Course course = Course.builder().withId(1).withCourseName(courseName).build();
 
-    Student student = Student.builder()
-        .withId(studentId)
-        .withFirstName("John")
-        .withLastName("Doe")
-        .withCourses(new ArrayList<>())
-        .build();
-
-    Course course = Course.builder()
-        .withId(1)
-        .withCourseName(courseName)
-        .withStudents(new ArrayList<>())
-        .build();
-
-    when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
     when(courseRepository.findByCourseName(courseName)).thenReturn(Optional.of(course));
-    when(courseRepository.checkStudentEnrolledInCourse(studentId, course.getId())).thenReturn(1L);
+    when(enrollmentJdbcRepository.enroll(studentId, course.getId()))
+        .thenReturn(EnrollmentResult.COURSE_NOT_FOUND);
 
     assertThatThrownBy(() -> courseService.enrollStudentToCourse(studentId, courseName))
-        .isInstanceOf(DataBaseSqlRuntimeException.class)
-        .hasMessageContaining(
-            "Student with ID " + studentId + " is already enrolled in the course '" + courseName
-                + "'.");
+        .isInstanceOf(DataBaseSqlRuntimeException.class);
+    assertThatThrownBy(() -> courseService.enrollStudentToCourse(studentId, courseName))
+        .isInstanceOf(DataBaseSqlRuntimeException.class);
+    verify(courseRepository, times(2)).findByCourseName(courseName);
   }
 
   @Test
-  void removeStudentFromCourseShouldWorkCorrectly() {
+  void removeStudentFromCourseShouldDeleteEnrollmentWithoutLoadingRoster() {
     int studentId = 1;
     String courseName = "Mathematics";
+    Course course = Course.builder().withId(1).withCourseName(courseName).build();
 
-    Student student = Student.builder()
-        .withId(studentId)
-        .withFirstName("John")
-        .withLastName("Doe")
-        .withCourses(new ArrayList<>())
-        .build();
-
-    Course course = Course.builder()
-        .withId(1)
-        .withCourseName(courseName)
-        .withStudents(new ArrayList<>())
-        .build();
-
-    student.getCourses().add(course);
-    course.getStudents().add(student);
-
-    when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+    when(studentRepository.existsById(studentId)).thenReturn(true);
     when(courseRepository.findByCourseName(courseName)).thenReturn(Optional.of(course));
-    when(courseRepository.checkStudentEnrolledInCourse(studentId, course.getId())).thenReturn(1L);
+    when(enrollmentJdbcRepository.unenroll(studentId, course.getId())).thenReturn(true);
 
     courseService.removeStudentFromCourse(studentId, courseName);
 
-    ArgumentCaptor<Student> studentCaptor = ArgumentCaptor.forClass(Student.class);
-    ArgumentCaptor<Course> courseCaptor = ArgumentCaptor.forClass(Course.class);
-
-    verify(studentRepository).save(studentCaptor.capture());
-    verify(courseRepository).save(courseCaptor.capture());
-
-    Student updatedStudent = studentCaptor.getValue();
-    Course updatedCourse = courseCaptor.getValue();
-
-    assertThat(updatedStudent.getCourses()).doesNotContain(course);
-    assertThat(updatedCourse.getStudents()).doesNotContain(student);
+    verify(enrollmentJdbcRepository).unenroll(studentId, course.getId());
+    verify(studentRepository, never()).save(any(Student.class));
+    verify(courseRepository, never()).save(any(Course.class));
   }
 
   @Test
@@ -203,7 +212,7 @@ class CourseServiceTest {
     int studentId = 1;
     String courseName = "Mathematics";
 
-    when(studentRepository.findById(studentId)).thenReturn(Optional.empty());
+    when(studentRepository.existsById(studentId)).thenReturn(false);
 
     assertThatThrownBy(() -> courseService.removeStudentFromCourse(studentId, courseName))
         .isInstanceOf(EntityNotFoundException.class)
@@ -214,14 +223,8 @@ class CourseServiceTest {
   void removeStudentFromCourseShouldThrowExceptionWhenCourseNotFound() {
     int studentId = 1;
     String courseName = "Mathematics";
-    Student student = Student.builder()
-        .withId(studentId)
-        .withFirstName("John")
-        .withLastName("Doe")
-        .withCourses(new ArrayList<>())
-        .build();
-
-    when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+
+    when(studentRepository.existsById(studentId)).thenReturn(true);
     when(courseRepository.findByCourseName(courseName)).thenReturn(Optional.empty());
 
     assertThatThrownBy(() -> courseService.removeStudentFromCourse(studentId, courseName))
@@ -233,21 +236,11 @@ class CourseServiceTest {
   void removeStudentFromCourseShouldThrowExceptionWhenStudentNotEnrolled() {
     int studentId = 1;
     String courseName = "Mathematics";
-    Student student = Student.builder()
-        .withId(studentId)
-        .withFirstName("John")
-        .withLastName("Doe")
-        .withCourses(new ArrayList<>())
-        .build();
-    Course course = Course.builder()
-        .withId(1)
-        .withCourseName(courseName)
-        .withStudents(new ArrayList<>())
-        .build();
-
-    when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+    Course course = Course.builder().withId(1).withCourseName(courseName).build();
+
+    when(studentRepository.existsById(studentId)).thenReturn(true);
     when(courseRepository.findByCourseName(courseName)).thenReturn(Optional.of(course));
-    when(courseRepository.checkStudentEnrolledInCourse(studentId, course.getId())).thenReturn(0L);
+    when(enrollmentJdbcRepository.unenroll(studentId, course.getId())).thenReturn(false);
 
     assertThatThrownBy(() -> courseService.removeStudentFromCourse(studentId, courseName))
         .isInstanceOf(DataBaseSqlRuntimeException.class)
@@ -256,6 +249,105 @@ class CourseServiceTest {
                 + "'.");
   }
 
+  @Test
+  void enrollStudentsToCourseShouldEnrollAllStudentsInOneCall() {
+    List<Integer> studentIds = Arrays.asList(1, 2, 3);
+    Course course = Course.builder().withId(1).withCourseName("Mathematics").build();
+
+    when(courseRepository.findByCourseName("Mathematics")).thenReturn(Optional.of(course));
+    when(enrollmentJdbcRepository.enrollAll(course.getId(), studentIds))
+        .thenReturn(Arrays.asList(1, 3));
+    givenEnrollments();
+    courseService.rebuildEnrollmentIndex();
+
+    int enrolled = courseService.enrollStudentsToCourse(studentIds, "Mathematics");
+
+    assertThat(enrolled).isEqualTo(2);
+    assertThat(courseService.getEnrolledStudentIds("Mathematics", 0, 10)).containsExactly(1, 3);
+  }
+
+  @Test
+  void removeStudentsFromCourseShouldRemoveAllStudentsInOneCall() {
+    List<Integer> studentIds = Arrays.asList(1, 2, 3);
+    Course course = Course.builder().withId(1).withCourseName("Mathematics").build();
+
+    when(courseRepository.findByCourseName("Mathematics")).thenReturn(Optional.of(course));
+    when(enrollmentJdbcRepository.unenrollAll(course.getId(), studentIds))
+        .thenReturn(studentIds);
+    givenEnrollments(new int[] {1, 1}, new int[] {2, 1}, new int[] {3, 1}, new int[] {4, 1});
+    courseService.rebuildEnrollmentIndex();
+
+    int removed = courseService.removeStudentsFromCourse(studentIds, "Mathematics");
+
+    assertThat(removed).isEqualTo(3);
+    assertThat(courseService.getEnrolledStudentIds("Mathematics", 0, 10)).containsExactly(4);
+  }
+
+  @Test
+  void getEnrolledStudentIdsShouldReturnPageOfEnrollmentIndex() {
+    Course course = Course.builder().withId(1).withCourseName("Mathematics").build();
+    when(courseRepository.findByCourseName("Mathematics")).thenReturn(Optional.of(course));
+    givenEnrollments(new int[] {1, 1}, new int[] {2, 1}, new int[] {3, 1}, new int[] {4, 2});
+
+    assertThat(courseService.getEnrolledStudentIds("Mathematics", 1, 1)).containsExactly(2);
+    assertThat(courseService.getEnrolledStudentIds("Mathematics", 2, 10)).containsExactly(3);
+  }
+
+  @Test
+  void getEnrolledStudentIdsShouldReturnNoStudentsForUnknownCourse() {
+    when(courseRepository.findByCourseName("Algebra")).thenReturn(Optional.empty());
+
+    assertThat(courseService.getEnrolledStudentIds("Algebra", 0, 10)).isEmpty();
+  }
+
+  @Test
+  void rebuildEnrollmentIndexShouldReadPrimaryInNewTransaction() {
+    List<Boolean> readWriteTransactions = new ArrayList<>();
+    doAnswer(invocation -> {
+      readWriteTransactions.add(TransactionSynchronizationManager.isActualTransactionActive()
+          && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+      return null;
+    }).when(enrollmentJdbcRepository).forEachEnrollment(anyInt(), any());
+
+    TransactionTemplates.readOnly(transactionTemplate)
+        .executeWithoutResult(status -> courseService.rebuildEnrollmentIndex());
+
+    assertThat(readWriteTransactions).containsExactly(true);
+  }
+
+  @Test
+  void concurrentLookupsShouldReloadInvalidatedEnrollmentIndexOnce() throws Exception {
+    doAnswer(invocation -> {
+      Thread.sleep(200);
+      return null;
+    }).when(enrollmentJdbcRepository).forEachEnrollment(anyInt(), any());
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> lookups = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        lookups.add(executor.submit(() -> courseService.checkStudentEnrolledInCourse(1, 1)));
+      }
+      for (Future<Boolean> lookup : lookups) {
+        assertThat(lookup.get()).isFalse();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    verify(enrollmentJdbcRepository).forEachEnrollment(anyInt(), any());
+  }
+
+  @Test
+  void enrollStudentsToCourseShouldThrowExceptionWhenCourseNotFound() {
+    List<Integer> studentIds = Arrays.asList(1, 2);
+
+    when(courseRepository.findByCourseName("Algebra")).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> courseService.enrollStudentsToCourse(studentIds, "Algebra"))
+        .isInstanceOf(DataBaseSqlRuntimeException.class)
+        .hasMessageContaining("Course with the name 'Algebra' does not exist.");
+  }
+
   @Test
   void getCourseIdByNameShouldReturnCorrectDataIfExists() {
     String courseName = "Mathematics";
@@ -268,6 +360,85 @@ class CourseServiceTest {
         .contains(mockCourse);
   }
 
+  @Test
+  void getCourseIdByNameShouldServeRepeatedLookupsFromCache() {
+    String courseName = "Mathematics";
+    Course mockCourse = Course.builder().withId(1).withCourseName(courseName).build();
+    when(courseRepository.findByCourseName(courseName)).thenReturn(Optional.of(mockCourse));
+
+    courseService.getCourseIdByName(courseName);
+    Optional<Course> byName = courseService.getCourseIdByName(courseName);
+    Optional<Course> byId = courseService.getCourseById(1);
+
+    assertThat(byName).contains(mockCourse);
+    assertThat(byId).contains(mockCourse);
+    verify(courseRepository, times(1)).findByCourseName(courseName);
+    verify(courseRepository, never()).findById(1);
+  }
+
+  @Test
+  void getCourseIdByNameShouldNotCacheMissingCourse() {
+    String courseName = "Algebra";
+    when(courseRepository.findByCourseName(courseName)).thenReturn(Optional.empty());
+
+    courseService.getCourseIdByName(courseName);
+    courseService.getCourseIdByName(courseName);
+
+    verify(courseRepository, times(2)).findByCourseName(courseName);
+  }
+
+  @Test
+  void updateCourseShouldInvalidateCachedCourses() {
+    Course mockCourse = Course.builder().withId(1).withCourseName("Mathematics").build();
+    when(courseRepository.findById(1)).thenReturn(Optional.of(mockCourse));
+    courseService.getCourseById(1);
+
+    courseService.updateCourse(mockCourse);
+    courseService.getCourseById(1);
+
+    verify(courseRepository, times(2)).findById(1);
+  }
+
+  @Test
+  void getCourseByIdShouldLoadCourseInReadWriteTransaction() {
+    Course mockCourse = Course.builder().withId(1).withCourseName("Mathematics").build();
+    List<Boolean> readWriteTransactions = new ArrayList<>();
+    when(courseRepository.findById(1)).thenAnswer(invocation -> {
+      readWriteTransactions.add(TransactionSynchronizationManager.isActualTransactionActive()
+          && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+      return Optional.of(mockCourse);
+    });
+
+    courseService.getCourseById(1);
+
+    assertThat(readWriteTransactions).containsExactly(true);
+  }
+
+  @Test
+  void completeCourseNameShouldReturnCoursesMatchingPrefixIgnoringCase() {
+    when(courseRepository.findAll()).thenReturn(Arrays.asList(
+        Course.builder().withId(1).withCourseName("Mathematics").build(),
+        Course.builder().withId(2).withCourseName("Marketing").build(),
+        Course.builder().withId(3).withCourseName("Physics").build()));
+    courseService.rebuildCourseNameIndex();
+
+    assertThat(courseService.completeCourseName("ma", 10))
+        .containsExactly("Marketing", "Mathematics");
+    assertThat(courseService.resolveCourseName("PHYSICS")).contains("Physics");
+  }
+
+  @Test
+  void addCourseAndDeleteCourseShouldKeepCourseNameIndexInSync() {
+    Course course = Course.builder().withId(4).withCourseName("Biology").build();
+    when(courseRepository.deleteCourseById(4)).thenReturn(1);
+
+    courseService.addCourse(course);
+    assertThat(courseService.resolveCourseName("biology")).contains("Biology");
+
+    courseService.deleteCourse(4);
+    assertThat(courseService.resolveCourseName("biology")).isEmpty();
+  }
+
   @Test
   void getEnrolledCoursesForStudentShouldReturnCorrectCourses() {
     int studentId = 1;
@@ -276,12 +447,46 @@ class CourseServiceTest {
         Course.builder().withId(2).withCourseName("Physics").build()
     );
 
-    when(courseRepository.getEnrolledCoursesForStudent(studentId)).thenReturn(mockCourses);
+    givenEnrollments(new int[] {studentId, 2}, new int[] {studentId, 1}, new int[] {2, 3});
+    mockCourses.forEach(course ->
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course)));
 
     List<Course> courses = courseService.getEnrolledCoursesForStudent(studentId);
 
     assertThat(courses).hasSize(2)
         .isEqualTo(mockCourses);
+    verify(courseRepository, never()).getEnrolledCoursesForStudent(anyInt());
+  }
+
+  @Test
+  void getEnrolledCoursesForStudentShouldReflectCommittedEnrollment() {
+    int studentId = 1;
+    Course course = Course.builder().withId(3).withCourseName("Chemistry").build();
+    givenEnrollments();
+    when(courseRepository.findByCourseName("Chemistry")).thenReturn(Optional.of(course));
+    when(enrollmentJdbcRepository.enroll(studentId, course.getId()))
+        .thenReturn(EnrollmentResult.ENROLLED);
+
+    assertThat(courseService.getEnrolledCoursesForStudent(studentId)).isEmpty();
+    courseService.enrollStudentToCourse(studentId, "Chemistry");
+
+    assertThat(courseService.getEnrolledCoursesForStudent(studentId)).containsExactly(course);
+    assertThat(courseService.checkStudentEnrolledInCourse(studentId, course.getId())).isTrue();
+    verify(enrollmentJdbcRepository).forEachEnrollment(anyInt(), any());
+  }
+
+  @Test
+  void deleteCourseShouldRemoveItFromEnrollmentIndex() {
+    int studentId = 1;
+    Course course = Course.builder().withId(3).withCourseName("Chemistry").build();
+    givenEnrollments(new int[] {studentId, course.getId()});
+    when(courseRepository.deleteCourseById(course.getId())).thenReturn(1);
+
+    assertThat(courseService.checkStudentEnrolledInCourse(studentId, course.getId())).isTrue();
+    courseService.deleteCourse(course.getId());
+
+    assertThat(courseService.checkStudentEnrolledInCourse(studentId, course.getId())).isFalse();
+    assertThat(courseService.getEnrollmentIndexStatistics()).isEmpty();
   }
 
   @Test
@@ -336,6 +541,20 @@ class CourseServiceTest {
     verify(courseRepository).findAll(PageRequest.of(0, 1));
   }
 
+  @Test
+  void getCoursesAfterShouldReturnLastSliceWithoutContinuationToken() {
+    Course art = Course.builder().withId(9).withCourseName("Art").build();
+    when(courseRepository.findByIdGreaterThanOrderByIdAsc(8, PageRequest.ofSize(5)))
+        .thenReturn(new SliceImpl<>(Collections.singletonList(art), PageRequest.ofSize(5),
+            false));
+
+    KeysetSlice<Course> courses = courseService.getCoursesAfter(KeysetToken.encode(8), 5);
+
+    assertThat(courses.getContent()).containsExactly(art);
+    assertThat(courses.hasNext()).isFalse();
+    assertThat(courses.getContinuationToken()).isNull();
+  }
+
   @Test
   void updateCourseShouldCallDaoUpdateMethodWhenUpdating() {
     Course course = Course.builder().withId(1).withCourseName("Mathematics").build();
@@ -349,24 +568,33 @@ class CourseServiceTest {
   void deleteCourseShouldReturnTrueWhenCourseExists() {
     Integer courseId = 1;
 
-    when(courseRepository.existsById(courseId)).thenReturn(true);
+    when(courseRepository.deleteCourseById(courseId)).thenReturn(1);
 
     boolean result = courseService.deleteCourse(courseId);
 
     assertThat(result).isTrue();
-    verify(courseRepository).deleteById(courseId);
+    verify(courseRepository, never()).existsById(courseId);
   }
 
   @Test
   void deleteCourseShouldReturnFalseWhenCourseDoesNotExist() {
     Integer courseId = 1;
 
-    when(courseRepository.existsById(courseId)).thenReturn(false);
+    when(courseRepository.deleteCourseById(courseId)).thenReturn(0);
 
     boolean result = courseService.deleteCourse(courseId);
 
     assertThat(result).isFalse();
-    verify(courseRepository, never()).deleteById(courseId);
+  }
+
+  private void givenEnrollments(int[]... enrollments) {
+    doAnswer(invocation -> {
+      EnrollmentHandler handler = invocation.getArgument(1);
+      for (int[] enrollment : enrollments) {
+        handler.accept(enrollment[0], enrollment[1]);
+      }
+      return null;
+    }).when(enrollmentJdbcRepository).forEachEnrollment(anyInt(), any());
   }
 
 }
@@ -1,15 +1,22 @@
 package ua.foxminded.schoolconsoleapp.service.dao;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -18,8 +25,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.schoolconsoleapp.cache.ReferenceDataCache;
 import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.index.GroupSizeIndex;
 import ua.foxminded.schoolconsoleapp.repository.GroupRepository;
+import ua.foxminded.schoolconsoleapp.repository.projection.GroupSize;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetSlice;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetToken;
+import ua.foxminded.schoolconsoleapp.transaction.TransactionTemplates;
 
 @SpringBootTest
 class GroupServiceTest {
@@ -30,20 +46,92 @@ class GroupServiceTest {
   @Autowired
   private GroupService groupService;
 
+  @Autowired
+  private ReferenceDataCache referenceDataCache;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @BeforeEach
+  void setUp() {
+    referenceDataCache.invalidateCourses();
+    referenceDataCache.invalidateGroups();
+  }
+
   @Test
-  void findGroupsWithLessOrEqualStudentShouldReturnCorrectData() {
-    int maxStudents = 10;
-    List<Group> mockGroups = Arrays.asList(
-        Group.builder().withId(1).withGroupName("Group A").build(),
-        Group.builder().withId(2).withGroupName("Group B").build()
-    );
+  void findGroupsWithLessOrEqualStudentShouldReturnCorrectDataIncludingEmptyGroups() {
+    when(groupRepository.findGroupSizes()).thenReturn(Arrays.asList(
+        new GroupSize(1, "Group A", 12L),
+        new GroupSize(2, "Group B", 10L),
+        new GroupSize(3, "Group C", 0L)));
+    groupService.rebuildGroupSizeIndex();
+
+    List<Group> groups = groupService.findGroupsWithLessOrEqualStudent(10);
+
+    assertThat(groups).extracting(Group::getGroupName)
+        .containsExactly("Group C", "Group B");
+    verify(groupRepository, never()).findGroupsWithLessOrEqualStudent(anyLong());
+  }
+
+  @Test
+  void rebuildGroupSizeIndexShouldReadPrimaryInNewTransaction() {
+    List<Boolean> readWriteTransactions = new ArrayList<>();
+    when(groupRepository.findGroupSizes()).thenAnswer(invocation -> {
+      readWriteTransactions.add(TransactionSynchronizationManager.isActualTransactionActive()
+          && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+      return Collections.emptyList();
+    });
+
+    TransactionTemplates.readOnly(transactionTemplate)
+        .executeWithoutResult(status -> groupService.rebuildGroupSizeIndex());
+
+    assertThat(readWriteTransactions).containsExactly(true);
+  }
+
+  @Test
+  void concurrentLookupsShouldLoadGroupSizeIndexOnce() throws Exception {
+    GroupService service = new GroupService(groupRepository, new GroupSizeIndex(),
+        referenceDataCache, transactionTemplate);
+    when(groupRepository.findGroupSizes()).thenAnswer(invocation -> {
+      Thread.sleep(200);
+      return Collections.singletonList(new GroupSize(1, "Group A", 0L));
+    });
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<List<Group>>> lookups = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        lookups.add(executor.submit(() -> service.findGroupsWithLessOrEqualStudent(10)));
+      }
+      for (Future<List<Group>> lookup : lookups) {
+        assertThat(lookup.get()).hasSize(1);
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    verify(groupRepository).findGroupSizes();
+  }
 
-    when(groupRepository.findGroupsWithLessOrEqualStudent(maxStudents)).thenReturn(mockGroups);
+  @Test
+  void checkGroupSizeIndexShouldReturnTrueIfIndexMatchesDatabase() {
+    when(groupRepository.findGroupSizes()).thenReturn(Arrays.asList(
+        new GroupSize(1, "Group A", 2L),
+        new GroupSize(2, "Group B", 0L)));
+    groupService.rebuildGroupSizeIndex();
 
-    List<Group> groups = groupService.findGroupsWithLessOrEqualStudent(maxStudents);
+    assertThat(groupService.checkGroupSizeIndex()).isTrue();
+  }
 
-    assertThat(groups).hasSize(2)
-        .isEqualTo(mockGroups);
+  @Test
+  void checkGroupSizeIndexShouldRebuildIndexIfItDiffersFromDatabase() {
+    when(groupRepository.findGroupSizes()).thenReturn(
+        Collections.singletonList(new GroupSize(1, "Group A", 2L)));
+    groupService.rebuildGroupSizeIndex();
+    when(groupRepository.findGroupSizes()).thenReturn(
+        Collections.singletonList(new GroupSize(1, "Group A", 3L)));
+
+    assertThat(groupService.checkGroupSizeIndex()).isFalse();
+    assertThat(groupService.checkGroupSizeIndex()).isTrue();
   }
 
   @Test
@@ -68,6 +156,36 @@ class GroupServiceTest {
         .contains(mockGroup);
   }
 
+  @Test
+  void getGroupByIdShouldServeRepeatedLookupsFromCacheUntilGroupIsUpdated() {
+    Integer groupId = 1;
+    Group mockGroup = Group.builder().withId(groupId).withGroupName("Group A").build();
+    when(groupRepository.findById(groupId)).thenReturn(Optional.of(mockGroup));
+
+    groupService.getGroupById(groupId);
+    groupService.getGroupById(groupId);
+    groupService.updateGroup(mockGroup);
+    groupService.getGroupById(groupId);
+
+    verify(groupRepository, times(2)).findById(groupId);
+  }
+
+  @Test
+  void getGroupByIdShouldLoadGroupInReadWriteTransaction() {
+    Integer groupId = 1;
+    Group mockGroup = Group.builder().withId(groupId).withGroupName("Group A").build();
+    List<Boolean> readWriteTransactions = new ArrayList<>();
+    when(groupRepository.findById(groupId)).thenAnswer(invocation -> {
+      readWriteTransactions.add(TransactionSynchronizationManager.isActualTransactionActive()
+          && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+      return Optional.of(mockGroup);
+    });
+
+    groupService.getGroupById(groupId);
+
+    assertThat(readWriteTransactions).containsExactly(true);
+  }
+
   @Test
   void getAllGroupsShouldReturnAllGroupsIfGroupsExist() {
     List<Group> mockGroups = Arrays.asList(
@@ -102,6 +220,20 @@ class GroupServiceTest {
     verify(groupRepository).findAll(PageRequest.of(0, 1));
   }
 
+  @Test
+  void getGroupsAfterShouldSeekPastTokenWithoutCounting() {
+    Group groupB = Group.builder().withId(2).withGroupName("Group B").build();
+    when(groupRepository.findByIdGreaterThanOrderByIdAsc(1, PageRequest.ofSize(1)))
+        .thenReturn(new SliceImpl<>(Collections.singletonList(groupB), PageRequest.ofSize(1),
+            true));
+
+    KeysetSlice<Group> groups = groupService.getGroupsAfter(KeysetToken.encode(1), 1);
+
+    assertThat(groups.getContent()).containsExactly(groupB);
+    assertThat(KeysetToken.decode(groups.getContinuationToken())).isEqualTo(2);
+    verify(groupRepository, never()).count();
+  }
+
   @Test
   void updateGroupShouldCallDaoUpdateMethod() {
     Group group = Group.builder().withId(1).withGroupName("Group A").build();
@@ -111,26 +243,38 @@ class GroupServiceTest {
     verify(groupRepository).save(group);
   }
 
+  @Test
+  void addGroupShouldAddEmptyGroupToSizeIndex() {
+    groupService.rebuildGroupSizeIndex();
+    Group group = Group.builder().withId(7).withGroupName("Group G").build();
+
+    groupService.addGroup(group);
+
+    assertThat(groupService.findGroupsWithLessOrEqualStudent(0)).containsExactly(group);
+  }
+
   @Test
   void deleteGroupShouldReturnTrueWhenGroupExists() {
     Integer groupId = 1;
-    when(groupRepository.existsById(groupId)).thenReturn(true);
+    when(groupRepository.deleteGroupById(groupId)).thenReturn(1);
+    when(groupRepository.findGroupSizes()).thenReturn(
+        Collections.singletonList(new GroupSize(groupId, "Group A", 0L)));
+    groupService.rebuildGroupSizeIndex();
 
     boolean result = groupService.deleteGroup(groupId);
     assertThat(result).isTrue();
 
-    verify(groupRepository).deleteById(groupId);
+    verify(groupRepository, never()).existsById(groupId);
+    assertThat(groupService.findGroupsWithLessOrEqualStudent(0)).isEmpty();
   }
 
   @Test
   void deleteGroupShouldReturnFalseWhenGroupDoesNotExist() {
     Integer groupId = 1;
-    when(groupRepository.existsById(groupId)).thenReturn(false);
+    when(groupRepository.deleteGroupById(groupId)).thenReturn(0);
 
     boolean result = groupService.deleteGroup(groupId);
     assertThat(result).isFalse();
-
-    verify(groupRepository, never()).deleteById(groupId);
   }
 
 }
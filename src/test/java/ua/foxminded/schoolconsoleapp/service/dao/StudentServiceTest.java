@@ -1,13 +1,25 @@
 package ua.foxminded.schoolconsoleapp.service.dao;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static ua.foxminded.schoolconsoleapp.repository.projection.StudentNames.studentName;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -16,9 +28,21 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ua.foxminded.schoolconsoleapp.entitу.Course;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
 import ua.foxminded.schoolconsoleapp.entitу.Student;
+import ua.foxminded.schoolconsoleapp.index.EnrollmentIndex;
+import ua.foxminded.schoolconsoleapp.index.GroupSizeIndex;
+import ua.foxminded.schoolconsoleapp.repository.StudentJdbcRepository;
 import ua.foxminded.schoolconsoleapp.repository.StudentRepository;
+import ua.foxminded.schoolconsoleapp.repository.projection.GroupSize;
+import ua.foxminded.schoolconsoleapp.repository.projection.StudentName;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetSlice;
+import ua.foxminded.schoolconsoleapp.service.paging.KeysetToken;
+import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
 
 @SpringBootTest
 class StudentServiceTest {
@@ -26,23 +50,56 @@ class StudentServiceTest {
   @MockBean
   private StudentRepository studentRepository;
 
+  @MockBean
+  private StudentJdbcRepository studentJdbcRepository;
+
+  @MockBean
+  private CourseService courseService;
+
+  @Autowired
+  private RosterProperties rosterProperties;
+
+  @Autowired
+  private BulkDeleteProperties bulkDeleteProperties;
+
   @Autowired
   private StudentService studentService;
 
+  @Autowired
+  private GroupSizeIndex groupSizeIndex;
+
+  @Autowired
+  private EnrollmentIndex enrollmentIndex;
+
   @Test
-  void findStudentsByCourseNameShouldWorkCorrectlyIfDataCorrect() {
-    String courseName = "Mathematics";
-    List<Student> mockStudents = Arrays.asList(
-        Student.builder().withId(1).withFirstName("John").withLastName("Doe").build(),
-        Student.builder().withId(2).withFirstName("Jane").withLastName("Smith").build()
+  void findStudentsByCourseNameShouldLoadNamesOfStudentsInEnrollmentIndex() {
+    List<StudentName> mockStudents = Arrays.asList(
+        studentName(1, "John", "Doe"),
+        studentName(2, "Jane", "Smith")
     );
+    givenEnrolledStudents("Mathematics", 1, 2);
+    when(studentRepository.findNamesByIdIn(Arrays.asList(1, 2))).thenReturn(mockStudents);
 
-    when(studentRepository.findStudentsByCourseName(courseName)).thenReturn(mockStudents);
+    List<StudentName> students = studentService.findStudentsByCourseName("Mathematics");
 
-    List<Student> students = studentService.findStudentsByCourseName(courseName);
+    assertThat(students).isEqualTo(mockStudents);
+  }
 
-    assertThat(students).hasSize(2)
-        .isEqualTo(mockStudents);
+  @Test
+  void findStudentsByCourseNameShouldLoadNamesInPagesOfEnrolledStudentIds() {
+    int pageSize = rosterProperties.getPageSize();
+    givenEnrolledStudents("Art", IntStream.rangeClosed(1, pageSize + 1).toArray());
+    when(studentRepository.findNamesByIdIn(any())).thenAnswer(invocation -> {
+      List<Integer> ids = invocation.getArgument(0);
+      return ids.stream()
+          .map(id -> studentName(id, "First" + id, "Last" + id))
+          .collect(Collectors.toList());
+    });
+
+    List<StudentName> students = studentService.findStudentsByCourseName("Art");
+
+    assertThat(students).hasSize(pageSize + 1);
+    verify(studentRepository, times(2)).findNamesByIdIn(any());
   }
 
   @Test
@@ -126,6 +183,58 @@ class StudentServiceTest {
     verify(studentRepository).findAll(PageRequest.of(0, 2, Sort.by("id")));
   }
 
+  @Test
+  void updateStudentShouldReplaceEnrollmentsInEnrollmentIndex() {
+    enrollmentIndex.rebuild(handler -> {
+      handler.accept(1, 10);
+      handler.accept(2, 10);
+    });
+    Student student = Student.builder().withId(1).withFirstName("John").withLastName("Doe")
+        .withCourses(Collections.singleton(Course.builder().withId(20).build())).build();
+
+    studentService.updateStudent(student);
+
+    assertThat(enrollmentIndex.getCourseIds(1)).containsExactly(20);
+    assertThat(enrollmentIndex.getStudentIds(10)).containsExactly(2);
+  }
+
+  @Test
+  void deleteStudentShouldRemoveEnrollmentsFromEnrollmentIndex() {
+    enrollmentIndex.rebuild(handler -> {
+      handler.accept(1, 10);
+      handler.accept(1, 20);
+    });
+    when(studentJdbcRepository.deleteByIds(Collections.singletonList(1)))
+        .thenReturn(Collections.singletonMap(null, 1));
+
+    studentService.deleteStudent(1);
+
+    assertThat(enrollmentIndex.getCourseIds(1)).isEmpty();
+  }
+
+  @Test
+  void getStudentsAfterShouldStartFromBeginningAndReturnContinuationToken() {
+    List<Student> students = Arrays.asList(
+        Student.builder().withId(1).withFirstName("Elizabeth").withLastName("Harris").build(),
+        Student.builder().withId(2).withFirstName("Laura").withLastName("Taylor").build());
+    when(studentRepository.findByIdGreaterThanOrderByIdAsc(0, PageRequest.ofSize(2)))
+        .thenReturn(new SliceImpl<>(students, PageRequest.ofSize(2), true));
+
+    KeysetSlice<Student> slice = studentService.getStudentsAfter(null, 2);
+
+    assertThat(slice.getContent()).isEqualTo(students);
+    assertThat(slice.hasNext()).isTrue();
+    assertThat(KeysetToken.decode(slice.getContinuationToken())).isEqualTo(2);
+    verify(studentRepository, never()).count();
+    verify(studentRepository, never()).findAll(any(Pageable.class));
+  }
+
+  @Test
+  void getStudentsAfterShouldRejectNonPositivePageSize() {
+    assertThatThrownBy(() -> studentService.getStudentsAfter(null, 0))
+        .isInstanceOf(ValidationException.class);
+  }
+
   @Test
   void updateStudentShouldCallDaoUpdateMethod() {
     Student student = Student.builder()
@@ -144,12 +253,13 @@ class StudentServiceTest {
     int studentId = 1;
     boolean expectedResult = true;
 
-    when(studentRepository.existsById(studentId)).thenReturn(true);
+    when(studentJdbcRepository.deleteByIds(Collections.singletonList(studentId)))
+        .thenReturn(Collections.singletonMap(null, 1));
 
     boolean result = studentService.deleteStudent(studentId);
 
     assertThat(result).isEqualTo(expectedResult);
-    verify(studentRepository).deleteById(studentId);
+    verify(studentRepository, never()).findById(studentId);
   }
 
   @Test
@@ -157,11 +267,194 @@ class StudentServiceTest {
     int studentId = 1;
     boolean expectedResult = false;
 
-    when(studentRepository.findById(studentId)).thenReturn(Optional.empty());
+    when(studentJdbcRepository.deleteByIds(Collections.singletonList(studentId)))
+        .thenReturn(Collections.emptyMap());
 
     boolean result = studentService.deleteStudent(studentId);
 
     assertThat(result).isEqualTo(expectedResult);
   }
 
+  @Test
+  void addStudentShouldIncreaseGroupSizeInIndex() {
+    Group group = Group.builder().withId(5).withGroupName("Group E").build();
+    groupSizeIndex.rebuild(() -> Collections.singletonList(new GroupSize(5, "Group E", 0L)));
+
+    studentService.addStudent(Student.builder()
+        .withFirstName("John")
+        .withLastName("Doe")
+        .withOwnerGroup(group)
+        .build());
+
+    assertThat(groupSizeIndex.getSizes()).containsEntry(5, 1);
+  }
+
+  @Test
+  void deleteStudentShouldDecreaseGroupSizeInIndex() {
+    Group group = Group.builder().withId(5).withGroupName("Group E").build();
+    Student student = Student.builder()
+        .withId(1)
+        .withFirstName("John")
+        .withLastName("Doe")
+        .withOwnerGroup(group)
+        .build();
+    groupSizeIndex.rebuild(() -> Collections.singletonList(new GroupSize(5, "Group E", 1L)));
+
+    when(studentJdbcRepository.deleteByIds(Collections.singletonList(student.getId())))
+        .thenReturn(Collections.singletonMap(group.getId(), 1));
+
+    studentService.deleteStudent(1);
+
+    assertThat(groupSizeIndex.getSizes()).containsEntry(5, 0);
+  }
+
+  @Test
+  void updateStudentShouldMoveStudentBetweenGroupsInIndex() {
+    Group oldGroup = Group.builder().withId(5).withGroupName("Group E").build();
+    Group newGroup = Group.builder().withId(6).withGroupName("Group F").build();
+    Student stored = Student.builder().withId(1).withOwnerGroup(oldGroup).build();
+    Student updated = Student.builder().withId(1).withOwnerGroup(newGroup).build();
+    groupSizeIndex.rebuild(() -> Arrays.asList(
+        new GroupSize(5, "Group E", 1L),
+        new GroupSize(6, "Group F", 0L)));
+
+    when(studentRepository.findById(1)).thenReturn(Optional.of(stored));
+
+    studentService.updateStudent(updated);
+
+    assertThat(groupSizeIndex.getSizes()).containsEntry(5, 0).containsEntry(6, 1);
+  }
+
+  @Test
+  void forEachStudentByCourseNameShouldReturnTokenForNextPageWhenPageIsFull() {
+    int pageSize = rosterProperties.getPageSize();
+    List<Student> streamed = new ArrayList<>();
+    givenEnrolledStudents("Mathematics", IntStream.rangeClosed(1, pageSize).toArray());
+    givenStudentRows();
+
+    String token = studentService.forEachStudentByCourseName("Mathematics", null, streamed::add);
+
+    assertThat(streamed).hasSize(pageSize);
+    assertThat(token).isEqualTo(KeysetToken.encode(pageSize));
+  }
+
+  @Test
+  void forEachStudentByCourseNameShouldLookUpIdsBeforeOpeningReadOnlyTransaction() {
+    List<Boolean> transactions = new ArrayList<>();
+    when(courseService.getEnrolledStudentIds(eq("Mathematics"), anyInt(), anyInt()))
+        .thenAnswer(invocation -> {
+          transactions.add(TransactionSynchronizationManager.isActualTransactionActive());
+          return new int[] {1};
+        });
+    when(studentJdbcRepository.forEachStudentById(any(), anyInt(), any()))
+        .thenAnswer(invocation -> {
+          transactions.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+          return 1;
+        });
+
+    studentService.forEachStudentByCourseName("Mathematics", null, student -> { });
+
+    assertThat(transactions).containsExactly(false, true);
+  }
+
+  @Test
+  void forEachStudentByCourseNameShouldStreamAllPagesUntilLastPageIsNotFull() {
+    int pageSize = rosterProperties.getPageSize();
+    List<Integer> streamedIds = new ArrayList<>();
+    givenEnrolledStudents("Mathematics", IntStream.rangeClosed(1, pageSize + 3).toArray());
+    givenStudentRows();
+
+    long rows = studentService.forEachStudentByCourseName("Mathematics",
+        student -> streamedIds.add(student.getId()));
+
+    assertThat(rows).isEqualTo(pageSize + 3L);
+    assertThat(streamedIds).hasSize(pageSize + 3).endsWith(pageSize + 3);
+    verify(courseService).getEnrolledStudentIds("Mathematics", pageSize, pageSize);
+  }
+
+  @Test
+  void deleteStudentsShouldDeleteDistinctIdsInChunks() {
+    int chunkSize = bulkDeleteProperties.getChunkSize();
+    List<Integer> ids = IntStream.rangeClosed(1, chunkSize + 2).boxed()
+        .collect(Collectors.toList());
+    ids.add(1);
+    when(studentJdbcRepository.deleteByIds(any())).thenAnswer(invocation ->
+        Collections.singletonMap(5, invocation.<List<Integer>>getArgument(0).size()));
+    groupSizeIndex.rebuild(() -> Collections.singletonList(
+        new GroupSize(5, "Group E", chunkSize + 10L)));
+
+    DeleteReport report = studentService.deleteStudents(ids);
+
+    assertThat(report.getDeletedRows()).isEqualTo(chunkSize + 2L);
+    assertThat(report.getChunks()).isEqualTo(2);
+    assertThat(groupSizeIndex.getSizes()).containsEntry(5, 8);
+  }
+
+  @Test
+  void deleteStudentsInGroupShouldDeleteChunksUntilGroupIsEmpty() {
+    int chunkSize = bulkDeleteProperties.getChunkSize();
+    when(studentJdbcRepository.deleteInGroup(5, chunkSize))
+        .thenReturn(Collections.singletonMap(5, chunkSize))
+        .thenReturn(Collections.singletonMap(5, 3));
+    groupSizeIndex.rebuild(() -> Collections.singletonList(
+        new GroupSize(5, "Group E", chunkSize + 3L)));
+
+    DeleteReport report = studentService.deleteStudentsInGroup(5);
+
+    assertThat(report.getDeletedRows()).isEqualTo(chunkSize + 3L);
+    assertThat(report.getChunks()).isEqualTo(2);
+    assertThat(groupSizeIndex.getSizes()).containsEntry(5, 0);
+  }
+
+  @Test
+  void deleteStudentsInRangeShouldStopAfterEmptyChunk() {
+    when(studentJdbcRepository.deleteInRange(10, 20, bulkDeleteProperties.getChunkSize()))
+        .thenReturn(Collections.emptyMap());
+
+    DeleteReport report = studentService.deleteStudentsInRange(10, 20);
+
+    assertThat(report.getDeletedRows()).isZero();
+    assertThat(report.getChunks()).isEqualTo(1);
+  }
+
+  @Test
+  void searchByNameShouldEscapeLikeWildcardsAndTrimQuery() {
+    List<StudentName> mockStudents = Collections.singletonList(
+        studentName(1, "John", "Doe_Smith"));
+    when(studentRepository.searchByName("doe_s", "%doe\\_s%", 5)).thenReturn(mockStudents);
+
+    List<StudentName> students = studentService.searchByName("  doe_s ", 5);
+
+    assertThat(students).isEqualTo(mockStudents);
+  }
+
+  @Test
+  void searchByNameShouldReturnEmptyListForBlankQuery() {
+    assertThat(studentService.searchByName("   ", 5)).isEmpty();
+    verify(studentRepository, never()).searchByName(anyString(), anyString(), anyInt());
+  }
+
+  private void givenEnrolledStudents(String courseName, int... studentIds) {
+    when(courseService.getEnrolledStudentIds(eq(courseName), anyInt(), anyInt()))
+        .thenAnswer(invocation -> {
+          int afterStudentId = invocation.getArgument(1);
+          int limit = invocation.getArgument(2);
+          return Arrays.stream(studentIds)
+              .filter(studentId -> studentId > afterStudentId)
+              .limit(limit)
+              .toArray();
+        });
+  }
+
+  private void givenStudentRows() {
+    when(studentJdbcRepository.forEachStudentById(any(), anyInt(), any()))
+        .thenAnswer(invocation -> {
+          int[] studentIds = invocation.getArgument(0);
+          Consumer<Student> action = invocation.getArgument(2);
+          Arrays.stream(studentIds)
+              .forEach(studentId -> action.accept(Student.builder().withId(studentId).build()));
+          return studentIds.length;
+        });
+  }
+
 }
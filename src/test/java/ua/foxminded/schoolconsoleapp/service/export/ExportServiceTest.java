@@ -0,0 +1,112 @@
+package ua.foxminded.schoolconsoleapp.service.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ua.foxminded.schoolconsoleapp.repository.ExportJdbcRepository;
+import ua.foxminded.schoolconsoleapp.repository.ExportTable;
+import ua.foxminded.schoolconsoleapp.service.export.exception.ExportException;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Mock
+  private ExportJdbcRepository exportJdbcRepository;
+
+  private ExportService exportService;
+
+  @BeforeEach
+  void setUp() {
+    ExportProperties properties = new ExportProperties();
+    properties.setBufferSize(16);
+    exportService = new ExportService(exportJdbcRepository, properties);
+  }
+
+  @Test
+  void exportShouldWriteQuotedCsvFilePerTable() throws IOException {
+    stubRows(ExportTable.STUDENTS, new Object[] {1, 1, "Anna", "O\"Neil"},
+        new Object[] {2, null, "Jean-Luc", "Picard, Jr."});
+
+    ExportReport report = exportService.export(tempDir, ExportFormat.CSV, false);
+
+    assertThat(Files.readAllLines(tempDir.resolve("students.csv"))).containsExactly(
+        "student_id,group_id,first_name,last_name",
+        "1,1,\"Anna\",\"O\"\"Neil\"",
+        "2,,\"Jean-Luc\",\"Picard, Jr.\"");
+    assertThat(Files.readAllLines(tempDir.resolve("groups.csv")))
+        .containsExactly("group_id,group_name");
+    assertThat(tempDir.resolve("courses.csv")).exists();
+    assertThat(tempDir.resolve("student_courses.csv")).exists();
+    assertThat(report.getExportedRows()).isEqualTo(2);
+    assertThat(report.getWrittenBytes()).isEqualTo(Files.size(tempDir.resolve("students.csv"))
+        + Files.size(tempDir.resolve("groups.csv")) + Files.size(tempDir.resolve("courses.csv"))
+        + Files.size(tempDir.resolve("student_courses.csv")));
+  }
+
+  @Test
+  void exportShouldWriteGzippedJsonLinesWithEscapedStrings() throws IOException {
+    stubRows(ExportTable.COURSES, new Object[] {1, "Mathematics", "Line\n\"quoted\" \\ ✓"},
+        new Object[] {2, "Art", null});
+
+    exportService.export(tempDir, ExportFormat.JSONL, true);
+
+    assertThat(readGzip(tempDir.resolve("courses.jsonl.gz"))).containsExactly(
+        "{\"course_id\":1,\"course_name\":\"Mathematics\","
+            + "\"course_description\":\"Line\\n\\\"quoted\\\" \\\\ ✓\"}",
+        "{\"course_id\":2,\"course_name\":\"Art\",\"course_description\":null}");
+    assertThat(readGzip(tempDir.resolve("students.jsonl.gz"))).isEmpty();
+  }
+
+  @Test
+  void exportShouldWrapWriteFailures() throws IOException {
+    Path file = Files.createFile(tempDir.resolve("not-a-directory"));
+
+    assertThatThrownBy(() -> exportService.export(file, ExportFormat.CSV, false))
+        .isInstanceOf(ExportException.class)
+        .hasMessageContaining("not-a-directory");
+  }
+
+  @SuppressWarnings("unchecked")
+  private void stubRows(ExportTable table, Object[]... rows) {
+    when(exportJdbcRepository.forEachRow(any(ExportTable.class), anyInt(), any()))
+        .thenReturn(0L);
+    when(exportJdbcRepository.forEachRow(eq(table), anyInt(), any())).thenAnswer(invocation -> {
+      Consumer<Object[]> action = invocation.getArgument(2, Consumer.class);
+      for (Object[] row : rows) {
+        action.accept(row);
+      }
+      return (long) rows.length;
+    });
+  }
+
+  private List<String> readGzip(Path file) throws IOException {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+      return reader.lines().collect(Collectors.toList());
+    }
+  }
+
+}
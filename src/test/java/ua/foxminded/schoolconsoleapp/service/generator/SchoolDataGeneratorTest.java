@@ -0,0 +1,143 @@
+package ua.foxminded.schoolconsoleapp.service.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import ua.foxminded.schoolconsoleapp.cache.ReferenceDataCache;
+import ua.foxminded.schoolconsoleapp.repository.SeedJdbcRepository;
+import ua.foxminded.schoolconsoleapp.repository.SeedJdbcRepository.CsvRowSource;
+import ua.foxminded.schoolconsoleapp.service.dao.CourseService;
+import ua.foxminded.schoolconsoleapp.service.dao.GroupService;
+import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
+
+@ExtendWith(MockitoExtension.class)
+class SchoolDataGeneratorTest {
+
+  @Mock
+  private SeedJdbcRepository seedJdbcRepository;
+
+  private GeneratorProperties properties;
+  private SchoolDataGenerator generator;
+
+  @BeforeEach
+  void setUp() {
+    properties = new GeneratorProperties();
+    properties.setGroups(3);
+    properties.setCourses(10);
+    properties.setStudents(500);
+    properties.setCopyBufferSize(64);
+    generator = new SchoolDataGenerator(seedJdbcRepository, mock(GroupService.class),
+        mock(CourseService.class), mock(ReferenceDataCache.class), properties);
+  }
+
+  @Test
+  void generateShouldContinueIdsAfterExistingRows() {
+    GeneratedRows rows = generate();
+
+    assertThat(rows.groups).hasSize(3).first().asString().matches("4,[A-Z]{2}-\\d{2}");
+    assertThat(rows.courses).hasSize(10).first().isEqualTo("11,Biology 11,Generated course");
+    assertThat(rows.students).hasSize(500).first().asString()
+        .matches("21,[4-6],[A-Za-z]+,[A-Za-z]+");
+    assertThat(rows.students).last().asString().startsWith("520,");
+  }
+
+  @Test
+  void generateShouldEnrollEveryStudentInDistinctCoursesWithSkew() {
+    GeneratedRows rows = generate();
+
+    Map<String, List<String>> coursesPerStudent = rows.enrollments.stream()
+        .collect(Collectors.groupingBy(row -> row.split(",")[0]));
+    assertThat(coursesPerStudent).hasSize(500);
+    assertThat(coursesPerStudent.values()).allSatisfy(courses -> assertThat(courses)
+        .hasSizeBetween(1, 3).doesNotHaveDuplicates());
+
+    Map<String, Long> studentsPerCourse = rows.enrollments.stream()
+        .collect(Collectors.groupingBy(row -> row.split(",")[1], Collectors.counting()));
+    assertThat(studentsPerCourse.get("11")).isGreaterThan(studentsPerCourse.get("20") * 3);
+  }
+
+  @Test
+  void generateShouldBeReproducibleForTheSameSeed() {
+    GeneratedRows first = generate();
+    GeneratedRows second = generate();
+
+    assertThat(second.students).isEqualTo(first.students);
+    assertThat(second.enrollments).isEqualTo(first.enrollments);
+  }
+
+  @Test
+  void generateShouldReportRowCounts() {
+    GeneratedRows rows = generate();
+
+    assertThat(rows.report.getGroups()).isEqualTo(3);
+    assertThat(rows.report.getCourses()).isEqualTo(10);
+    assertThat(rows.report.getStudents()).isEqualTo(500);
+    assertThat(rows.report.getEnrollments()).isEqualTo(rows.enrollments.size());
+    assertThat(rows.report.getTotalRows()).isEqualTo(513 + rows.enrollments.size());
+  }
+
+  @Test
+  void generateShouldRejectInvalidCourseRange() {
+    properties.setMinCoursesPerStudent(4);
+
+    assertThatThrownBy(() -> generator.generate()).isInstanceOf(ValidationException.class);
+    verifyNoInteractions(seedJdbcRepository);
+  }
+
+  private GeneratedRows generate() {
+    GeneratedRows rows = new GeneratedRows();
+    when(seedJdbcRepository.findMaxGroupId()).thenReturn(3);
+    when(seedJdbcRepository.findMaxCourseId()).thenReturn(10);
+    when(seedJdbcRepository.findMaxStudentId()).thenReturn(20);
+    doAnswer(drainTo(rows.groups)).when(seedJdbcRepository).copyGroups(any(), anyInt());
+    doAnswer(drainTo(rows.courses)).when(seedJdbcRepository).copyCourses(any(), anyInt());
+    doAnswer(drainTo(rows.students)).when(seedJdbcRepository).copyStudents(any(), anyInt());
+    doAnswer(drainTo(rows.enrollments)).when(seedJdbcRepository)
+        .copyEnrollments(any(), anyInt());
+
+    rows.report = generator.generate();
+    return rows;
+  }
+
+  private Answer<Void> drainTo(List<String> lines) {
+    return invocation -> {
+      CsvRowSource source = invocation.getArgument(0);
+      StringBuilder buffer = new StringBuilder();
+      while (source.appendRows(buffer)) {
+        if (buffer.length() > 0) {
+          lines.addAll(Arrays.asList(buffer.toString().split("\n")));
+          buffer.setLength(0);
+        }
+      }
+      return null;
+    };
+  }
+
+  private static class GeneratedRows {
+
+    private final List<String> groups = new ArrayList<>();
+    private final List<String> courses = new ArrayList<>();
+    private final List<String> students = new ArrayList<>();
+    private final List<String> enrollments = new ArrayList<>();
+    private GenerationReport report;
+
+  }
+
+}
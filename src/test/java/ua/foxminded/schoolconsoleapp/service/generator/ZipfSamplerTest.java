@@ -0,0 +1,51 @@
+package ua.foxminded.schoolconsoleapp.service.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ZipfSamplerTest {
+
+  @Test
+  void sampleShouldFavourLowRanksByTheExponent() {
+    ZipfSampler sampler = new ZipfSampler(10, 1.0);
+    Random random = new Random(7);
+    int[] counts = new int[10];
+
+    for (int i = 0; i < 100_000; i++) {
+      counts[sampler.sample(random)]++;
+    }
+
+    assertThat((double) counts[0] / counts[1]).isCloseTo(2.0, within(0.1));
+    assertThat((double) counts[0] / counts[9]).isCloseTo(10.0, within(1.0));
+  }
+
+  @Test
+  void sampleShouldBeUniformWithZeroExponent() {
+    ZipfSampler sampler = new ZipfSampler(4, 0.0);
+    Random random = new Random(7);
+    int[] counts = new int[4];
+
+    for (int i = 0; i < 40_000; i++) {
+      counts[sampler.sample(random)]++;
+    }
+
+    for (int count : counts) {
+      assertThat(count).isBetween(9_500, 10_500);
+    }
+  }
+
+  @Test
+  void sampleShouldBeReproducibleForTheSameSeed() {
+    ZipfSampler sampler = new ZipfSampler(50, 1.2);
+    Random first = new Random(42);
+    Random second = new Random(42);
+
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(sampler.sample(first)).isEqualTo(sampler.sample(second));
+    }
+  }
+
+}
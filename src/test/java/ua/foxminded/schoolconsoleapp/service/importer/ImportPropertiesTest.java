@@ -0,0 +1,41 @@
+package ua.foxminded.schoolconsoleapp.service.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+class ImportPropertiesTest {
+
+  private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+      .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+      .withUserConfiguration(ImportPropertiesConfiguration.class);
+
+  @Test
+  void batchSizeShouldBeBound() {
+    contextRunner.withPropertyValues("school.import.batch-size=50")
+        .run(context -> assertThat(context.getBean(ImportProperties.class).getBatchSize())
+            .isEqualTo(50));
+  }
+
+  @Test
+  void batchSizeBelowOneShouldFailStartup() {
+    contextRunner.withPropertyValues("school.import.batch-size=0")
+        .run(context -> assertThat(context.getStartupFailure())
+            .hasStackTraceContaining("school.import.batchSize"));
+    contextRunner.withPropertyValues("school.import.batch-size=-5")
+        .run(context -> assertThat(context.getStartupFailure())
+            .hasStackTraceContaining("school.import.batchSize"));
+  }
+
+  @Configuration
+  @EnableConfigurationProperties(ImportProperties.class)
+  static class ImportPropertiesConfiguration {
+
+  }
+
+}
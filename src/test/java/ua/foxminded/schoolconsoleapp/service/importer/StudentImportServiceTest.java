@@ -0,0 +1,143 @@
+package ua.foxminded.schoolconsoleapp.service.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ua.foxminded.schoolconsoleapp.entitу.Student;
+import ua.foxminded.schoolconsoleapp.repository.GroupRepository;
+import ua.foxminded.schoolconsoleapp.repository.StudentJdbcRepository;
+import ua.foxminded.schoolconsoleapp.service.dao.GroupService;
+import ua.foxminded.schoolconsoleapp.service.importer.exception.StudentImportException;
+
+@ExtendWith(MockitoExtension.class)
+class StudentImportServiceTest {
+
+  @Mock
+  private StudentJdbcRepository studentJdbcRepository;
+
+  @Mock
+  private GroupRepository groupRepository;
+
+  @Mock
+  private GroupService groupService;
+
+  @TempDir
+  Path tempDir;
+
+  private final ImportProperties importProperties = new ImportProperties();
+
+  private StudentImportService studentImportService;
+
+  @BeforeEach
+  void setUp() {
+    studentImportService = new StudentImportService(studentJdbcRepository, groupRepository,
+        groupService, importProperties);
+  }
+
+  @Test
+  void importStudentsShouldInsertRowsInBatchesAndSkipHeader() throws IOException {
+    importProperties.setBatchSize(2);
+    Path file = Files.write(tempDir.resolve("students.csv"), Arrays.asList(
+        "first_name,last_name,group_id",
+        "John,Doe,1",
+        "\"Mary, Ann\",Smith,2",
+        "James,Brown,"));
+    List<List<String>> batches = new ArrayList<>();
+
+    when(groupRepository.findAllGroupIds()).thenReturn(new HashSet<>(Arrays.asList(1, 2)));
+    when(studentJdbcRepository.insertBatch(anyList())).thenAnswer(invocation -> {
+      List<Student> batch = invocation.getArgument(0);
+      List<String> names = new ArrayList<>();
+      batch.forEach(student -> names.add(student.getFirstName() + " " + student.getLastName()));
+      batches.add(names);
+      return batch.size();
+    });
+
+    ImportReport report = studentImportService.importStudents(file);
+
+    assertThat(report.getImportedRows()).isEqualTo(3);
+    assertThat(report.getRejectedRows()).isZero();
+    verify(groupService).rebuildGroupSizeIndex();
+    assertThat(batches).containsExactly(
+        Arrays.asList("John Doe", "Mary, Ann Smith"),
+        Arrays.asList("James Brown"));
+  }
+
+  @Test
+  void importStudentsShouldRejectRowsWithUnknownGroupOrMissingNames() throws IOException {
+    Path file = Files.write(tempDir.resolve("students.tsv"), Arrays.asList(
+        "John\tDoe\t1",
+        "Jane\tDoe\t42",
+        "\tNoName\t1",
+        "Jack\tDoe\tabc"));
+
+    when(groupRepository.findAllGroupIds()).thenReturn(new HashSet<>(Arrays.asList(1, 2)));
+    when(studentJdbcRepository.insertBatch(anyList())).thenAnswer(
+        invocation -> invocation.<List<Student>>getArgument(0).size());
+
+    ImportReport report = studentImportService.importStudents(file);
+
+    assertThat(report.getImportedRows()).isEqualTo(1);
+    assertThat(report.getRejectedRows()).isEqualTo(3);
+    verify(studentJdbcRepository, times(1)).insertBatch(anyList());
+  }
+
+  @Test
+  void importStudentsShouldStreamGzipFileThroughCopyInCopyMode() throws IOException {
+    importProperties.setMode(ImportMode.COPY);
+    importProperties.setBatchSize(500);
+    Path file = tempDir.resolve("students.csv.gz");
+    try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(file))) {
+      output.write("John,Doe,1\nJane,Doe,2\n".getBytes(StandardCharsets.UTF_8));
+    }
+    List<String> copied = new ArrayList<>();
+
+    when(groupRepository.findAllGroupIds()).thenReturn(new HashSet<>(Arrays.asList(1, 2)));
+    when(studentJdbcRepository.copyStudents(any(), eq(500))).thenAnswer(invocation -> {
+      Iterator<Student> students = invocation.getArgument(0);
+      students.forEachRemaining(student -> copied.add(
+          student.getFirstName() + " " + student.getOwnerGroup().getId()));
+      return (long) copied.size();
+    });
+
+    ImportReport report = studentImportService.importStudents(file);
+
+    assertThat(report.getImportedRows()).isEqualTo(2);
+    assertThat(copied).containsExactly("John 1", "Jane 2");
+    verify(studentJdbcRepository, never()).insertBatch(anyList());
+  }
+
+  @Test
+  void importStudentsShouldThrowExceptionWhenFileCannotBeRead() {
+    Path file = tempDir.resolve("missing.csv");
+
+    assertThatThrownBy(() -> studentImportService.importStudents(file))
+        .isInstanceOf(StudentImportException.class)
+        .hasMessageContaining("Unable to read the file");
+  }
+
+}
@@ -0,0 +1,156 @@
+package ua.foxminded.schoolconsoleapp.service.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ua.foxminded.schoolconsoleapp.entitу.Course;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.entitу.Student;
+import ua.foxminded.schoolconsoleapp.repository.EnrollmentResult;
+import ua.foxminded.schoolconsoleapp.repository.SeedJdbcRepository;
+import ua.foxminded.schoolconsoleapp.repository.exception.DataBaseSqlRuntimeException;
+import ua.foxminded.schoolconsoleapp.service.dao.CourseService;
+import ua.foxminded.schoolconsoleapp.service.dao.GroupService;
+import ua.foxminded.schoolconsoleapp.service.dao.StudentService;
+import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
+
+@ExtendWith(MockitoExtension.class)
+class LoadDriverTest {
+
+  @Mock
+  private StudentService studentService;
+
+  @Mock
+  private GroupService groupService;
+
+  @Mock
+  private CourseService courseService;
+
+  @Mock
+  private SeedJdbcRepository seedJdbcRepository;
+
+  private LoadProperties properties;
+  private LoadDriver loadDriver;
+
+  @BeforeEach
+  void setUp() {
+    properties = new LoadProperties();
+    properties.setThreads(4);
+    properties.setOperations(2000);
+    loadDriver = new LoadDriver(studentService, groupService, courseService, seedJdbcRepository,
+        properties);
+  }
+
+  @Test
+  void runShouldExecuteConfiguredNumberOfOperationsAcrossTheMix() {
+    stubTargets();
+    AtomicInteger nextStudentId = new AtomicInteger(100);
+    doAnswer(invocation -> {
+      invocation.<Student>getArgument(0).setId(nextStudentId.incrementAndGet());
+      return null;
+    }).when(studentService).addStudent(any(Student.class));
+
+    LoadReport report = loadDriver.run();
+
+    assertThat(report.getThreads()).isEqualTo(4);
+    assertThat(report.getTotalOperations()).isEqualTo(2000);
+    assertThat(report.getErrors()).isZero();
+    assertThat(report.getOperations()).extracting(OperationStats::getOperation)
+        .contains(LoadOperation.ROSTER, LoadOperation.ENROLL, LoadOperation.FIND_GROUPS,
+            LoadOperation.ADD_STUDENT);
+    assertThat(report.getOperations()).allSatisfy(stats -> {
+      assertThat(stats.getP50Micros()).isLessThanOrEqualTo(stats.getP99Micros());
+      assertThat(stats.getP99Micros()).isLessThanOrEqualTo(stats.getP999Micros());
+      assertThat(stats.getP999Micros()).isLessThanOrEqualTo(stats.getMaxMicros());
+    });
+    verify(studentService, atLeastOnce()).forEachStudentByCourseName(anyString(), any());
+  }
+
+  @Test
+  void runShouldUndoOwnWritesForDeletesAndUnenrollments() {
+    stubTargets();
+    Map<LoadOperation, Integer> mix = new EnumMap<>(LoadOperation.class);
+    mix.put(LoadOperation.DELETE_STUDENT, 1);
+    mix.put(LoadOperation.UNENROLL, 1);
+    properties.setMix(mix);
+    properties.setThreads(1);
+    properties.setOperations(200);
+    doAnswer(invocation -> {
+      invocation.<Student>getArgument(0).setId(7);
+      return null;
+    }).when(studentService).addStudent(any(Student.class));
+    when(courseService.enrollStudentToCourse(anyInt(), anyString()))
+        .thenReturn(EnrollmentResult.ENROLLED);
+
+    LoadReport report = loadDriver.run();
+
+    assertThat(report.getOperations()).extracting(OperationStats::getOperation)
+        .containsExactlyInAnyOrder(LoadOperation.ADD_STUDENT, LoadOperation.DELETE_STUDENT,
+            LoadOperation.ENROLL, LoadOperation.UNENROLL);
+    verify(studentService, atLeastOnce()).deleteStudent(7);
+    verify(courseService, atLeastOnce()).removeStudentFromCourse(anyInt(), anyString());
+  }
+
+  @Test
+  void runShouldCountFailedOperationsAsErrors() {
+    stubTargets();
+    properties.setMix(Collections.singletonMap(LoadOperation.ENROLL, 1));
+    properties.setOperations(50);
+    doThrow(new DataBaseSqlRuntimeException("already enrolled")).when(courseService)
+        .enrollStudentToCourse(anyInt(), anyString());
+
+    LoadReport report = loadDriver.run();
+
+    assertThat(report.getTotalOperations()).isEqualTo(50);
+    assertThat(report.getErrors()).isEqualTo(50);
+  }
+
+  @Test
+  void runShouldStopAfterTheConfiguredDuration() {
+    stubTargets();
+    properties.setOperations(0);
+    properties.setDuration(Duration.ofMillis(200));
+    properties.setMix(Collections.singletonMap(LoadOperation.FIND_GROUPS, 1));
+
+    LoadReport report = loadDriver.run();
+
+    assertThat(report.getTotalOperations()).isPositive();
+    assertThat(report.getElapsedMillis()).isBetween(150L, 5000L);
+  }
+
+  @Test
+  void runShouldRejectEmptyDataset() {
+    when(courseService.getAllCourses()).thenReturn(Collections.emptyList());
+
+    assertThatThrownBy(() -> loadDriver.run()).isInstanceOf(ValidationException.class);
+  }
+
+  private void stubTargets() {
+    when(courseService.getAllCourses()).thenReturn(Arrays.asList(
+        Course.builder().withId(1).withCourseName("Mathematics").build(),
+        Course.builder().withId(2).withCourseName("Biology").build()));
+    when(groupService.getAllGroups()).thenReturn(Collections.singletonList(
+        Group.builder().withId(1).withGroupName("XV-46").build()));
+    when(seedJdbcRepository.findMaxStudentId()).thenReturn(100);
+  }
+
+}
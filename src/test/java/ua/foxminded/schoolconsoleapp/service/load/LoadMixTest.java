@@ -0,0 +1,48 @@
+package ua.foxminded.schoolconsoleapp.service.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
+
+class LoadMixTest {
+
+  @Test
+  void nextShouldFollowTheConfiguredWeights() {
+    Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+    weights.put(LoadOperation.ROSTER, 60);
+    weights.put(LoadOperation.ENROLL, 30);
+    weights.put(LoadOperation.FIND_GROUPS, 10);
+    LoadMix mix = new LoadMix(weights);
+    Random random = new Random(1);
+    Map<LoadOperation, Integer> counts = new EnumMap<>(LoadOperation.class);
+
+    for (int i = 0; i < 100_000; i++) {
+      counts.merge(mix.next(random), 1, Integer::sum);
+    }
+
+    assertThat(counts).containsOnlyKeys(LoadOperation.ROSTER, LoadOperation.ENROLL,
+        LoadOperation.FIND_GROUPS);
+    assertThat(counts.get(LoadOperation.ROSTER)).isBetween(59_000, 61_000);
+    assertThat(counts.get(LoadOperation.ENROLL)).isBetween(29_000, 31_000);
+    assertThat(counts.get(LoadOperation.FIND_GROUPS)).isBetween(9_500, 10_500);
+  }
+
+  @Test
+  void constructorShouldRejectEmptyMix() {
+    assertThatThrownBy(() -> new LoadMix(Collections.emptyMap()))
+        .isInstanceOf(ValidationException.class);
+  }
+
+  @Test
+  void constructorShouldRejectNegativeWeight() {
+    assertThatThrownBy(() -> new LoadMix(Collections.singletonMap(LoadOperation.ROSTER, -1)))
+        .isInstanceOf(ValidationException.class);
+  }
+
+}
@@ -0,0 +1,40 @@
+package ua.foxminded.schoolconsoleapp.service.paging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
+
+class KeysetSliceTest {
+
+  @Test
+  void ofShouldEncodeLastIdWhenMoreRowsFollow() {
+    KeysetSlice<Integer> slice = KeysetSlice.of(
+        new SliceImpl<>(Arrays.asList(4, 7, 9), PageRequest.ofSize(3), true), id -> id);
+
+    assertThat(slice.hasNext()).isTrue();
+    assertThat(KeysetToken.decode(slice.getContinuationToken())).isEqualTo(9);
+  }
+
+  @Test
+  void ofShouldNotReturnTokenForLastSlice() {
+    KeysetSlice<Integer> slice = KeysetSlice.of(
+        new SliceImpl<>(Collections.singletonList(4), PageRequest.ofSize(3), false), id -> id);
+
+    assertThat(slice.hasNext()).isFalse();
+    assertThat(slice.getContinuationToken()).isNull();
+  }
+
+  @Test
+  void pageableShouldRequestFirstPageWithoutOffset() {
+    assertThat(KeysetSlice.pageable(50).getOffset()).isZero();
+    assertThat(KeysetSlice.pageable(50).getPageSize()).isEqualTo(50);
+    assertThatThrownBy(() -> KeysetSlice.pageable(0)).isInstanceOf(ValidationException.class);
+  }
+
+}
@@ -0,0 +1,36 @@
+package ua.foxminded.schoolconsoleapp.service.paging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import ua.foxminded.schoolconsoleapp.validator.exception.ValidationException;
+
+class KeysetTokenTest {
+
+  @Test
+  void decodeShouldReturnIdThatWasEncoded() {
+    assertThat(KeysetToken.decode(KeysetToken.encode(123456))).isEqualTo(123456);
+  }
+
+  @Test
+  void decodeShouldStartFromBeginningIfTokenIsAbsent() {
+    assertThat(KeysetToken.decode(null)).isZero();
+    assertThat(KeysetToken.decode("")).isZero();
+  }
+
+  @Test
+  void decodeShouldThrowExceptionIfTokenIsMalformed() {
+    String foreignToken = Base64.getUrlEncoder()
+        .encodeToString("page:2".getBytes(StandardCharsets.UTF_8));
+
+    assertThatThrownBy(() -> KeysetToken.decode("%%%"))
+        .isInstanceOf(ValidationException.class)
+        .hasMessage("Invalid continuation token.");
+    assertThatThrownBy(() -> KeysetToken.decode(foreignToken))
+        .isInstanceOf(ValidationException.class);
+  }
+
+}
@@ -0,0 +1,80 @@
+package ua.foxminded.schoolconsoleapp.service.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import ua.foxminded.schoolconsoleapp.entitу.Course;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.repository.CourseRepository;
+import ua.foxminded.schoolconsoleapp.repository.GroupRepository;
+import ua.foxminded.schoolconsoleapp.repository.ReportJdbcRepository;
+import ua.foxminded.schoolconsoleapp.repository.ReportJdbcRepository.StudentEnrollmentHandler;
+
+@ExtendWith(MockitoExtension.class)
+class ReportServiceTest {
+
+  @Mock
+  private ReportJdbcRepository reportJdbcRepository;
+
+  @Mock
+  private GroupRepository groupRepository;
+
+  @Mock
+  private CourseRepository courseRepository;
+
+  private ReportService reportService;
+
+  @BeforeEach
+  void setUp() {
+    reportService = new ReportService(reportJdbcRepository, groupRepository, courseRepository,
+        new ReportProperties());
+  }
+
+  @Test
+  void buildSchoolReportShouldAggregateEveryStatisticInOnePass() {
+    when(groupRepository.findAll(any(Sort.class))).thenReturn(Arrays.asList(
+        Group.builder().withId(1).withGroupName("XV-46").build(),
+        Group.builder().withId(2).withGroupName("VC-09").build(),
+        Group.builder().withId(3).withGroupName("XV-46").build()));
+    when(courseRepository.findAll(any(Sort.class))).thenReturn(Arrays.asList(
+        Course.builder().withId(1).withCourseName("Mathematics").build(),
+        Course.builder().withId(2).withCourseName("Biology").build(),
+        Course.builder().withId(3).withCourseName("Art").build()));
+    doAnswer(invocation -> {
+      StudentEnrollmentHandler handler = invocation.getArgument(1);
+      handler.accept(1, 1, new Integer[] {1, 2});
+      handler.accept(2, 1, new Integer[] {1, 2, 3});
+      handler.accept(3, null, new Integer[] {1});
+      handler.accept(4, 2, new Integer[0]);
+      return null;
+    }).when(reportJdbcRepository).forEachStudentEnrollment(anyInt(), any());
+
+    SchoolReport report = reportService.buildSchoolReport();
+
+    assertThat(report.getTotalStudents()).isEqualTo(4);
+    assertThat(report.getStudentsWithoutGroup()).isEqualTo(1);
+    assertThat(report.getStudentsWithoutCourses()).isEqualTo(1);
+    assertThat(report.getStudentsPerGroup()).containsExactly(entry(1, 2L), entry(2, 1L),
+        entry(3, 0L));
+    assertThat(report.getGroupNames()).containsExactly(entry(1, "XV-46"), entry(2, "VC-09"),
+        entry(3, "XV-46"));
+    assertThat(report.getStudentsPerCourse()).containsExactly(entry("Mathematics", 3L),
+        entry("Biology", 2L), entry("Art", 1L));
+    assertThat(report.getCourseOverlap().get("Mathematics"))
+        .containsExactly(entry("Biology", 2L), entry("Art", 1L));
+    assertThat(report.getCourseOverlap().get("Art"))
+        .containsExactly(entry("Mathematics", 1L), entry("Biology", 1L));
+  }
+
+}
@@ -0,0 +1,57 @@
+package ua.foxminded.schoolconsoleapp.service.script;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class CommandAccessTest {
+
+  @Test
+  void commandsOnSameStudentShouldConflict() {
+    assertThat(access("enroll 5 Art").conflictsWith(access("unenroll 5 Music"))).isTrue();
+    assertThat(access("delete 5").conflictsWith(access("enroll 5 Art"))).isTrue();
+    assertThat(access("add John Doe 1").conflictsWith(access("enroll 42 Art"))).isTrue();
+  }
+
+  @Test
+  void readsShouldWaitForChangesTheyDependOn() {
+    assertThat(access("enroll 5 Art").conflictsWith(access("roster art"))).isTrue();
+    assertThat(access("delete 7").conflictsWith(access("roster Art"))).isTrue();
+    assertThat(access("add John Doe 1").conflictsWith(access("find-groups 10"))).isTrue();
+    assertThat(access("delete 7").conflictsWith(access("search Smith"))).isTrue();
+  }
+
+  @Test
+  void independentCommandsShouldNotConflict() {
+    assertThat(access("delete 1").conflictsWith(access("delete 2"))).isFalse();
+    assertThat(access("enroll 1 Art").conflictsWith(access("enroll 2 Art"))).isFalse();
+    assertThat(access("roster Art").conflictsWith(access("enroll 1 Music"))).isFalse();
+    assertThat(access("roster Art").conflictsWith(access("search Smith"))).isFalse();
+    assertThat(access("find-groups 10").conflictsWith(access("enroll 1 Art"))).isFalse();
+  }
+
+  @Test
+  void chunkShouldCombineAccessOfItsCommands() {
+    CommandAccess chunk = CommandAccess.of(Arrays.asList(command(1, "delete 1"),
+        command(2, "enroll 2 Art")));
+
+    assertThat(chunk.conflictsWith(access("unenroll 2 Music"))).isTrue();
+    assertThat(chunk.conflictsWith(access("delete 3"))).isFalse();
+  }
+
+  @Test
+  void invalidStudentIdShouldConflictWithEveryStudent() {
+    assertThat(access("delete abc").conflictsWith(access("enroll 9 Art"))).isTrue();
+  }
+
+  private CommandAccess access(String line) {
+    return CommandAccess.of(Collections.singletonList(command(1, line)));
+  }
+
+  private ScriptCommand command(int lineNumber, String line) {
+    return ScriptCommand.parse(lineNumber, line).orElseThrow(AssertionError::new);
+  }
+
+}
@@ -0,0 +1,273 @@
+package ua.foxminded.schoolconsoleapp.service.script;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.schoolconsoleapp.entitу.Course;
+import ua.foxminded.schoolconsoleapp.entitу.Group;
+import ua.foxminded.schoolconsoleapp.entitу.Student;
+import ua.foxminded.schoolconsoleapp.executor.CommandExecutor;
+import ua.foxminded.schoolconsoleapp.repository.EnrollmentResult;
+import ua.foxminded.schoolconsoleapp.repository.exception.DataBaseSqlRuntimeException;
+import ua.foxminded.schoolconsoleapp.service.dao.CourseService;
+import ua.foxminded.schoolconsoleapp.service.dao.DeleteReport;
+import ua.foxminded.schoolconsoleapp.service.dao.GroupService;
+import ua.foxminded.schoolconsoleapp.service.dao.StudentService;
+
+@ExtendWith(MockitoExtension.class)
+class ScriptRunnerTest {
+
+  @Mock
+  private StudentService studentService;
+
+  @Mock
+  private GroupService groupService;
+
+  @Mock
+  private CourseService courseService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private final ScriptProperties scriptProperties = new ScriptProperties();
+
+  private final CommandExecutor commandExecutor = new CommandExecutor(4, 4);
+
+  private ScriptRunner scriptRunner;
+
+  @BeforeEach
+  void setUp() {
+    scriptRunner = new ScriptRunner(studentService, groupService, courseService,
+        new TransactionTemplate(transactionManager), scriptProperties, commandExecutor);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    commandExecutor.shutdown();
+  }
+
+  @Test
+  void runShouldExecuteCommandsWithInlineArgumentsAndSkipComments() throws IOException {
+    Group group = Group.builder().withId(1).withGroupName("XV-46").build();
+    when(groupService.getGroupById(1)).thenReturn(Optional.of(group));
+    when(studentService.deleteStudent(7)).thenReturn(true);
+
+    StringWriter out = new StringWriter();
+    ScriptReport report = scriptRunner.run(script(
+        "# bulk changes",
+        "add John Doe 1",
+        "",
+        "enroll 42 Computer Science",
+        "delete 7"), out);
+
+    assertThat(report.getExecutedCommands()).isEqualTo(3);
+    assertThat(report.getFailedCommands()).isZero();
+    assertThat(out.toString()).contains(
+        "Student 42 enrolled in course 'Computer Science'.",
+        "Student with ID 7 deleted.");
+    verify(studentService).addStudent(any(Student.class));
+    verify(courseService).enrollStudentToCourse(42, "Computer Science");
+  }
+
+  @Test
+  void runShouldTreatRepeatedEnrollmentAsSuccess() throws IOException {
+    when(courseService.enrollStudentToCourse(42, "Art"))
+        .thenReturn(EnrollmentResult.ENROLLED, EnrollmentResult.ALREADY_ENROLLED);
+
+    StringWriter out = new StringWriter();
+    ScriptReport report = scriptRunner.run(script("enroll 42 Art", "enroll 42 Art"), out);
+
+    assertThat(report.getFailedCommands()).isZero();
+    assertThat(out.toString()).contains(
+        "Student 42 enrolled in course 'Art'.",
+        "Student 42 is already enrolled in course 'Art'.");
+  }
+
+  @Test
+  void runShouldReportBulkDeleteCounts() throws IOException {
+    when(studentService.deleteStudentsInGroup(3)).thenReturn(new DeleteReport(1500, 2, 40));
+    when(studentService.deleteStudentsInRange(10, 20)).thenReturn(new DeleteReport(11, 1, 5));
+
+    StringWriter out = new StringWriter();
+    ScriptReport report = scriptRunner.run(script("delete-group 3", "delete-range 10 20"), out);
+
+    assertThat(report.getFailedCommands()).isZero();
+    assertThat(out.toString()).contains(
+        "Deleted 1500 students from group 3 in 40 ms (2 chunks).",
+        "Deleted 11 students with IDs 10-20 in 5 ms (1 chunks).");
+  }
+
+  @Test
+  void runShouldReportFailuresWithLineNumbers() throws IOException {
+    doThrow(new DataBaseSqlRuntimeException("Course with the name 'Art' does not exist."))
+        .when(courseService).enrollStudentToCourse(1, "Art");
+
+    StringWriter out = new StringWriter();
+    ScriptReport report = scriptRunner.run(script(
+        "enroll 1 Art",
+        "delete abc",
+        "dance 1"), out);
+
+    assertThat(report.getExecutedCommands()).isEqualTo(3);
+    assertThat(report.getFailedCommands()).isEqualTo(3);
+    assertThat(out.toString()).contains(
+        "Line 1: Course with the name 'Art' does not exist.",
+        "Line 2: Invalid number 'abc'. Usage: delete <studentId>",
+        "Line 3: Unknown command 'dance'.");
+  }
+
+  @Test
+  void runShouldRetryCommandsOneByOneWhenGroupedTransactionFails() throws IOException {
+    scriptProperties.setTransactionSize(3);
+    when(studentService.deleteStudent(1)).thenReturn(true);
+    when(studentService.deleteStudent(2)).thenReturn(false);
+    when(studentService.deleteStudent(3)).thenReturn(true);
+
+    StringWriter out = new StringWriter();
+    ScriptReport report = scriptRunner.run(script("delete 1", "delete 2", "delete 3"), out);
+
+    assertThat(report.getFailedCommands()).isEqualTo(1);
+    assertThat(out.toString())
+        .contains("Line 2: No student found with ID 2.")
+        .containsOnlyOnce("Student with ID 1 deleted.");
+    verify(transactionManager).rollback(any());
+    verify(studentService, times(2)).deleteStudent(1);
+  }
+
+  @Test
+  void runShouldCommitGroupedCommandsInOneTransaction() throws IOException {
+    scriptProperties.setTransactionSize(2);
+    when(studentService.searchByName(anyString(), anyInt())).thenReturn(Collections.emptyList());
+
+    ScriptReport report = scriptRunner.run(script("search Smith", "search Doe", "search X"),
+        new StringWriter());
+
+    assertThat(report.getFailedCommands()).isZero();
+    verify(transactionManager, times(1)).commit(any());
+  }
+
+  @Test
+  void runShouldWriteOutputInSubmissionOrderWhenCommandsRunConcurrently() throws IOException {
+    scriptProperties.setConcurrent(true);
+    when(studentService.deleteStudent(anyInt())).thenAnswer(invocation -> {
+      int studentId = invocation.getArgument(0);
+      Thread.sleep((20 - studentId) * 5L);
+      return studentId % 5 != 0;
+    });
+
+    List<String> lines = new ArrayList<>();
+    List<String> expected = new ArrayList<>();
+    for (int studentId = 1; studentId <= 20; studentId++) {
+      lines.add("delete " + studentId);
+      expected.add(studentId % 5 == 0
+          ? "Line " + studentId + ": No student found with ID " + studentId + "."
+          : "Student with ID " + studentId + " deleted.");
+    }
+
+    StringWriter out = new StringWriter();
+    ScriptReport report = scriptRunner.run(script(lines.toArray(new String[0])), out);
+
+    assertThat(report.getExecutedCommands()).isEqualTo(20);
+    assertThat(report.getFailedCommands()).isEqualTo(4);
+    assertThat(out.toString().split(System.lineSeparator())).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void runShouldKeepCommandsOnSameStudentInScriptOrderWhenRunningConcurrently()
+      throws IOException {
+    scriptProperties.setConcurrent(true);
+    List<String> calls = Collections.synchronizedList(new ArrayList<>());
+    when(courseService.enrollStudentToCourse(1, "Art")).thenAnswer(invocation -> {
+      Thread.sleep(100);
+      calls.add("enroll");
+      return EnrollmentResult.ENROLLED;
+    });
+    doAnswer(invocation -> calls.add("unenroll"))
+        .when(courseService).removeStudentFromCourse(1, "Art");
+
+    ScriptReport report = scriptRunner.run(script("enroll 1 Art", "unenroll 1 Art"),
+        new StringWriter());
+
+    assertThat(report.getFailedCommands()).isZero();
+    assertThat(calls).containsExactly("enroll", "unenroll");
+  }
+
+  @Test
+  void runShouldRunCommandsOnDifferentStudentsInParallel() throws IOException {
+    scriptProperties.setConcurrent(true);
+    CountDownLatch secondStarted = new CountDownLatch(1);
+    when(studentService.deleteStudent(1))
+        .thenAnswer(invocation -> secondStarted.await(5, TimeUnit.SECONDS));
+    when(studentService.deleteStudent(2)).thenAnswer(invocation -> {
+      secondStarted.countDown();
+      return true;
+    });
+
+    ScriptReport report = scriptRunner.run(script("delete 1", "delete 2"), new StringWriter());
+
+    assertThat(report.getFailedCommands()).isZero();
+  }
+
+  @Test
+  void runShouldStreamRosterAfterOutputOfEarlierCommands() throws IOException {
+    scriptProperties.setConcurrent(true);
+    when(studentService.deleteStudent(1)).thenAnswer(invocation -> {
+      Thread.sleep(100);
+      return true;
+    });
+    when(studentService.deleteStudent(2)).thenReturn(true);
+    when(courseService.getCourseIdByName("Art"))
+        .thenReturn(Optional.of(Course.builder().withId(3).withCourseName("Art").build()));
+    when(studentService.forEachStudentByCourseName(eq("Art"), any())).thenAnswer(invocation -> {
+      Consumer<Student> action = invocation.getArgument(1);
+      action.accept(Student.builder().withFirstName("John").withLastName("Doe").build());
+      action.accept(Student.builder().withFirstName("Jane").withLastName("Smith").build());
+      return 2L;
+    });
+
+    StringWriter out = new StringWriter();
+    ScriptReport report = scriptRunner.run(script("delete 1", "roster Art", "delete 2",
+        "roster Music"), out);
+
+    assertThat(report.getExecutedCommands()).isEqualTo(4);
+    assertThat(report.getFailedCommands()).isEqualTo(1);
+    assertThat(out.toString().split(System.lineSeparator())).containsExactly(
+        "Student with ID 1 deleted.",
+        "John Doe",
+        "Jane Smith",
+        "Student with ID 2 deleted.",
+        "Line 4: Course with the name 'Music' does not exist.");
+  }
+
+  private BufferedReader script(String... lines) {
+    return new BufferedReader(new StringReader(String.join("\n", lines)));
+  }
+
+}
@@ -0,0 +1,31 @@
+package ua.foxminded.schoolconsoleapp.startup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+class StartupReportWriterTest {
+
+  @Test
+  void formatShouldSummarizeStepsByNameAndListSlowestSteps() {
+    BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(100);
+    StartupStep refresh = applicationStartup.start("spring.context.refresh");
+    applicationStartup.start("spring.beans.instantiate").tag("beanName", "courseService").end();
+    applicationStartup.start("spring.beans.instantiate").tag("beanName", "groupService").end();
+    refresh.end();
+
+    List<String> report = StartupReportWriter.format(applicationStartup.getBufferedTimeline(),
+        Duration.ofMillis(1500));
+
+    assertThat(report.get(0)).isEqualTo("Application ready in 1500 ms (3 recorded steps)");
+    assertThat(report)
+        .contains("Total time per step:", "Slowest steps:")
+        .anyMatch(line -> line.endsWith("ms  spring.beans.instantiate [beanName=courseService]"))
+        .anyMatch(line -> line.endsWith("ms  spring.context.refresh"));
+  }
+
+}
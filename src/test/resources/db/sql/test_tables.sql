@@ -29,6 +29,15 @@ CREATE TABLE student_courses
   student_id INT,
   course_id  INT,
   PRIMARY KEY (student_id, course_id),
-  FOREIGN KEY (student_id) REFERENCES students (student_id),
-  FOREIGN KEY (course_id) REFERENCES courses (course_id)
-);
\ No newline at end of file
+  FOREIGN KEY (student_id) REFERENCES students (student_id) ON DELETE CASCADE,
+  FOREIGN KEY (course_id) REFERENCES courses (course_id) ON DELETE CASCADE
+);
+
+CREATE INDEX student_courses_course_id_student_id_idx ON student_courses (course_id, student_id);
+
+CREATE UNIQUE INDEX courses_course_name_lower_idx ON courses (LOWER(course_name));
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX students_full_name_trgm_idx ON students
+  USING GIST ((first_name || ' ' || last_name) gist_trgm_ops);
\ No newline at end of file